@@ -0,0 +1,69 @@
+package com.newsaggregator.benchmarks;
+
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.util.NewsAggregator;
+import com.newsaggregator.util.NewsDeduplicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Merging two provider responses: dedup on its own, sorting on its own and
+// the full NewsAggregator.aggregateAndSort the search path runs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+    
+    // Articles per provider
+    @Param({"10", "100", "1000"})
+    public int articleCount;
+    
+    @Param({"0.0", "0.2", "0.5"})
+    public double duplicateRatio;
+    
+    private List<NewsArticle> guardian;
+    private List<NewsArticle> nyTimes;
+    private List<NewsArticle> combined;
+    private List<NewsArticle> deduplicated;
+    
+    @Setup
+    public void setUp() {
+        guardian = ArticleFixtures.articles("guardian", articleCount, duplicateRatio, 1);
+        nyTimes = ArticleFixtures.articles("nytimes", articleCount, duplicateRatio, 2);
+        combined = new ArrayList<>(guardian);
+        combined.addAll(nyTimes);
+        deduplicated = NewsDeduplicator.deduplicate(combined);
+    }
+    
+    @Benchmark
+    public List<NewsArticle> aggregateAndSort() {
+        return NewsAggregator.aggregateAndSort(guardian, nyTimes);
+    }
+    
+    @Benchmark
+    public List<NewsArticle> deduplicate() {
+        return NewsDeduplicator.deduplicate(combined);
+    }
+    
+    @Benchmark
+    public List<NewsArticle> sortNewestFirst() {
+        List<NewsArticle> articles = new ArrayList<>(deduplicated);
+        NewsAggregator.sortNewestFirst(articles);
+        return articles;
+    }
+}
@@ -0,0 +1,52 @@
+package com.newsaggregator.benchmarks;
+
+import com.newsaggregator.model.NewsArticle;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic article sets shaped like provider responses. A share of the
+// articles repeat an earlier one, alternating between the same URL and the
+// same headline with different case and punctuation, which is what the two
+// providers actually overlap on.
+final class ArticleFixtures {
+    
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2024, 3, 1, 12, 0);
+    
+    private ArticleFixtures() {
+    }
+    
+    static List<NewsArticle> articles(String source, int count, double duplicateRatio, long seed) {
+        Random random = new Random(seed);
+        List<NewsArticle> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && random.nextDouble() < duplicateRatio) {
+                articles.add(duplicateOf(articles.get(random.nextInt(i)), source, i));
+            } else {
+                articles.add(NewsArticle.builder()
+                        .id(source + "_" + i)
+                        .title("Markets react to policy change number " + i + " in " + source)
+                        .description("Analysis of the day's developments, part " + i)
+                        .url("https://" + source + ".example.com/2024/03/article-" + i)
+                        .source(source)
+                        .publishedAt(NEWEST.minusMinutes(random.nextInt(60 * 24 * 30)))
+                        .build());
+            }
+        }
+        return articles;
+    }
+    
+    private static NewsArticle duplicateOf(NewsArticle original, String source, int index) {
+        boolean sameUrl = index % 2 == 0;
+        return NewsArticle.builder()
+                .id(source + "_dup_" + index)
+                .title(sameUrl ? "Another take " + index : original.getTitle().toUpperCase() + "!")
+                .description(original.getDescription())
+                .url(sameUrl ? original.getUrl() : original.getUrl() + "?variant=" + index)
+                .source(source)
+                .publishedAt(original.getPublishedAt())
+                .build();
+    }
+}
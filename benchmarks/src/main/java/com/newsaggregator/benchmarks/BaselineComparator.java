@@ -0,0 +1,160 @@
+package com.newsaggregator.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files benchmark by benchmark. A result is a
+// regression when it is worse than the baseline by more than the threshold
+// and by more than the two runs' combined score error, so noisy runs are not
+// reported. Throughput is better when higher, all other modes when lower.
+//
+//   java -cp target/benchmarks.jar com.newsaggregator.benchmarks.BaselineComparator
+//        baselines/baseline.json target/jmh-result.json [threshold]
+public class BaselineComparator {
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <result.json> [threshold]");
+            System.exit(1);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        Report report = compare(Paths.get(args[0]), Paths.get(args[1]), threshold);
+        System.out.println(report.render());
+        if (report.hasRegressions()) {
+            System.exit(2);
+        }
+    }
+    
+    public static Report compare(Path baselineFile, Path resultFile, double threshold) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> current = index(mapper.readTree(resultFile.toFile()));
+        
+        Report report = new Report(threshold);
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                report.added.add(entry.getKey());
+            } else {
+                report.compared.add(new Comparison(entry.getKey(), before, entry.getValue(), threshold));
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                report.missing.add(key);
+            }
+        }
+        return report;
+    }
+    
+    // benchmark, parameters and thread count identify a result
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new TreeMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue());
+            }
+            key.append(" threads=").append(result.path("threads").asInt());
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+    
+    public static class Report {
+        private final double threshold;
+        private final List<Comparison> compared = new ArrayList<>();
+        private final List<String> added = new ArrayList<>();
+        private final List<String> missing = new ArrayList<>();
+        
+        Report(double threshold) {
+            this.threshold = threshold;
+        }
+        
+        public boolean hasRegressions() {
+            return !regressions().isEmpty();
+        }
+        
+        public List<Comparison> regressions() {
+            List<Comparison> regressions = new ArrayList<>();
+            for (Comparison comparison : compared) {
+                if (comparison.regression) {
+                    regressions.add(comparison);
+                }
+            }
+            return regressions;
+        }
+        
+        public String render() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Benchmark comparison (threshold %.0f%%)%n", threshold * 100));
+            for (Comparison comparison : compared) {
+                out.append(String.format("%-11s %-90s %12.3f -> %12.3f %-8s %+7.1f%%%n",
+                        comparison.regression ? "REGRESSION" : comparison.improvement ? "improved" : "ok",
+                        comparison.key, comparison.baselineScore, comparison.score, comparison.unit,
+                        comparison.change * 100));
+            }
+            for (String key : added) {
+                out.append(String.format("%-11s %s%n", "new", key));
+            }
+            for (String key : missing) {
+                out.append(String.format("%-11s %s%n", "missing", key));
+            }
+            out.append(String.format("%d compared, %d regressions%n", compared.size(), regressions().size()));
+            return out.toString();
+        }
+    }
+    
+    public static class Comparison {
+        private final String key;
+        private final double baselineScore;
+        private final double score;
+        private final String unit;
+        // Positive means worse
+        private final double change;
+        private final boolean regression;
+        private final boolean improvement;
+        
+        Comparison(String key, JsonNode baseline, JsonNode current, double threshold) {
+            this.key = key;
+            this.baselineScore = baseline.path("primaryMetric").path("score").asDouble();
+            this.score = current.path("primaryMetric").path("score").asDouble();
+            this.unit = current.path("primaryMetric").path("scoreUnit").asText();
+            
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double worse = higherIsBetter ? baselineScore - score : score - baselineScore;
+            this.change = baselineScore == 0 ? 0 : worse / baselineScore;
+            double noise = error(baseline) + error(current);
+            this.regression = change > threshold && worse > noise;
+            this.improvement = change < -threshold && -worse > noise;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public double getChange() {
+            return change;
+        }
+        
+        private static double error(JsonNode result) {
+            double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+            return Double.isNaN(error) ? 0 : error;
+        }
+    }
+}
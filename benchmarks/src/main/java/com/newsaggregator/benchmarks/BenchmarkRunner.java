@@ -0,0 +1,84 @@
+package com.newsaggregator.benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs the suites once per thread count, writes the combined JMH JSON and
+// compares it with the saved baseline. Exits with 2 on a regression.
+//
+//   java -jar target/benchmarks.jar [--include=regex] [--threads=1,4,8]
+//        [--result=target/jmh-result.json] [--baseline=baselines/baseline.json]
+//        [--threshold=0.10] [--save-baseline]
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> options = parse(args);
+        String include = options.getOrDefault("include", ".*Benchmark.*");
+        Path result = Paths.get(options.getOrDefault("result", "target/jmh-result.json"));
+        Path baseline = Paths.get(options.getOrDefault("baseline", "baselines/baseline.json"));
+        double threshold = Double.parseDouble(options.getOrDefault("threshold", "0.10"));
+        
+        List<RunResult> results = new ArrayList<>();
+        for (String threads : options.getOrDefault("threads", "1,4").split(",")) {
+            results.addAll(new Runner(new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build()).run());
+        }
+        
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, result.toString()).writeOut(results);
+        System.out.println("Results written to " + result);
+        
+        if (options.containsKey("save-baseline")) {
+            if (baseline.getParent() != null) {
+                Files.createDirectories(baseline.getParent());
+            }
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline saved to " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + "; run with --save-baseline to create one");
+            return;
+        }
+        
+        BaselineComparator.Report report = BaselineComparator.compare(baseline, result, threshold);
+        System.out.println(report.render());
+        if (report.hasRegressions()) {
+            System.exit(2);
+        }
+    }
+    
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+}
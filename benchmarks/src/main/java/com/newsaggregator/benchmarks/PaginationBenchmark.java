@@ -0,0 +1,53 @@
+package com.newsaggregator.benchmarks;
+
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.util.NewsPaginator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Offline-mode pagination over the filtered article list
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int articleCount;
+    
+    @Param({"10", "50"})
+    public int pageSize;
+    
+    private List<NewsArticle> articles;
+    private int lastPage;
+    
+    @Setup
+    public void setUp() {
+        articles = ArticleFixtures.articles("offline", articleCount, 0.0, 3);
+        lastPage = (articleCount + pageSize - 1) / pageSize;
+    }
+    
+    @Benchmark
+    public NewsPaginator.PaginatedResult firstPage() {
+        return NewsPaginator.paginate(articles, 1, pageSize);
+    }
+    
+    @Benchmark
+    public NewsPaginator.PaginatedResult lastPage() {
+        return NewsPaginator.paginate(articles, lastPage, pageSize);
+    }
+}
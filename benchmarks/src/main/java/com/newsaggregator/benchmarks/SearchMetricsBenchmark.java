@@ -0,0 +1,152 @@
+package com.newsaggregator.benchmarks;
+
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.UpstreamRateLimiter;
+import com.newsaggregator.util.NewsAggregator;
+import com.newsaggregator.util.NewsDeduplicator;
+import com.newsaggregator.util.NewsPaginator;
+import com.newsaggregator.util.SimpleCache;
+import com.newsaggregator.util.StageTimings;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the per-stage search metrics on a cache miss: the same merge, dedup,
+// sort and paginate work with and without the SearchMetrics calls
+// NewsAggregatorService, the provider clients and NewsController make. The
+// instrumented variant records every stage timer of a real miss, including
+// provider, parse and serialize, which have no work here, so its cost is an
+// upper bound on the overhead; metricsOnly measures that cost on its own.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchMetricsBenchmark {
+    
+    // Articles per provider
+    @Param({"10", "50"})
+    public int articleCount;
+    
+    private List<NewsArticle> guardian;
+    private List<NewsArticle> nyTimes;
+    private SimpleCache<String, List<NewsArticle>> cache;
+    private SearchMetrics searchMetrics;
+    
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        guardian = ArticleFixtures.articles(UpstreamRateLimiter.GUARDIAN, articleCount, 0.2, 1);
+        nyTimes = ArticleFixtures.articles(UpstreamRateLimiter.NYTIMES, articleCount, 0.2, 2);
+        cache = new SimpleCache<>(TimeUnit.MINUTES.toMillis(5));
+        
+        // Histograms on, as management.metrics.distribution configures them
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        searchMetrics = new SearchMetrics(registry);
+        Field sampleEvery = SearchMetrics.class.getDeclaredField("allocationSampleEvery");
+        sampleEvery.setAccessible(true);
+        sampleEvery.setInt(searchMetrics, 16);
+    }
+    
+    @Benchmark
+    public List<NewsArticle> uninstrumented() {
+        if (cache.get("apple_1_10") != null) {
+            throw new IllegalStateException("expected a miss");
+        }
+        List<NewsArticle> all = new ArrayList<>(guardian.size() + nyTimes.size());
+        all.addAll(guardian);
+        all.addAll(nyTimes);
+        List<NewsArticle> unique = NewsDeduplicator.deduplicate(all);
+        NewsAggregator.sortNewestFirst(unique);
+        return NewsPaginator.paginate(unique, 1, 10).getArticles();
+    }
+    
+    @Benchmark
+    public List<NewsArticle> instrumented() {
+        StageTimings timings = StageTimings.NONE;
+        long lookupStart = System.nanoTime();
+        List<NewsArticle> cached = cache.get("apple_1_10");
+        searchMetrics.cacheLookup(System.nanoTime() - lookupStart, cached != null, timings);
+        if (cached != null) {
+            throw new IllegalStateException("expected a miss");
+        }
+        
+        providerStages(UpstreamRateLimiter.GUARDIAN, SearchMetrics.GUARDIAN_PARSE, timings);
+        providerStages(UpstreamRateLimiter.NYTIMES, SearchMetrics.NYTIMES_PARSE, timings);
+        
+        List<NewsArticle> all = new ArrayList<>(guardian.size() + nyTimes.size());
+        all.addAll(guardian);
+        all.addAll(nyTimes);
+        long dedupStart = System.nanoTime();
+        long dedupMark = searchMetrics.allocationMark(SearchMetrics.DEDUP);
+        List<NewsArticle> unique = NewsDeduplicator.deduplicate(all);
+        searchMetrics.allocated(SearchMetrics.DEDUP, dedupMark);
+        long sortStart = System.nanoTime();
+        long sortMark = searchMetrics.allocationMark(SearchMetrics.SORT);
+        NewsAggregator.sortNewestFirst(unique);
+        searchMetrics.allocated(SearchMetrics.SORT, sortMark);
+        long sortEnd = System.nanoTime();
+        searchMetrics.dedup(sortStart - dedupStart, timings);
+        searchMetrics.sort(sortEnd - sortStart, timings);
+        
+        List<NewsArticle> page = NewsPaginator.paginate(unique, 1, 10).getArticles();
+        
+        long serializeStart = System.nanoTime();
+        searchMetrics.serialize(System.nanoTime() - serializeStart, timings);
+        return page;
+    }
+    
+    // The metrics calls of instrumented() alone: the per-request cost in absolute
+    // terms, which the two full variants cannot resolve within their error
+    @Benchmark
+    public long metricsOnly() {
+        StageTimings timings = StageTimings.NONE;
+        long start = System.nanoTime();
+        searchMetrics.cacheLookup(System.nanoTime() - start, false, timings);
+        providerStages(UpstreamRateLimiter.GUARDIAN, SearchMetrics.GUARDIAN_PARSE, timings);
+        providerStages(UpstreamRateLimiter.NYTIMES, SearchMetrics.NYTIMES_PARSE, timings);
+        long dedupMark = searchMetrics.allocationMark(SearchMetrics.DEDUP);
+        searchMetrics.allocated(SearchMetrics.DEDUP, dedupMark);
+        long sortMark = searchMetrics.allocationMark(SearchMetrics.SORT);
+        searchMetrics.allocated(SearchMetrics.SORT, sortMark);
+        long end = System.nanoTime();
+        searchMetrics.dedup(end - start, timings);
+        searchMetrics.sort(end - start, timings);
+        searchMetrics.serialize(System.nanoTime() - end, timings);
+        return end;
+    }
+    
+    // Provider call and parse timers as the clients record them, without the call
+    private void providerStages(String provider, String parseStage, StageTimings timings) {
+        long callStart = System.nanoTime();
+        long parseStart = System.nanoTime();
+        long allocationMark = searchMetrics.allocationMark(parseStage);
+        searchMetrics.allocated(parseStage, allocationMark);
+        searchMetrics.parse(provider, System.nanoTime() - parseStart, timings);
+        searchMetrics.providerCall(provider, System.nanoTime() - callStart, true, timings);
+    }
+}
\ No newline at end of file
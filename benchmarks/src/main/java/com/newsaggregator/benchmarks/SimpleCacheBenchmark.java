@@ -0,0 +1,61 @@
+package com.newsaggregator.benchmarks;
+
+import com.newsaggregator.util.SimpleCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Search-cache access under contention; run with several thread counts
+// (BenchmarkRunner --threads=1,4,8) to see how lookups and writes scale
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleCacheBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int entries;
+    
+    private SimpleCache<String, String> cache;
+    private String[] keys;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new SimpleCache<>(TimeUnit.HOURS.toMillis(1));
+        keys = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            keys[i] = "keyword" + i + "_1_10";
+            cache.put(keys[i], "response" + i);
+        }
+    }
+    
+    @Benchmark
+    public String getHit() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(entries)]);
+    }
+    
+    @Benchmark
+    public String getMiss() {
+        return cache.get("missing" + ThreadLocalRandom.current().nextInt(entries));
+    }
+    
+    @Benchmark
+    public void put() {
+        int i = ThreadLocalRandom.current().nextInt(entries);
+        cache.put(keys[i], "response" + i);
+    }
+}
@@ -0,0 +1,84 @@
+package com.newsaggregator.loadtest;
+
+import java.util.Locale;
+import java.util.Random;
+
+// Upstream response delay distribution, parsed from a spec:
+//   fixed:50              always 50ms
+//   uniform:20-200        uniform between 20 and 200ms
+//   lognormal:80,400      median 80ms, p99 400ms (the usual long-tailed shape)
+public abstract class LatencyModel {
+    
+    private static final double Z_99 = 2.326;
+    
+    public abstract long sampleMillis(Random random);
+    
+    public static LatencyModel parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":", 2);
+        String args = parts.length > 1 ? parts[1] : "";
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(Long.parseLong(args));
+            case "uniform": {
+                String[] range = args.split("-");
+                return uniform(Long.parseLong(range[0]), Long.parseLong(range[1]));
+            }
+            case "lognormal": {
+                String[] values = args.split(",");
+                return logNormal(Double.parseDouble(values[0]), Double.parseDouble(values[1]));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency model: " + spec);
+        }
+    }
+    
+    public static LatencyModel fixed(long millis) {
+        return new LatencyModel() {
+            @Override
+            public long sampleMillis(Random random) {
+                return millis;
+            }
+            
+            @Override
+            public String toString() {
+                return "fixed " + millis + "ms";
+            }
+        };
+    }
+    
+    public static LatencyModel uniform(long minMillis, long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("uniform latency needs min <= max");
+        }
+        return new LatencyModel() {
+            @Override
+            public long sampleMillis(Random random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+            }
+            
+            @Override
+            public String toString() {
+                return "uniform " + minMillis + "-" + maxMillis + "ms";
+            }
+        };
+    }
+    
+    public static LatencyModel logNormal(double medianMillis, double p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("lognormal latency needs 0 < median <= p99");
+        }
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log(p99Millis / medianMillis) / Z_99;
+        return new LatencyModel() {
+            @Override
+            public long sampleMillis(Random random) {
+                return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+            
+            @Override
+            public String toString() {
+                return "lognormal median " + medianMillis + "ms p99 " + p99Millis + "ms";
+            }
+        };
+    }
+}
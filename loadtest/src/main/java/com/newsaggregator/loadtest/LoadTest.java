@@ -0,0 +1,302 @@
+package com.newsaggregator.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+// Load-tests /api/v1/news/search against stubbed Guardian and NYT APIs.
+// Each scenario starts a fresh stub and, with --app-jar, a fresh application
+// pointed at it, so caches start cold and runs are comparable. Arrival times
+// and keyword sequences are reproducible from --seed.
+//
+// Scenarios:
+//   cache-hit        Zipf keyword popularity; hit ratio and latency once warm
+//   coalescing       bursts of concurrent requests for cold keywords; upstream
+//                    calls per distinct keyword (1.0 means misses coalesced)
+//   circuit-breaker  Guardian fails every call for the middle third of the
+//                    run; latency and upstream calls before, during and after
+public class LoadTest {
+    
+    private static final List<String> SCENARIOS = Arrays.asList("cache-hit", "coalescing", "circuit-breaker");
+    
+    private final Map<String, String> options;
+    private final Path report;
+    
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.report = Paths.get(option("report", "target/loadtest-report.txt"));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("help")) {
+            System.out.println(usage());
+            return;
+        }
+        LoadTest loadTest = new LoadTest(options);
+        String scenario = loadTest.option("scenario", "all");
+        for (String name : "all".equals(scenario) ? SCENARIOS : Arrays.asList(scenario.split(","))) {
+            if (!SCENARIOS.contains(name)) {
+                throw new IllegalArgumentException("Unknown scenario " + name + "\n" + usage());
+            }
+            loadTest.run(name);
+        }
+    }
+    
+    void run(String scenario) throws Exception {
+        long durationMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(option("duration", "60")));
+        long seed = Long.parseLong(option("seed", "42"));
+        
+        try (StubUpstreamServer stub = startStub()) {
+            Process app = startApp(scenario, stub);
+            try {
+                String target = option("target", "http://localhost:" + option("app-port", "18080"));
+                awaitHealthy(target);
+                OpenLoadGenerator generator = new OpenLoadGenerator(target,
+                        Double.parseDouble(option("rate", "100")),
+                        Integer.parseInt(option("max-in-flight", "1000")),
+                        Integer.parseInt(option("timeout-ms", "10000")), seed);
+                
+                List<String> lines = new ArrayList<>();
+                lines.add(String.format("== %s: %s req/s for %ds, %s keywords, zipf %s, guardian %s, nytimes %s",
+                        scenario, option("rate", "100"), durationMillis / 1000, option("keywords", "1000"),
+                        option("zipf", "1.0"), option("guardian-latency", "lognormal:80,400"),
+                        option("nytimes-latency", "lognormal:120,600")));
+                switch (scenario) {
+                    case "cache-hit":
+                        cacheHit(generator, stub, durationMillis, seed, lines);
+                        break;
+                    case "coalescing":
+                        coalescing(generator, stub, durationMillis, seed, lines);
+                        break;
+                    default:
+                        circuitBreaker(generator, stub, durationMillis, seed, lines);
+                }
+                write(lines);
+            } finally {
+                stop(app);
+            }
+        }
+    }
+    
+    private void cacheHit(OpenLoadGenerator generator, StubUpstreamServer stub, long durationMillis, long seed,
+                          List<String> lines) throws InterruptedException {
+        ZipfDistribution zipf = zipf();
+        Random random = new Random(seed + 1);
+        PhaseStats warmup = new PhaseStats("warmup");
+        PhaseStats steady = new PhaseStats("steady");
+        long warmupMillis = durationMillis / 5;
+        
+        generator.run(durationMillis, second -> "topic" + zipf.sample(random),
+                      elapsed -> elapsed < warmupMillis ? warmup : steady);
+        
+        lines.add(warmup.summary());
+        lines.add(steady.summary());
+        lines.add(String.format("top 10 keywords draw %.1f%% of requests; upstream calls guardian %d, nytimes %d",
+                100 * zipf.headShare(10), stub.calls(StubUpstreamServer.GUARDIAN),
+                stub.calls(StubUpstreamServer.NYTIMES)));
+    }
+    
+    // Every window seconds a new set of cold keywords takes the traffic, so
+    // many requests for the same keyword miss the cache at the same time
+    private void coalescing(OpenLoadGenerator generator, StubUpstreamServer stub, long durationMillis, long seed,
+                            List<String> lines) throws InterruptedException {
+        ZipfDistribution zipf = new ZipfDistribution(Integer.parseInt(option("burst-keywords", "10")),
+                                                     Double.parseDouble(option("zipf", "1.0")));
+        int window = Integer.parseInt(option("burst-window-seconds", "5"));
+        Random random = new Random(seed + 2);
+        PhaseStats all = new PhaseStats("bursts");
+        IntFunction<String> keywords = second -> "burst" + (second / window) + "-" + zipf.sample(random);
+        
+        generator.run(durationMillis, keywords, elapsed -> all);
+        
+        lines.add(all.summary());
+        lines.add(String.format("upstream calls per cold keyword: guardian %.2f, nytimes %.2f (1.00 = fully coalesced)",
+                stub.callsPerKeyword(StubUpstreamServer.GUARDIAN),
+                stub.callsPerKeyword(StubUpstreamServer.NYTIMES)));
+    }
+    
+    private void circuitBreaker(OpenLoadGenerator generator, StubUpstreamServer stub, long durationMillis, long seed,
+                                List<String> lines) throws InterruptedException {
+        ZipfDistribution zipf = zipf();
+        Random random = new Random(seed + 3);
+        PhaseStats before = new PhaseStats("before");
+        PhaseStats outage = new PhaseStats("outage");
+        PhaseStats after = new PhaseStats("after");
+        long outageStart = durationMillis / 3;
+        long outageEnd = 2 * durationMillis / 3;
+        long[][] upstream = new long[3][];
+        
+        ScheduledExecutorService timeline = Executors.newSingleThreadScheduledExecutor();
+        timeline.schedule(() -> {
+            upstream[0] = guardianCounters(stub);
+            stub.setOutage(StubUpstreamServer.GUARDIAN, true);
+        }, outageStart, TimeUnit.MILLISECONDS);
+        timeline.schedule(() -> {
+            upstream[1] = guardianCounters(stub);
+            stub.setOutage(StubUpstreamServer.GUARDIAN, false);
+        }, outageEnd, TimeUnit.MILLISECONDS);
+        try {
+            generator.run(durationMillis, second -> "topic" + zipf.sample(random),
+                          elapsed -> elapsed < outageStart ? before : elapsed < outageEnd ? outage : after);
+        } finally {
+            timeline.shutdownNow();
+        }
+        upstream[2] = guardianCounters(stub);
+        
+        lines.add(before.summary());
+        lines.add(outage.summary());
+        lines.add(after.summary());
+        if (upstream[0] != null && upstream[1] != null) {
+            lines.add(String.format("guardian calls/failures: before %d/%d, outage %d/%d, after %d/%d",
+                    upstream[0][0], upstream[0][1],
+                    upstream[1][0] - upstream[0][0], upstream[1][1] - upstream[0][1],
+                    upstream[2][0] - upstream[1][0], upstream[2][1] - upstream[1][1]));
+        }
+    }
+    
+    private static long[] guardianCounters(StubUpstreamServer stub) {
+        return new long[] {stub.calls(StubUpstreamServer.GUARDIAN), stub.failures(StubUpstreamServer.GUARDIAN)};
+    }
+    
+    private ZipfDistribution zipf() {
+        return new ZipfDistribution(Integer.parseInt(option("keywords", "1000")),
+                                    Double.parseDouble(option("zipf", "1.0")));
+    }
+    
+    private StubUpstreamServer startStub() throws IOException {
+        int errorStatus = Integer.parseInt(option("error-status", "500"));
+        StubUpstreamServer stub = new StubUpstreamServer(Integer.parseInt(option("stub-port", "0")))
+                .provider(StubUpstreamServer.GUARDIAN, "/search",
+                          StubUpstreamServer.loadPayload(option("guardian-recording", "recordings/guardian-search.json")),
+                          LatencyModel.parse(option("guardian-latency", "lognormal:80,400")),
+                          Double.parseDouble(option("guardian-error-rate", "0")), errorStatus)
+                .provider(StubUpstreamServer.NYTIMES, "/svc/search/v2/articlesearch.json",
+                          StubUpstreamServer.loadPayload(option("nytimes-recording", "recordings/nytimes-search.json")),
+                          LatencyModel.parse(option("nytimes-latency", "lognormal:120,600")),
+                          Double.parseDouble(option("nytimes-error-rate", "0")), errorStatus);
+        stub.start();
+        System.out.println("Stub upstream on " + stub.baseUrl(StubUpstreamServer.GUARDIAN) + " and "
+                           + stub.baseUrl(StubUpstreamServer.NYTIMES));
+        return stub;
+    }
+    
+    // Without --app-jar the application at --target must already be pointed
+    // at the stub (fixed --stub-port) and is not restarted between scenarios
+    private Process startApp(String scenario, StubUpstreamServer stub) throws IOException {
+        String appJar = options.get("app-jar");
+        if (appJar == null) {
+            return null;
+        }
+        List<String> command = new ArrayList<>(Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", appJar,
+                "--server.port=" + option("app-port", "18080"),
+                "--guardian.api.url=" + stub.baseUrl(StubUpstreamServer.GUARDIAN),
+                "--guardian.api.key=loadtest",
+                "--nytimes.api.url=" + stub.baseUrl(StubUpstreamServer.NYTIMES),
+                "--nytimes.api.key=loadtest",
+                // The quotas protect the real APIs and would turn most misses into partial results
+                "--news.ratelimit.enabled=false",
+                "--news.warmup.enabled=false",
+                "--news.cache.snapshot.enabled=false"));
+        String extra = options.get("app-args");
+        if (extra != null && !extra.trim().isEmpty()) {
+            command.addAll(Arrays.asList(extra.trim().split("\\s+")));
+        }
+        
+        File log = new File("target/loadtest-app-" + scenario + ".log");
+        Files.createDirectories(log.toPath().getParent());
+        System.out.println("Starting " + appJar + ", log in " + log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+    
+    private void awaitHealthy(String target) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(option("startup-seconds", "120")));
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(target + "/actuator/health").openConnection();
+                connection.setConnectTimeout(1000);
+                connection.setReadTimeout(1000);
+                int status = connection.getResponseCode();
+                connection.disconnect();
+                if (status == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application at " + target + " did not become healthy");
+    }
+    
+    private static void stop(Process app) throws InterruptedException {
+        if (app == null) {
+            return;
+        }
+        app.destroy();
+        if (!app.waitFor(30, TimeUnit.SECONDS)) {
+            app.destroyForcibly().waitFor();
+        }
+    }
+    
+    private void write(List<String> lines) throws IOException {
+        for (String line : lines) {
+            System.out.println(line);
+        }
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        lines.add("");
+        Files.write(report, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+    
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg + "\n" + usage());
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+    
+    private static String usage() {
+        return "java -jar target/loadtest.jar [--scenario=all|cache-hit|coalescing|circuit-breaker]\n"
+               + "  [--app-jar=../target/news-aggregator-1.0.0.jar | --target=http://localhost:8080 --stub-port=9090]\n"
+               + "  [--rate=100] [--duration=60] [--keywords=1000] [--zipf=1.0] [--seed=42]\n"
+               + "  [--guardian-latency=lognormal:80,400] [--nytimes-latency=lognormal:120,600]\n"
+               + "  [--guardian-error-rate=0] [--nytimes-error-rate=0] [--error-status=500]\n"
+               + "  [--guardian-recording=path] [--nytimes-recording=path]\n"
+               + "  [--burst-keywords=10] [--burst-window-seconds=5] [--max-in-flight=1000] [--timeout-ms=10000]\n"
+               + "  [--app-port=18080] [--app-args=\"--news.admission.enabled=false ...\"] [--startup-seconds=120]\n"
+               + "  [--report=target/loadtest-report.txt]";
+    }
+}
@@ -0,0 +1,131 @@
+package com.newsaggregator.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+// Open-model load: requests arrive as a Poisson process at a fixed rate no
+// matter how fast the service answers, and latency is measured from the
+// scheduled arrival, so a stalled service shows up as queueing delay instead
+// of fewer requests (no coordinated omission). Arrivals beyond the in-flight
+// cap are counted as dropped rather than delayed.
+public class OpenLoadGenerator {
+    
+    private final String targetUrl;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final int timeoutMillis;
+    private final Random random;
+    
+    public OpenLoadGenerator(String targetUrl, double ratePerSecond, int maxInFlight, int timeoutMillis, long seed) {
+        this.targetUrl = targetUrl;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMillis = timeoutMillis;
+        this.random = new Random(seed);
+    }
+    
+    // keywords maps the arrival's elapsed second to a keyword; phases maps
+    // its elapsed milliseconds to the stats it is recorded in
+    public void run(long durationMillis, IntFunction<String> keywords, LongFunction<PhaseStats> phases)
+            throws InterruptedException {
+        ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        long next = start;
+        
+        try {
+            while (true) {
+                next += (long) (-Math.log(1 - random.nextDouble()) / ratePerSecond * 1e9);
+                if (next >= end) {
+                    break;
+                }
+                long delay;
+                while ((delay = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(next - start);
+                PhaseStats stats = phases.apply(elapsedMillis);
+                String keyword = keywords.apply((int) (elapsedMillis / 1000));
+                long arrival = next;
+                if (!inFlight.tryAcquire()) {
+                    stats.drop(arrival);
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        send(keyword, arrival, stats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(timeoutMillis * 2L, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void send(String keyword, long arrivalNanos, PhaseStats stats) {
+        int status = 0;
+        String body = "";
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(targetUrl + "/api/v1/news/search?keyword="
+                    + encode(keyword) + "&page=1&pageSize=10").openConnection();
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            connection.setRequestProperty("Accept", "application/json");
+            status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            body = in == null ? "" : read(in);
+        } catch (IOException e) {
+            status = -1;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+        stats.record(arrivalNanos, System.nanoTime() - arrivalNanos, status,
+                     body.contains("\"fromCache\":true"), body.contains("\"offlineMode\":true"));
+    }
+    
+    private static String read(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.newsaggregator.loadtest;
+
+import java.util.Arrays;
+
+// Outcomes of the requests that arrived during one phase of a scenario.
+// Latencies are kept in full (runs are minutes long at most) so percentiles
+// are exact rather than bucketed.
+public class PhaseStats {
+    
+    private final String name;
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private long errors;
+    private long dropped;
+    private long cacheHits;
+    private long offline;
+    private long firstArrivalNanos = Long.MAX_VALUE;
+    private long lastArrivalNanos;
+    
+    public PhaseStats(String name) {
+        this.name = name;
+    }
+    
+    public synchronized void record(long arrivalNanos, long latencyNanos, int status, boolean fromCache,
+                                    boolean offlineMode) {
+        arrived(arrivalNanos);
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyNanos / 1000;
+        if (status != 200) {
+            errors++;
+        }
+        if (fromCache) {
+            cacheHits++;
+        }
+        if (offlineMode) {
+            offline++;
+        }
+    }
+    
+    // The generator was at its in-flight cap when this request was due
+    public synchronized void drop(long arrivalNanos) {
+        arrived(arrivalNanos);
+        dropped++;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public synchronized long completed() {
+        return count;
+    }
+    
+    public synchronized String summary() {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        double seconds = Math.max(1e-9, (lastArrivalNanos - firstArrivalNanos) / 1e9);
+        return String.format("%-10s %8d req %9.1f req/s  p50 %8.1f  p90 %8.1f  p99 %8.1f  p99.9 %8.1f  max %8.1f ms"
+                             + "  errors %5.1f%%  dropped %d  cache hits %5.1f%%  offline %5.1f%%",
+                name, count + dropped, count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1000.0,
+                share(errors), dropped, share(cacheHits), share(offline));
+    }
+    
+    private void arrived(long arrivalNanos) {
+        firstArrivalNanos = Math.min(firstArrivalNanos, arrivalNanos);
+        lastArrivalNanos = Math.max(lastArrivalNanos, arrivalNanos);
+    }
+    
+    private double share(long part) {
+        return count == 0 ? 0 : 100.0 * part / count;
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000.0;
+    }
+}
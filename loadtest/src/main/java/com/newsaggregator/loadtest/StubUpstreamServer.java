@@ -0,0 +1,201 @@
+package com.newsaggregator.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stands in for the Guardian and NYT search APIs. Each provider replays a
+// recorded payload with {{keyword}} and {{page}} filled in, after a delay
+// drawn from its latency model, and fails a configurable share of calls.
+// An outage switch fails every call, e.g. to trip the circuit breaker.
+//
+//   Guardian: http://localhost:<port>/guardian/search
+//   NYT:      http://localhost:<port>/nytimes/svc/search/v2/articlesearch.json
+public class StubUpstreamServer implements AutoCloseable {
+    
+    public static final String GUARDIAN = "guardian";
+    public static final String NYTIMES = "nytimes";
+    
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-upstream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Provider> providers = new ConcurrentHashMap<>();
+    
+    public StubUpstreamServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 512);
+        server.setExecutor(executor);
+    }
+    
+    public StubUpstreamServer provider(String name, String path, String payload, LatencyModel latency,
+                                       double errorRate, int errorStatus) {
+        Provider provider = new Provider(payload, latency, errorRate, errorStatus);
+        providers.put(name, provider);
+        server.createContext("/" + name + path, exchange -> handle(provider, exchange));
+        return this;
+    }
+    
+    public void start() {
+        server.start();
+    }
+    
+    public int port() {
+        return server.getAddress().getPort();
+    }
+    
+    public String baseUrl(String provider) {
+        return "http://localhost:" + port() + "/" + provider;
+    }
+    
+    public void setOutage(String provider, boolean outage) {
+        providers.get(provider).outage = outage;
+    }
+    
+    public long calls(String provider) {
+        return providers.get(provider).calls.get();
+    }
+    
+    public long failures(String provider) {
+        return providers.get(provider).failures.get();
+    }
+    
+    // Calls per distinct keyword, to see how well concurrent misses coalesce
+    public double callsPerKeyword(String provider) {
+        Provider stub = providers.get(provider);
+        return stub.keywords.isEmpty() ? 0 : (double) stub.calls.get() / stub.keywords.size();
+    }
+    
+    public void resetCounters() {
+        for (Provider provider : providers.values()) {
+            provider.calls.set(0);
+            provider.failures.set(0);
+            provider.keywords.clear();
+        }
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    // Classpath resource (recordings/guardian-search.json) or a file path
+    public static String loadPayload(String location) throws IOException {
+        InputStream resource = StubUpstreamServer.class.getClassLoader().getResourceAsStream(location);
+        if (resource == null) {
+            return new String(Files.readAllBytes(Paths.get(location)), StandardCharsets.UTF_8);
+        }
+        try (InputStream in = resource) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    private void handle(Provider provider, HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            String keyword = query.getOrDefault("q", "");
+            provider.calls.incrementAndGet();
+            provider.keywords.put(keyword, Boolean.TRUE);
+            
+            Random random = ThreadLocalRandom.current();
+            long delay = Math.max(0, provider.latency.sampleMillis(random));
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            
+            if (provider.outage || random.nextDouble() < provider.errorRate) {
+                provider.failures.incrementAndGet();
+                respond(exchange, provider.outage ? 503 : provider.errorStatus,
+                        "{\"message\":\"stubbed upstream failure\"}");
+                return;
+            }
+            respond(exchange, 200, provider.payload
+                    .replace("{{keyword}}", jsonText(keyword))
+                    .replace("{{page}}", jsonText(query.getOrDefault("page", "1"))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static Map<String, String> query(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> params = new ConcurrentHashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+                           URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+    
+    // Keywords end up inside JSON strings and URLs of the replayed payload
+    private static String jsonText(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.') {
+                escaped.append(c);
+            } else if (c == ' ') {
+                escaped.append('-');
+            }
+        }
+        return escaped.toString();
+    }
+    
+    private static class Provider {
+        final String payload;
+        final LatencyModel latency;
+        final double errorRate;
+        final int errorStatus;
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final Map<String, Boolean> keywords = new ConcurrentHashMap<>();
+        volatile boolean outage;
+        
+        Provider(String payload, LatencyModel latency, double errorRate, int errorStatus) {
+            this.payload = payload;
+            this.latency = latency;
+            this.errorRate = errorRate;
+            this.errorStatus = errorStatus;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.newsaggregator.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Ranks 1..n drawn with probability proportional to 1/rank^exponent, the
+// usual shape of search keyword popularity. Sampling is a binary search over
+// the precomputed CDF.
+public class ZipfDistribution {
+    
+    private final double[] cdf;
+    
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf needs at least one rank");
+        }
+        cdf = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cdf[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+    }
+    
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length, (index >= 0 ? index : -index - 1) + 1);
+    }
+    
+    // Share of draws that land on the most popular k ranks
+    public double headShare(int k) {
+        return cdf[Math.min(k, cdf.length) - 1];
+    }
+}
@@ -3,6 +3,10 @@ package com.newsaggregator.client;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.service.ProviderResilience;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.UpstreamRateLimiter;
+import com.newsaggregator.util.StageTimings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -22,18 +27,30 @@ public class GuardianApiClient {
     
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final SearchMetrics searchMetrics;
+    private final ProviderResilience providerResilience;
+    private final UpstreamRateLimiter rateLimiter;
     
     @Value("${guardian.api.key}")
     private String apiKey;
     
-    @Value("${guardian.api.url}")
+    @Value("${guardian.api.url:https://content.guardianapis.com}")
     private String baseUrl;
     
+    // Empty list when the provider fails; fetchNews tells a failure from no results
     public Mono<List<NewsArticle>> searchNews(String keyword, int page, int pageSize) {
-        return webClient.get()
+        return fetchNews(keyword, page, pageSize).onErrorReturn(new ArrayList<>());
+    }
+    
+    // Errors left after retries and the circuit breaker are propagated
+    public Mono<List<NewsArticle>> fetchNews(String keyword, int page, int pageSize) {
+        URI base = URI.create(baseUrl);
+        Mono<String> response = webClient.get()
                 .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .host("content.guardianapis.com")
+                        .scheme(base.getScheme())
+                        .host(base.getHost())
+                        .port(base.getPort())
+                        .path(base.getPath())
                         .path("/search")
                         .queryParam("q", keyword)
                         .queryParam("page", page)
@@ -42,9 +59,19 @@ public class GuardianApiClient {
                         .queryParam("api-key", apiKey)
                         .build())
                 .retrieve()
-                .bodyToMono(String.class)
-                .map(this::parseGuardianResponse)
-                .onErrorReturn(new ArrayList<>());
+                .bodyToMono(String.class);
+        
+        return providerResilience.protect(UpstreamRateLimiter.GUARDIAN, response,
+                                          rateLimiter.acquire(UpstreamRateLimiter.GUARDIAN))
+                .transformDeferredContextual((body, context) -> body.map(json -> {
+                    long parseStart = System.nanoTime();
+                    long allocationMark = searchMetrics.allocationMark(SearchMetrics.GUARDIAN_PARSE);
+                    List<NewsArticle> articles = parseGuardianResponse(json);
+                    searchMetrics.allocated(SearchMetrics.GUARDIAN_PARSE, allocationMark);
+                    searchMetrics.parse(UpstreamRateLimiter.GUARDIAN, System.nanoTime() - parseStart,
+                                        StageTimings.from(context));
+                    return articles;
+                }));
     }
     
     private List<NewsArticle> parseGuardianResponse(String response) {
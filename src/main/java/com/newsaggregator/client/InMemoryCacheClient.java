@@ -0,0 +1,83 @@
+package com.newsaggregator.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-JVM stand-in for the shared cache tier. Several CacheService instances
+// sharing one client behave like replicas sharing one Redis.
+public class InMemoryCacheClient implements SharedCacheClient {
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > entry.expiryTime) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+    
+    @Override
+    public void set(String key, byte[] value, long ttlMillis) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+    
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+    
+    @Override
+    public long incrementBy(String key, long delta, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.compute(key, (k, existing) -> existing == null || now > existing.expiryTime
+                ? new Counter(delta, now + ttlMillis)
+                : new Counter(existing.value + delta, existing.expiryTime));
+        return counter.value;
+    }
+    
+    @Override
+    public void publish(String channel, String message) {
+        List<Consumer<String>> listeners = subscribers.get(channel);
+        if (listeners != null) {
+            for (Consumer<String> listener : listeners) {
+                listener.accept(message);
+            }
+        }
+    }
+    
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+    
+    private static class Entry {
+        final byte[] value;
+        final long expiryTime;
+        
+        Entry(byte[] value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+    
+    private static class Counter {
+        final long value;
+        final long expiryTime;
+        
+        Counter(long value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,10 @@ package com.newsaggregator.client;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.service.ProviderResilience;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.UpstreamRateLimiter;
+import com.newsaggregator.util.StageTimings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -22,24 +27,49 @@ public class NYTimesApiClient {
     
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final SearchMetrics searchMetrics;
+    private final ProviderResilience providerResilience;
+    private final UpstreamRateLimiter rateLimiter;
     
     @Value("${nytimes.api.key}")
     private String apiKey;
     
+    @Value("${nytimes.api.url:https://api.nytimes.com}")
+    private String baseUrl;
+    
+    // Empty list when the provider fails; fetchNews tells a failure from no results
     public Mono<List<NewsArticle>> searchNews(String keyword, int page, int pageSize) {
-        return webClient.get()
+        return fetchNews(keyword, page, pageSize).onErrorReturn(new ArrayList<>());
+    }
+    
+    // Errors left after retries and the circuit breaker are propagated
+    public Mono<List<NewsArticle>> fetchNews(String keyword, int page, int pageSize) {
+        URI base = URI.create(baseUrl);
+        Mono<String> response = webClient.get()
                 .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .host("api.nytimes.com")
+                        .scheme(base.getScheme())
+                        .host(base.getHost())
+                        .port(base.getPort())
+                        .path(base.getPath())
                         .path("/svc/search/v2/articlesearch.json")
                         .queryParam("q", keyword)
                         .queryParam("page", page - 1) // NYT uses 0-based pagination
                         .queryParam("api-key", apiKey)
                         .build())
                 .retrieve()
-                .bodyToMono(String.class)
-                .map(this::parseNYTimesResponse)
-                .onErrorReturn(new ArrayList<>());
+                .bodyToMono(String.class);
+        
+        return providerResilience.protect(UpstreamRateLimiter.NYTIMES, response,
+                                          rateLimiter.acquire(UpstreamRateLimiter.NYTIMES))
+                .transformDeferredContextual((body, context) -> body.map(json -> {
+                    long parseStart = System.nanoTime();
+                    long allocationMark = searchMetrics.allocationMark(SearchMetrics.NYTIMES_PARSE);
+                    List<NewsArticle> articles = parseNYTimesResponse(json);
+                    searchMetrics.allocated(SearchMetrics.NYTIMES_PARSE, allocationMark);
+                    searchMetrics.parse(UpstreamRateLimiter.NYTIMES, System.nanoTime() - parseStart,
+                                        StageTimings.from(context));
+                    return articles;
+                }));
     }
     
     private List<NewsArticle> parseNYTimesResponse(String response) {
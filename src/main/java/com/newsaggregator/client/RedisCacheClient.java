@@ -0,0 +1,280 @@
+package com.newsaggregator.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Minimal RESP2 client covering the commands the shared cache tier needs.
+// Connections are pooled; each subscription gets its own reconnecting thread.
+@Slf4j
+public class RedisCacheClient implements SharedCacheClient, Closeable {
+    
+    // Sets the TTL whenever the counter has none, including keys created before a failed expire
+    private static final byte[] INCREMENT_WITH_TTL = bytes(
+            "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+            + "if redis.call('PTTL', KEYS[1]) < 0 then redis.call('PEXPIRE', KEYS[1], ARGV[2]) end "
+            + "return value");
+    
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final int maxConnections;
+    private final BlockingQueue<RespConnection> idleConnections;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final List<Thread> subscriberThreads = new ArrayList<>();
+    private volatile boolean closed;
+    
+    public RedisCacheClient(String host, int port, int timeoutMillis, int maxConnections) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnections = maxConnections;
+        this.idleConnections = new ArrayBlockingQueue<>(maxConnections);
+    }
+    
+    @Override
+    public byte[] get(String key) {
+        return (byte[]) execute(bytes("GET"), bytes(key));
+    }
+    
+    @Override
+    public void set(String key, byte[] value, long ttlMillis) {
+        execute(bytes("SET"), bytes(key), value, bytes("PX"), bytes(Long.toString(ttlMillis)));
+    }
+    
+    @Override
+    public void delete(String key) {
+        execute(bytes("DEL"), bytes(key));
+    }
+    
+    @Override
+    public long incrementBy(String key, long delta, long ttlMillis) {
+        // One script so a dropped connection cannot leave a counter without a TTL
+        return (Long) execute(bytes("EVAL"), INCREMENT_WITH_TTL, bytes("1"), bytes(key),
+                              bytes(Long.toString(delta)), bytes(Long.toString(ttlMillis)));
+    }
+    
+    @Override
+    public void publish(String channel, String message) {
+        execute(bytes("PUBLISH"), bytes(channel), bytes(message));
+    }
+    
+    @Override
+    public synchronized void subscribe(String channel, Consumer<String> listener) {
+        Thread thread = new Thread(() -> runSubscription(channel, listener), "redis-subscriber-" + channel);
+        thread.setDaemon(true);
+        thread.start();
+        subscriberThreads.add(thread);
+    }
+    
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Thread thread : subscriberThreads) {
+            thread.interrupt();
+        }
+        RespConnection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            connection.close();
+        }
+    }
+    
+    private Object execute(byte[]... args) {
+        RespConnection connection = borrow();
+        try {
+            connection.send(args);
+            Object reply = connection.read();
+            release(connection);
+            return reply;
+        } catch (IOException e) {
+            discard(connection);
+            throw new UncheckedIOException("Redis command failed: " + new String(args[0], StandardCharsets.UTF_8), e);
+        } catch (RuntimeException e) {
+            // Server-side error replies leave the connection usable
+            release(connection);
+            throw e;
+        }
+    }
+    
+    private RespConnection borrow() {
+        RespConnection connection = idleConnections.poll();
+        if (connection != null) {
+            return connection;
+        }
+        
+        if (openConnections.incrementAndGet() <= maxConnections) {
+            try {
+                return new RespConnection(host, port, timeoutMillis);
+            } catch (IOException e) {
+                openConnections.decrementAndGet();
+                throw new UncheckedIOException("Cannot connect to Redis at " + host + ":" + port, e);
+            }
+        }
+        openConnections.decrementAndGet();
+        
+        try {
+            connection = idleConnections.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (connection == null) {
+            throw new IllegalStateException("Timed out waiting for a Redis connection");
+        }
+        return connection;
+    }
+    
+    private void release(RespConnection connection) {
+        if (closed || !idleConnections.offer(connection)) {
+            discard(connection);
+        }
+    }
+    
+    private void discard(RespConnection connection) {
+        connection.close();
+        openConnections.decrementAndGet();
+    }
+    
+    private void runSubscription(String channel, Consumer<String> listener) {
+        long backoffMillis = 100;
+        while (!closed) {
+            try (RespConnection connection = new RespConnection(host, port, 0)) {
+                connection.send(bytes("SUBSCRIBE"), bytes(channel));
+                connection.read(); // subscribe confirmation
+                backoffMillis = 100;
+                
+                while (!closed) {
+                    Object reply = connection.read();
+                    if (reply instanceof List && ((List<?>) reply).size() == 3) {
+                        List<?> message = (List<?>) reply;
+                        if ("message".equals(asString(message.get(0)))) {
+                            listener.accept(asString(message.get(2)));
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                if (closed) {
+                    return;
+                }
+                log.warn("Redis subscription to {} lost, retrying in {}ms", channel, backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, 10_000);
+            }
+        }
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String asString(Object value) {
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+    
+    private static class RespConnection implements Closeable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final OutputStream out;
+        
+        RespConnection(String host, int port, int timeoutMillis) throws IOException {
+            socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new BufferedOutputStream(socket.getOutputStream());
+        }
+        
+        void send(byte[]... args) throws IOException {
+            writeLine('*', args.length);
+            for (byte[] arg : args) {
+                writeLine('$', arg.length);
+                out.write(arg);
+                out.write('\r');
+                out.write('\n');
+            }
+            out.flush();
+        }
+        
+        Object read() throws IOException {
+            int type = in.read();
+            String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case '-':
+                    throw new IllegalStateException("Redis error: " + line);
+                case ':':
+                    return Long.parseLong(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    byte[] data = new byte[length];
+                    in.readFully(data);
+                    readLine();
+                    return data;
+                }
+                case '*': {
+                    int count = Integer.parseInt(line);
+                    if (count < 0) {
+                        return null;
+                    }
+                    List<Object> items = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        items.add(read());
+                    }
+                    return items;
+                }
+                case -1:
+                    throw new EOFException("Redis connection closed");
+                default:
+                    throw new IOException("Unexpected RESP type: " + (char) type);
+            }
+        }
+        
+        private void writeLine(char type, int value) throws IOException {
+            out.write(type);
+            out.write(bytes(Integer.toString(value)));
+            out.write('\r');
+            out.write('\n');
+        }
+        
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new EOFException("Redis connection closed");
+                }
+                line.append((char) b);
+            }
+            in.read(); // '\n'
+            return line.toString();
+        }
+        
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+}
\ No newline at end of file
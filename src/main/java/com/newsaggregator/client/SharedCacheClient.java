@@ -0,0 +1,21 @@
+package com.newsaggregator.client;
+
+import java.util.function.Consumer;
+
+// Second-level cache shared by all replicas. Implementations throw unchecked
+// exceptions on transport failures; callers treat those as cache misses.
+public interface SharedCacheClient {
+    
+    byte[] get(String key);
+    
+    void set(String key, byte[] value, long ttlMillis);
+    
+    void delete(String key);
+    
+    // Atomically adds delta to a counter, creating it with the TTL if absent
+    long incrementBy(String key, long delta, long ttlMillis);
+    
+    void publish(String channel, String message);
+    
+    void subscribe(String channel, Consumer<String> listener);
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.newsaggregator.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+// Same rules as SecurityConfig for the Netty deployment (reactive profile)
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+            .csrf().disable()
+            .authorizeExchange()
+                .pathMatchers("/api/v1/news/**").permitAll()
+                .pathMatchers("/ws/**").permitAll()
+                .pathMatchers("/actuator/**").permitAll()
+                .anyExchange().permitAll()
+            .and()
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.newsaggregator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.accept.HeaderContentTypeResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    
+    // The servlet starters keep Tomcat on the classpath, and Boot prefers it
+    // for the reactive server too; an explicit factory makes it Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    private static final List<MediaType> JSON_FIRST = Arrays.asList(MediaType.APPLICATION_JSON, MediaType.ALL);
+    
+    // application/cbor with the same Jackson settings as the JSON codecs. Given
+    // a mapper but no media types, the CBOR codecs would claim JSON as well.
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper cborMapper = objectMapperBuilder.createXmlMapper(false).factory(new CBORFactory()).build();
+        configurer.customCodecs().register(new ValueCborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+    }
+    
+    // Custom codecs are ahead of the default JSON one, so a client that accepts
+    // anything would otherwise be answered in CBOR
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        HeaderContentTypeResolver accept = new HeaderContentTypeResolver();
+        builder.resolver(exchange -> {
+            List<MediaType> accepted = accept.resolveMediaTypes(exchange);
+            return accepted.equals(RequestedContentTypeResolver.MEDIA_TYPE_ALL_LIST) ? JSON_FIRST : accepted;
+        });
+    }
+    
+    // Jackson2CborEncoder only implements encodeValue and rejects encode, which
+    // the server's message writer always calls; values are encoded one by one
+    private static class ValueCborEncoder extends Jackson2CborEncoder {
+        
+        ValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+        
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream)
+                    .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
\ No newline at end of file
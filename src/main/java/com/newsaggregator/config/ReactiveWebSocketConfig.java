@@ -0,0 +1,21 @@
+package com.newsaggregator.config;
+
+import com.newsaggregator.controller.ReactiveLiveFeedWebSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Collections;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebSocketConfig {
+    
+    @Bean
+    public HandlerMapping liveFeedHandlerMapping(ReactiveLiveFeedWebSocketHandler handler) {
+        return new SimpleUrlHandlerMapping(Collections.singletonMap("/ws/news", handler), Ordered.HIGHEST_PRECEDENCE);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,5 @@
 package com.newsaggregator.config;
 
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import org.springframework.context.annotation.Bean;
@@ -11,33 +7,11 @@ import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
 
+// Circuit breakers, retries and bulkheads are per provider and configured under
+// resilience4j.*.instances.guardian / nytimes; see ProviderResilience
 @Configuration
 public class ResilienceConfig {
     
-    @Bean
-    public CircuitBreaker newsAggregatorCircuitBreaker() {
-        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
-                .slidingWindowSize(10)
-                .minimumNumberOfCalls(5)
-                .permittedNumberOfCallsInHalfOpenState(3)
-                .automaticTransitionFromOpenToHalfOpenEnabled(true)
-                .waitDurationInOpenState(Duration.ofSeconds(5))
-                .failureRateThreshold(50)
-                .build();
-        
-        return CircuitBreaker.of("news-aggregator", config);
-    }
-    
-    @Bean
-    public Retry newsAggregatorRetry() {
-        RetryConfig config = RetryConfig.custom()
-                .maxAttempts(3)
-                .waitDuration(Duration.ofSeconds(1))
-                .build();
-        
-        return Retry.of("news-aggregator", config);
-    }
-    
     @Bean
     public TimeLimiter newsAggregatorTimeLimiter() {
         TimeLimiterConfig config = TimeLimiterConfig.custom()
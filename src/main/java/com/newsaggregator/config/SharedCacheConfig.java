@@ -0,0 +1,29 @@
+package com.newsaggregator.config;
+
+import com.newsaggregator.client.InMemoryCacheClient;
+import com.newsaggregator.client.RedisCacheClient;
+import com.newsaggregator.client.SharedCacheClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Shared L2 cache tier; news.cache.l2.type is none, memory or redis
+@Configuration
+public class SharedCacheConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "news.cache.l2.type", havingValue = "memory")
+    public SharedCacheClient inMemoryCacheClient() {
+        return new InMemoryCacheClient();
+    }
+    
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "news.cache.l2.type", havingValue = "redis")
+    public SharedCacheClient redisCacheClient(@Value("${news.cache.l2.redis.host:localhost}") String host,
+                                              @Value("${news.cache.l2.redis.port:6379}") int port,
+                                              @Value("${news.cache.l2.redis.timeout-ms:100}") int timeoutMillis,
+                                              @Value("${news.cache.l2.redis.pool-size:8}") int poolSize) {
+        return new RedisCacheClient(host, port, timeoutMillis, poolSize);
+    }
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.newsaggregator.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
@@ -12,7 +14,12 @@ public class WebClientConfig {
     @Bean
     public WebClient webClient() {
         return WebClient.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().maxInMemorySize(1024 * 1024);
+                    // Replica-to-replica forwarding negotiates CBOR
+                    configurer.customCodecs().register(new Jackson2CborDecoder());
+                    configurer.customCodecs().register(new Jackson2CborEncoder());
+                })
                 .build();
     }
 }
\ No newline at end of file
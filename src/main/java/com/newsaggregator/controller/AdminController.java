@@ -1,5 +1,9 @@
 package com.newsaggregator.controller;
 
+import com.newsaggregator.model.ArticleUpsertResult;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.service.ArticleUpsertService;
+import com.newsaggregator.service.BlockingWorkScheduler;
 import com.newsaggregator.service.HibernateSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,10 +12,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,25 +29,37 @@ import java.util.Map;
 public class AdminController {
     
     private final HibernateSearchService hibernateSearchService;
+    private final ArticleUpsertService articleUpsertService;
+    private final BlockingWorkScheduler blockingWorkScheduler;
     
     @PostMapping("/rebuild-index")
     @Operation(summary = "Rebuild search index", description = "Rebuilds the Hibernate Search index for better search performance")
     @ApiResponse(responseCode = "200", description = "Index rebuild completed successfully")
     @ApiResponse(responseCode = "500", description = "Index rebuild failed")
-    public ResponseEntity<Map<String, String>> rebuildSearchIndex() {
-        try {
-            hibernateSearchService.rebuildSearchIndex();
-            log.info("Search index rebuild completed successfully");
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Search index rebuilt successfully");
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Failed to rebuild search index", e);
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Failed to rebuild search index: " + e.getMessage());
-            return ResponseEntity.status(500).body(errorResponse);
-        }
+    public Mono<ResponseEntity<Map<String, String>>> rebuildSearchIndex() {
+        return blockingWorkScheduler.run(HibernateSearchService.MASS_INDEX_CONNECTIONS,
+                        hibernateSearchService::rebuildSearchIndex)
+                .then(Mono.fromCallable(() -> {
+                    log.info("Search index rebuild completed successfully");
+                    Map<String, String> response = new HashMap<>();
+                    response.put("status", "success");
+                    response.put("message", "Search index rebuilt successfully");
+                    return ResponseEntity.ok(response);
+                }))
+                .onErrorResume(e -> {
+                    log.error("Failed to rebuild search index", e);
+                    Map<String, String> errorResponse = new HashMap<>();
+                    errorResponse.put("status", "error");
+                    errorResponse.put("message", "Failed to rebuild search index: " + e.getMessage());
+                    return Mono.just(ResponseEntity.status(500).body(errorResponse));
+                });
+    }
+    
+    @PostMapping("/articles/bulk-upsert")
+    @Operation(summary = "Bulk upsert articles", description = "Inserts new articles and updates existing ones, keyed on article id, using batched writes")
+    @ApiResponse(responseCode = "200", description = "Articles upserted successfully")
+    public Mono<ResponseEntity<ArticleUpsertResult>> bulkUpsertArticles(@RequestBody List<NewsArticle> articles) {
+        return blockingWorkScheduler.call(() -> articleUpsertService.upsertAll(articles))
+                .map(ResponseEntity::ok);
     }
 }
\ No newline at end of file
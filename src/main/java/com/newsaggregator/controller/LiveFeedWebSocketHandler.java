@@ -0,0 +1,154 @@
+package com.newsaggregator.controller;
+
+import com.newsaggregator.service.LiveFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Servlet WebSocket endpoint for live keyword feeds. Each connection has a
+// bounded outbound queue drained by a small sender pool, so publishing never
+// blocks on a socket write; a client that lets its queue fill up is dropped
+// instead of holding up the shared pollers.
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class LiveFeedWebSocketHandler extends TextWebSocketHandler {
+    
+    // Tomcat's per-session limit on a blocking send, in milliseconds
+    private static final String TOMCAT_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+    
+    private final LiveFeedService liveFeedService;
+    private final Map<String, SessionSubscriber> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    
+    @Value("${news.live.send-time-limit-ms:10000}")
+    private long sendTimeLimitMillis;
+    
+    @Value("${news.live.send-queue-size:256}")
+    private int sendQueueSize;
+    
+    public LiveFeedWebSocketHandler(LiveFeedService liveFeedService,
+                                    @Value("${news.live.sender-threads:4}") int senderThreads) {
+        this.liveFeedService = liveFeedService;
+        // At most one drain task per session is queued at a time
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(
+                senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "live-feed-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+    
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession) {
+            javax.websocket.Session nativeSession =
+                    ((NativeWebSocketSession) session).getNativeSession(javax.websocket.Session.class);
+            if (nativeSession != null) {
+                nativeSession.getUserProperties().put(TOMCAT_SEND_TIMEOUT, sendTimeLimitMillis);
+            }
+        }
+        sessions.put(session.getId(), new SessionSubscriber(session, sendQueueSize));
+    }
+    
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        SessionSubscriber subscriber = sessions.get(session.getId());
+        if (subscriber != null) {
+            liveFeedService.handleCommand(message.getPayload(), subscriber, subscriber.keywords);
+        }
+    }
+    
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        SessionSubscriber subscriber = sessions.remove(session.getId());
+        if (subscriber != null) {
+            subscriber.outbound.clear();
+            liveFeedService.closeSession(subscriber, subscriber.keywords);
+        }
+    }
+    
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Live feed transport error on session {}: {}", session.getId(), exception.getMessage());
+    }
+    
+    private class SessionSubscriber implements LiveFeedService.Subscriber {
+        final WebSocketSession session;
+        final Set<String> keywords = ConcurrentHashMap.newKeySet();
+        final ArrayBlockingQueue<String> outbound;
+        final AtomicInteger pending = new AtomicInteger();
+        
+        SessionSubscriber(WebSocketSession session, int queueSize) {
+            this.session = session;
+            this.outbound = new ArrayBlockingQueue<>(queueSize);
+        }
+        
+        // Only enqueues; the socket write happens on a sender thread
+        @Override
+        public void send(String message) {
+            if (!session.isOpen()) {
+                return;
+            }
+            if (!outbound.offer(message)) {
+                log.debug("Live feed session {} fell behind, closing it", session.getId());
+                outbound.clear();
+                close(CloseStatus.POLICY_VIOLATION);
+                return;
+            }
+            if (pending.getAndIncrement() == 0) {
+                sender.execute(this::drain);
+            }
+        }
+        
+        // One drain per session at a time, so messages keep their order
+        private void drain() {
+            do {
+                String message = outbound.poll();
+                if (message == null || !session.isOpen()) {
+                    continue;
+                }
+                try {
+                    session.sendMessage(new TextMessage(message));
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Live feed send failed on session {}: {}", session.getId(), e.getMessage());
+                    outbound.clear();
+                    close(CloseStatus.SESSION_NOT_RELIABLE);
+                }
+            } while (pending.decrementAndGet() > 0);
+        }
+        
+        private void close(CloseStatus status) {
+            try {
+                session.close(status);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing live feed session {} failed: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
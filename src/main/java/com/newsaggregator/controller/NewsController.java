@@ -1,8 +1,23 @@
 package com.newsaggregator.controller;
 
+import com.newsaggregator.model.BatchSearchResult;
 import com.newsaggregator.model.NewsSearchRequest;
 import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.NewsStreamEvent;
+import com.newsaggregator.model.RequestPriority;
+import com.newsaggregator.service.AdmissionControlService;
+import com.newsaggregator.service.BatchSearchService;
+import com.newsaggregator.service.ClusterRoutingService;
+import com.newsaggregator.service.CompressedResponseCache;
 import com.newsaggregator.service.NewsAggregatorService;
+import com.newsaggregator.service.ProjectedResponseWriter;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.SearchTracer;
+import com.newsaggregator.service.TrendingKeywordService;
+import com.newsaggregator.util.Deadline;
+import com.newsaggregator.util.FieldProjection;
+import com.newsaggregator.util.ResponseValidators;
+import com.newsaggregator.util.StageTimings;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,10 +26,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/news")
 @RequiredArgsConstructor
@@ -23,17 +46,41 @@ import reactor.core.publisher.Mono;
 @CrossOrigin(origins = "*")
 public class NewsController {
     
+    private final ClusterRoutingService clusterRoutingService;
     private final NewsAggregatorService newsAggregatorService;
+    private final TrendingKeywordService trendingKeywordService;
+    private final AdmissionControlService admissionControlService;
+    private final BatchSearchService batchSearchService;
+    private final CompressedResponseCache compressedResponseCache;
+    private final ProjectedResponseWriter projectedResponseWriter;
+    private final SearchMetrics searchMetrics;
+    private final SearchTracer searchTracer;
+    
+    @Value("${news.metrics.server-timing:false}")
+    private boolean serverTiming;
+    
+    @Value("${news.deadline.default-ms:8000}")
+    private long defaultDeadlineMillis;
+    
+    @Value("${news.deadline.max-ms:30000}")
+    private long maxDeadlineMillis;
+    
+    // Reserved at the end of each deadline for aggregation and fallbacks
+    @Value("${news.deadline.headroom-ms:100}")
+    private long deadlineHeadroomMillis;
     
     @GetMapping("/search")
-    @Operation(summary = "Search news articles", 
+    @Operation(summary = "Search news articles",
                description = "Search and aggregate news from Guardian and NY Times APIs")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved news articles"),
+        @ApiResponse(responseCode = "304", description = "Articles unchanged since the If-None-Match ETag"),
         @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+        @ApiResponse(responseCode = "503", description = "Overloaded, retry after the Retry-After delay"),
+        @ApiResponse(responseCode = "504", description = "No result within the request's deadline"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public Mono<ResponseEntity<NewsSearchResponse>> searchNews(
+    public Mono<ResponseEntity<Object>> searchNews(
             @Parameter(description = "Search keyword", required = true)
             @RequestParam String keyword,
             
@@ -47,11 +94,32 @@ public class NewsController {
             @RequestParam(required = false) String city,
             
             @Parameter(description = "Enable offline mode")
-            @RequestParam(defaultValue = "false") boolean offlineMode) {
+            @RequestParam(defaultValue = "false") boolean offlineMode,
+            
+            @Parameter(description = "Comma-separated article fields to return, e.g. id,title,url,publishedAt "
+                                     + "(default: all); the response is then always JSON")
+            @RequestParam(required = false) String fields,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = ClusterRoutingService.FORWARDED_HEADER, required = false) String forwardedBy,
+            
+            @Parameter(description = "Request priority: interactive (default), prefetch or batch")
+            @RequestHeader(value = "X-Request-Priority", required = false) String priority,
+            
+            @Parameter(description = "Milliseconds to wait for a result (default and maximum are configured)")
+            @RequestHeader(value = Deadline.HEADER, required = false) String timeout,
+            
+            @Parameter(description = "ETag from a previous response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         
-        // DEBUG POINT 1: Request received
-        log.debug("🔍 [DEBUG-1] GET /search - Request received: keyword={}, page={}, pageSize={}, city={}, offlineMode={}", 
-                  keyword, page, pageSize, city, offlineMode);
+        long traceId = searchTracer.start(keyword);
+        searchTracer.record(traceId, SearchTracer.Checkpoint.REQUEST_RECEIVED, page);
         
         NewsSearchRequest request = NewsSearchRequest.builder()
                 .keyword(keyword)
@@ -61,26 +129,191 @@ public class NewsController {
                 .offlineMode(offlineMode)
                 .build();
         
-        // DEBUG POINT 2: Request object created
-        log.debug("🔍 [DEBUG-2] Request object created: {}", request);
+        FieldProjection projection = projectedResponseWriter.parse(fields);
+        trendingKeywordService.record(keyword);
         
-        return newsAggregatorService.searchNews(request)
-                .doOnNext(response -> {
-                    // DEBUG POINT 3: Response received from service
-                    log.debug("🔍 [DEBUG-3] Service response: articles={}, executionTime={}ms, fromCache={}, offlineMode={}", 
-                              response.getArticles().size(), response.getExecutionTimeMs(), 
-                              response.isFromCache(), response.isOfflineMode());
-                })
-                .map(ResponseEntity::ok);
+        // Unchanged cached result: answer without admission, upstream calls or serialization
+        Mono<ResponseEntity<Object>> unchanged = ifNoneMatch == null ? Mono.empty()
+                : newsAggregatorService.cachedValidators(request)
+                        .map(cached -> cached.forProjection(projection))
+                        .filter(cached -> cached.matches(ifNoneMatch))
+                        .map(NewsController::notModified);
+        
+        return unchanged.switchIfEmpty(Mono.defer(() -> {
+            StageTimings timings = serverTiming ? new StageTimings() : StageTimings.NONE;
+            Mono<NewsSearchResponse> search = requestDeadline(timeout)
+                    .bound(admissionControlService.admit(request, RequestPriority.fromHeader(priority),
+                                                         () -> clusterRoutingService.searchNews(request, forwardedBy)),
+                           deadlineHeadroomMillis);
+            if (traceId != 0) {
+                search = search.doOnNext(response -> searchTracer.record(
+                        traceId, SearchTracer.Checkpoint.RESPONSE_READY, response.getArticles().size()));
+            }
+            return search
+                    .map(response -> conditionalResponse(request, response, projection, ifNoneMatch,
+                                                         accept, acceptEncoding, timings))
+                    .contextWrite(timings.asContext())
+                    .contextWrite(SearchTracer.context(traceId));
+        }));
     }
     
     @PostMapping("/search")
-    @Operation(summary = "Search news articles with POST", 
+    @Operation(summary = "Search news articles with POST",
                description = "Search and aggregate news using POST request body")
     public Mono<ResponseEntity<NewsSearchResponse>> searchNewsPost(
-            @Valid @RequestBody NewsSearchRequest request) {
+            @Valid @RequestBody NewsSearchRequest request,
+            @Parameter(hidden = true)
+            @RequestHeader(value = ClusterRoutingService.FORWARDED_HEADER, required = false) String forwardedBy,
+            @Parameter(description = "Request priority: interactive (default), prefetch or batch")
+            @RequestHeader(value = "X-Request-Priority", required = false) String priority,
+            @Parameter(description = "Milliseconds to wait for a result (default and maximum are configured)")
+            @RequestHeader(value = Deadline.HEADER, required = false) String timeout) {
+        
+        trendingKeywordService.record(request.getKeyword());
         
-        return newsAggregatorService.searchNews(request)
+        return requestDeadline(timeout)
+                .bound(admissionControlService.admit(request, RequestPriority.fromHeader(priority),
+                                                     () -> clusterRoutingService.searchNews(request, forwardedBy)),
+                       deadlineHeadroomMillis)
                 .map(ResponseEntity::ok);
     }
+    
+    // Served locally rather than forwarded to the keyword owner so events are
+    // not buffered by an intermediate hop
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream news search results",
+               description = "Server-Sent Events: cached or offline results first, then one batch per provider, "
+                             + "then a summary event with pagination metadata")
+    public Flux<ServerSentEvent<NewsStreamEvent>> streamNews(
+            @Parameter(description = "Search keyword", required = true)
+            @RequestParam String keyword,
+            
+            @Parameter(description = "Page number (default: 1)")
+            @RequestParam(defaultValue = "1") int page,
+            
+            @Parameter(description = "Page size (default: 10)")
+            @RequestParam(defaultValue = "10") int pageSize,
+            
+            @Parameter(description = "Enable offline mode")
+            @RequestParam(defaultValue = "false") boolean offlineMode,
+            
+            @Parameter(description = "Request priority: interactive (default), prefetch or batch")
+            @RequestHeader(value = "X-Request-Priority", required = false) String priority,
+            
+            @Parameter(description = "Milliseconds to wait for a result (default and maximum are configured)")
+            @RequestHeader(value = Deadline.HEADER, required = false) String timeout) {
+        
+        NewsSearchRequest request = NewsSearchRequest.builder()
+                .keyword(keyword)
+                .page(page)
+                .pageSize(pageSize)
+                .offlineMode(offlineMode)
+                .build();
+        
+        trendingKeywordService.record(keyword);
+        
+        return admissionControlService.admitStream(request, RequestPriority.fromHeader(priority),
+                                                   () -> newsAggregatorService.streamNews(request))
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name().toLowerCase())
+                        .build())
+                .contextWrite(requestDeadline(timeout).asContext());
+    }
+    
+    @PostMapping(value = "/search/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Batch search",
+               description = "Runs many searches in one call; duplicates are coalesced and results keep request order")
+    public Mono<ResponseEntity<List<BatchSearchResult>>> searchBatch(@RequestBody List<NewsSearchRequest> requests) {
+        recordKeywords(requests);
+        return batchSearchService.searchAll(requests)
+                .map(ResponseEntity::ok);
+    }
+    
+    @PostMapping(value = "/search/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Streamed batch search",
+               description = "Same as the batch search, but emits one NDJSON line per result as soon as it is ready")
+    public Flux<BatchSearchResult> searchBatchStream(@RequestBody List<NewsSearchRequest> requests) {
+        recordKeywords(requests);
+        return batchSearchService.searchStream(requests);
+    }
+    
+    // The owning replica may have had the result cached when this one did not.
+    // JSON is written here so serialization shows up in the stage timings;
+    // cache hits reuse encoded bodies, gzipped when the client accepts it.
+    // Other media types, e.g. CBOR, are left to content negotiation.
+    private ResponseEntity<Object> conditionalResponse(NewsSearchRequest request, NewsSearchResponse response,
+                                                       FieldProjection projection, String ifNoneMatch,
+                                                       String accept, String acceptEncoding, StageTimings timings) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        String etag = null;
+        if (!response.isOfflineMode()) {
+            ResponseValidators validators = ResponseValidators.of(response).forProjection(projection);
+            if (validators.matches(ifNoneMatch)) {
+                return notModified(validators);
+            }
+            withValidators(ok, validators);
+            etag = validators.getEtag();
+        }
+        if (projection.isAll() && !acceptsJson(accept)) {
+            return withServerTiming(ok, timings).body(response);
+        }
+        
+        boolean reusable = etag != null && response.isFromCache();
+        long serializeStart = System.nanoTime();
+        long allocationMark = searchMetrics.allocationMark(SearchMetrics.SERIALIZE);
+        byte[] gzipped = reusable && CompressedResponseCache.acceptsGzip(acceptEncoding)
+                ? compressedResponseCache.gzipJson(request, projection, etag, response)
+                : null;
+        byte[] body = gzipped != null ? gzipped
+                : reusable ? compressedResponseCache.json(request, projection, etag, response)
+                : projectedResponseWriter.write(response, projection);
+        searchMetrics.allocated(SearchMetrics.SERIALIZE, allocationMark);
+        searchMetrics.serialize(System.nanoTime() - serializeStart, timings);
+        
+        ok.contentType(MediaType.APPLICATION_JSON);
+        if (gzipped != null) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return withServerTiming(ok, timings).body(body);
+    }
+    
+    private static boolean acceptsJson(String accept) {
+        return accept == null || accept.contains(MediaType.APPLICATION_JSON_VALUE) || accept.contains("*/*");
+    }
+    
+    private static ResponseEntity.BodyBuilder withServerTiming(ResponseEntity.BodyBuilder builder,
+                                                               StageTimings timings) {
+        if (timings.isRecording()) {
+            builder.header("Server-Timing", timings.toServerTiming());
+        }
+        return builder;
+    }
+    
+    private static ResponseEntity<Object> notModified(ResponseValidators validators) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), validators).build();
+    }
+    
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder,
+                                                             ResponseValidators validators) {
+        builder.eTag(validators.getEtag());
+        if (validators.getLastModified() > 0) {
+            builder.lastModified(validators.getLastModified());
+        }
+        return builder;
+    }
+    
+    // Work still in flight when it passes is cancelled, as it is when the
+    // client disconnects
+    private Deadline requestDeadline(String timeout) {
+        return Deadline.fromHeader(timeout, defaultDeadlineMillis, maxDeadlineMillis, System.nanoTime());
+    }
+    
+    private void recordKeywords(List<NewsSearchRequest> requests) {
+        for (NewsSearchRequest request : requests) {
+            if (request != null && request.getKeyword() != null) {
+                trendingKeywordService.record(request.getKeyword());
+            }
+        }
+    }
 }
\ No newline at end of file
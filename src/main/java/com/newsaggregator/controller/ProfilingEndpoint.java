@@ -0,0 +1,70 @@
+package com.newsaggregator.controller;
+
+import com.newsaggregator.service.JvmProfilingService;
+import com.newsaggregator.service.SearchMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// /actuator/profiling reports sampled allocation per search stage, recent GC
+// pauses and heap occupancy; POST {"durationSeconds": 60} to it starts a JFR
+// recording
+@Component
+@Endpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+    
+    private static final long DEFAULT_RECORDING_SECONDS = 60;
+    
+    private final SearchMetrics searchMetrics;
+    private final JvmProfilingService jvmProfilingService;
+    private final MeterRegistry meterRegistry;
+    
+    @ReadOperation
+    public Map<String, Object> profile() {
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("sampling", searchMetrics.isAllocationSampling());
+        allocation.put("sampleEvery", searchMetrics.getAllocationSampleEvery());
+        allocation.put("stages", allocationStages());
+        
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collectors", jvmProfilingService.collectors());
+        gc.put("recentPauses", jvmProfilingService.recentPauses());
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("allocation", allocation);
+        body.put("gc", gc);
+        body.put("heap", jvmProfilingService.heap());
+        body.put("recording", jvmProfilingService.recordingStatus());
+        return body;
+    }
+    
+    @WriteOperation
+    public Map<String, Object> record(@Nullable Long durationSeconds) {
+        return jvmProfilingService.startRecording(durationSeconds == null ? DEFAULT_RECORDING_SECONDS : durationSeconds);
+    }
+    
+    private List<Map<String, Object>> allocationStages() {
+        List<Map<String, Object>> stages = new ArrayList<>();
+        for (DistributionSummary summary : meterRegistry.find(SearchMetrics.ALLOCATION_SUMMARY).summaries()) {
+            Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("stage", summary.getId().getTag("stage"));
+            stage.put("provider", summary.getId().getTag("provider"));
+            stage.put("samples", summary.count());
+            stage.put("meanBytes", (long) summary.mean());
+            stage.put("maxBytes", (long) summary.max());
+            stages.add(stage);
+        }
+        return stages;
+    }
+}
\ No newline at end of file
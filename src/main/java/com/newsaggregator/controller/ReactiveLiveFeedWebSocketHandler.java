@@ -0,0 +1,61 @@
+package com.newsaggregator.controller;
+
+import com.newsaggregator.service.LiveFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Netty counterpart of LiveFeedWebSocketHandler. Each connection has a
+// bounded outbound queue; a client that lets it fill up is disconnected.
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLiveFeedWebSocketHandler implements WebSocketHandler {
+    
+    private final LiveFeedService liveFeedService;
+    
+    @Value("${news.live.send-queue-size:256}")
+    private int sendQueueSize;
+    
+    public ReactiveLiveFeedWebSocketHandler(LiveFeedService liveFeedService) {
+        this.liveFeedService = liveFeedService;
+    }
+    
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        Sinks.Many<String> outbound = Sinks.many().unicast()
+                .onBackpressureBuffer(new ArrayBlockingQueue<>(sendQueueSize));
+        Set<String> keywords = ConcurrentHashMap.newKeySet();
+        LiveFeedService.Subscriber subscriber = message -> {
+            // Feeds publish from different threads; the sink needs serialized emits
+            synchronized (outbound) {
+                if (outbound.tryEmitNext(message) == Sinks.EmitResult.FAIL_OVERFLOW) {
+                    outbound.tryEmitComplete();
+                    session.close(CloseStatus.POLICY_VIOLATION).subscribe();
+                }
+            }
+        };
+        
+        Mono<Void> input = session.receive()
+                .map(WebSocketMessage::getPayloadAsText)
+                .doOnNext(payload -> liveFeedService.handleCommand(payload, subscriber, keywords))
+                .doFinally(signal -> {
+                    liveFeedService.closeSession(subscriber, keywords);
+                    synchronized (outbound) {
+                        outbound.tryEmitComplete();
+                    }
+                })
+                .then();
+        Mono<Void> output = session.send(outbound.asFlux().map(session::textMessage));
+        return Mono.when(input, output);
+    }
+}
\ No newline at end of file
@@ -1,19 +1,26 @@
 package com.newsaggregator.controller;
 
 import com.newsaggregator.entity.NewsArticleEntity;
+import com.newsaggregator.service.BlockingWorkScheduler;
 import com.newsaggregator.service.HibernateSearchService;
+import com.newsaggregator.util.Deadline;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/v1/search")
@@ -21,46 +28,80 @@ import java.util.List;
 @Tag(name = "Search", description = "Advanced search operations using Hibernate Search")
 public class SearchController {
     
+    private static final LocalDate EARLIEST_PUBLISH_DAY = LocalDate.of(1970, 1, 1);
+    
     private final HibernateSearchService hibernateSearchService;
+    private final BlockingWorkScheduler blockingWorkScheduler;
+    
+    @Value("${news.deadline.default-ms:8000}")
+    private long defaultDeadlineMillis;
+    
+    @Value("${news.deadline.max-ms:30000}")
+    private long maxDeadlineMillis;
     
     @GetMapping("/fulltext")
-    @Operation(summary = "Full-text search", description = "Performs full-text search across news articles")
+    @Operation(summary = "Full-text search",
+               description = "Performs full-text search across news articles, optionally within a publish-date range")
     @ApiResponse(responseCode = "200", description = "Search completed successfully")
-    public ResponseEntity<List<NewsArticleEntity>> fullTextSearch(
-            @Parameter(description = "Search term") 
+    public Mono<ResponseEntity<List<NewsArticleEntity>>> fullTextSearch(
+            @Parameter(description = "Search term")
             @RequestParam @NotBlank String term,
             @Parameter(description = "Maximum number of results")
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int maxResults) {
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int maxResults,
+            @Parameter(description = "Published on or after this day, yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Published on or before this day, yyyy-MM-dd (default: today)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Milliseconds to wait for a result (default and maximum are configured)")
+            @RequestHeader(value = Deadline.HEADER, required = false) String timeout) {
         
-        List<NewsArticleEntity> results = hibernateSearchService.searchArticles(term, maxResults);
-        return ResponseEntity.ok(results);
+        if (from == null && to == null) {
+            return search(timeout, deadline -> hibernateSearchService.searchArticles(term, maxResults, deadline));
+        }
+        // A date range only searches the matching publish-day partitions
+        LocalDate start = from != null ? from : EARLIEST_PUBLISH_DAY;
+        LocalDate end = to != null ? to : LocalDate.now();
+        return search(timeout, deadline -> hibernateSearchService.searchArticlesPublishedBetween(
+                term, start, end, maxResults, deadline));
     }
     
     @GetMapping("/fuzzy")
     @Operation(summary = "Fuzzy search", description = "Performs fuzzy search with typo tolerance")
     @ApiResponse(responseCode = "200", description = "Fuzzy search completed successfully")
-    public ResponseEntity<List<NewsArticleEntity>> fuzzySearch(
-            @Parameter(description = "Search term") 
+    public Mono<ResponseEntity<List<NewsArticleEntity>>> fuzzySearch(
+            @Parameter(description = "Search term")
             @RequestParam @NotBlank String term,
             @Parameter(description = "Maximum number of results")
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int maxResults) {
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int maxResults,
+            @Parameter(description = "Milliseconds to wait for a result (default and maximum are configured)")
+            @RequestHeader(value = Deadline.HEADER, required = false) String timeout) {
         
-        List<NewsArticleEntity> results = hibernateSearchService.fuzzySearchArticles(term, maxResults);
-        return ResponseEntity.ok(results);
+        return search(timeout, deadline -> hibernateSearchService.fuzzySearchArticles(term, maxResults, deadline));
     }
     
     @GetMapping("/by-source")
     @Operation(summary = "Search by source", description = "Searches articles from specific news source")
     @ApiResponse(responseCode = "200", description = "Source-based search completed successfully")
-    public ResponseEntity<List<NewsArticleEntity>> searchBySource(
-            @Parameter(description = "News source") 
+    public Mono<ResponseEntity<List<NewsArticleEntity>>> searchBySource(
+            @Parameter(description = "News source")
             @RequestParam @NotBlank String source,
-            @Parameter(description = "Search keyword") 
+            @Parameter(description = "Search keyword")
             @RequestParam @NotBlank String keyword,
             @Parameter(description = "Maximum number of results")
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int maxResults) {
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int maxResults,
+            @Parameter(description = "Milliseconds to wait for a result (default and maximum are configured)")
+            @RequestHeader(value = Deadline.HEADER, required = false) String timeout) {
         
-        List<NewsArticleEntity> results = hibernateSearchService.searchBySourceAndKeyword(source, keyword, maxResults);
-        return ResponseEntity.ok(results);
+        return search(timeout,
+                      deadline -> hibernateSearchService.searchBySourceAndKeyword(source, keyword, maxResults, deadline));
+    }
+    
+    // The query runs under the request's deadline, and is dropped from the
+    // queue or interrupted when the deadline passes or the client disconnects
+    private <T> Mono<ResponseEntity<T>> search(String timeout, Function<Deadline, T> query) {
+        Deadline deadline = Deadline.fromHeader(timeout, defaultDeadlineMillis, maxDeadlineMillis, System.nanoTime());
+        return deadline.enforce(blockingWorkScheduler.call(() -> query.apply(deadline)))
+                .contextWrite(deadline.asContext())
+                .map(ResponseEntity::ok);
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.newsaggregator.controller;
+
+import com.newsaggregator.service.SearchTracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// /actuator/searchtrace lists recently sampled searches;
+// /actuator/searchtrace/{traceId} dumps one search's checkpoints
+@Component
+@Endpoint(id = "searchtrace")
+@RequiredArgsConstructor
+public class SearchTraceEndpoint {
+    
+    private final SearchTracer searchTracer;
+    
+    @ReadOperation
+    public Map<String, Object> recent() {
+        List<Map<String, Object>> traces = new ArrayList<>();
+        for (Map.Entry<Long, String> trace : searchTracer.recent().entrySet()) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("traceId", trace.getKey());
+            summary.put("keyword", trace.getValue());
+            traces.add(summary);
+        }
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", searchTracer.isEnabled());
+        body.put("traces", traces);
+        return body;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> trace(@Selector long traceId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("traceId", traceId);
+        body.put("keyword", searchTracer.keyword(traceId));
+        body.put("events", searchTracer.events(traceId));
+        return body;
+    }
+}
\ No newline at end of file
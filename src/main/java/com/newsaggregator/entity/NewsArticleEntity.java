@@ -4,24 +4,34 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.newsaggregator.util.PublishPartitions;
+import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.bridge.mapping.annotation.RoutingBinderRef;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "news_articles")
-@Indexed
+@Table(name = "news_articles", indexes = {
+        @Index(name = "idx_news_articles_published_day", columnList = "published_day"),
+        @Index(name = "idx_news_articles_source_day", columnList = "source, published_day")
+})
+@Indexed(routingBinder = @RoutingBinderRef(type = PublishDayRoutingBinder.class))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class NewsArticleEntity {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_article_seq")
+    @SequenceGenerator(name = "news_article_seq", sequenceName = "news_article_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true)
@@ -40,8 +50,13 @@ public class NewsArticleEntity {
     @KeywordField
     private String source;
     
+    @GenericField(sortable = Sortable.YES)
     private LocalDateTime publishedAt;
     
+    // Partition key: publish day, derived from publishedAt
+    @Column(name = "published_day")
+    private LocalDate publishedDay;
+    
     private String imageUrl;
     
     @FullTextField
@@ -61,10 +76,12 @@ public class NewsArticleEntity {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        publishedDay = PublishPartitions.partitionOf(publishedAt);
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        publishedDay = PublishPartitions.partitionOf(publishedAt);
     }
 }
\ No newline at end of file
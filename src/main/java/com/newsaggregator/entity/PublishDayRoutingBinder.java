@@ -0,0 +1,35 @@
+package com.newsaggregator.entity;
+
+import com.newsaggregator.util.PublishPartitions;
+import org.hibernate.search.mapper.pojo.bridge.RoutingBridge;
+import org.hibernate.search.mapper.pojo.bridge.binding.RoutingBindingContext;
+import org.hibernate.search.mapper.pojo.bridge.mapping.programmatic.RoutingBinder;
+import org.hibernate.search.mapper.pojo.bridge.runtime.RoutingBridgeRouteContext;
+import org.hibernate.search.mapper.pojo.route.DocumentRoutes;
+
+public class PublishDayRoutingBinder implements RoutingBinder {
+    
+    @Override
+    public void bind(RoutingBindingContext context) {
+        context.dependencies().use("publishedAt");
+        context.bridge(NewsArticleEntity.class, new Bridge());
+    }
+    
+    // Routes each document by its publish day so date-bounded searches and
+    // retention purges only touch the matching index partitions
+    public static class Bridge implements RoutingBridge<NewsArticleEntity> {
+        
+        @Override
+        public void route(DocumentRoutes routes, Object entityIdentifier, NewsArticleEntity indexedEntity,
+                          RoutingBridgeRouteContext context) {
+            routes.addRoute().routingKey(PublishPartitions.routingKey(indexedEntity.getPublishedAt()));
+        }
+        
+        @Override
+        public void previousRoutes(DocumentRoutes routes, Object entityIdentifier, NewsArticleEntity indexedEntity,
+                                   RoutingBridgeRouteContext context) {
+            // The publish day is treated as immutable once an article is stored
+            routes.addRoute().routingKey(PublishPartitions.routingKey(indexedEntity.getPublishedAt()));
+        }
+    }
+}
\ No newline at end of file
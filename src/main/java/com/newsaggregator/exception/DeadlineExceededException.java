@@ -0,0 +1,9 @@
+package com.newsaggregator.exception;
+
+// The request's deadline passed before it could be answered
+public class DeadlineExceededException extends RuntimeException {
+    
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
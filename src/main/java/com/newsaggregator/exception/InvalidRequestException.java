@@ -0,0 +1,9 @@
+package com.newsaggregator.exception;
+
+// Client input that is well-formed but not acceptable; mapped to 400
+public class InvalidRequestException extends RuntimeException {
+    
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.newsaggregator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleUpsertResult {
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private long executionTimeMs;
+}
\ No newline at end of file
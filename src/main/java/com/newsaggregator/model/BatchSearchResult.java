@@ -0,0 +1,20 @@
+package com.newsaggregator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result for one entry of a batch search; index is its position in the request
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSearchResult {
+    private int index;
+    private String keyword;
+    private NewsSearchResponse response;
+    private String error;
+}
\ No newline at end of file
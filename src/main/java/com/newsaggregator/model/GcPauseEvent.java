@@ -0,0 +1,23 @@
+package com.newsaggregator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One garbage collection as reported by the profiling endpoint. startMillis is
+// JVM uptime; heap figures are summed over the heap pools.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GcPauseEvent {
+    
+    private String collector;
+    private String action;
+    private String cause;
+    private long startMillis;
+    private long durationMillis;
+    private long heapBeforeBytes;
+    private long heapAfterBytes;
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.newsaggregator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Server-to-client message on the live feed socket. A delta carries the
+// articles numbered up to seq; clients resume by subscribing with lastSeq.
+// reset is set when the requested lastSeq fell out of the retained history.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveFeedMessage {
+    private String type;
+    private String keyword;
+    private Long seq;
+    private Boolean reset;
+    private List<NewsArticle> articles;
+    private String error;
+}
\ No newline at end of file
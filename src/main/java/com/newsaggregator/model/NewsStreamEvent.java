@@ -0,0 +1,31 @@
+package com.newsaggregator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One event of a streamed search: a batch of articles from the cache, offline
+// data or a single provider, or the closing summary with pagination metadata
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewsStreamEvent {
+    
+    public enum Type {
+        CACHED,
+        OFFLINE,
+        PROVIDER,
+        SUMMARY
+    }
+    
+    private Type type;
+    private String source;
+    private List<NewsArticle> articles;
+    private NewsSearchResponse summary;
+}
\ No newline at end of file
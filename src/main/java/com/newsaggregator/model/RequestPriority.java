@@ -0,0 +1,21 @@
+package com.newsaggregator.model;
+
+// Admission priority of a search, sent in the X-Request-Priority header.
+// Lower classes may only use part of the concurrency limit and are shed first.
+public enum RequestPriority {
+    INTERACTIVE,
+    PREFETCH,
+    BATCH;
+    
+    public static RequestPriority fromHeader(String value) {
+        if (value == null) {
+            return INTERACTIVE;
+        }
+        for (RequestPriority priority : values()) {
+            if (priority.name().equalsIgnoreCase(value.trim())) {
+                return priority;
+            }
+        }
+        return INTERACTIVE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.newsaggregator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One checkpoint of a sampled search as dumped by the searchtrace endpoint.
+// offsetMicros is relative to the request's first event; value is an article
+// count where the checkpoint has one, otherwise 0.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchTraceEvent {
+    
+    private String checkpoint;
+    private String thread;
+    private long offsetMicros;
+    private long value;
+}
\ No newline at end of file
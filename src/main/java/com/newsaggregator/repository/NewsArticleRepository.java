@@ -1,35 +1,57 @@
 package com.newsaggregator.repository;
 
 import com.newsaggregator.entity.NewsArticleEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface NewsArticleRepository extends JpaRepository<NewsArticleEntity, Long> {
+public interface NewsArticleRepository extends JpaRepository<NewsArticleEntity, Long>, NewsArticleSearchRepository {
     
     Optional<NewsArticleEntity> findByArticleId(String articleId);
     
-    Page<NewsArticleEntity> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            String title, String description, Pageable pageable);
+    List<NewsArticleEntity> findByArticleIdIn(Collection<String> articleIds);
     
-    @Query("SELECT n FROM NewsArticleEntity n WHERE " +
-           "LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(n.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(n.author) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<NewsArticleEntity> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    // Date-bounded queries also constrain the partition key so only the matching
+    // publish-day range of idx_news_articles_* is scanned
+    default List<NewsArticleEntity> findBySourceAndPublishedAtAfter(String source, LocalDateTime publishedAfter) {
+        return findBySourceInPartitionsSince(source, publishedAfter.toLocalDate(), publishedAfter);
+    }
     
-    List<NewsArticleEntity> findBySourceAndPublishedAtAfter(String source, LocalDateTime publishedAfter);
+    default long countArticlesSince(LocalDateTime startDate) {
+        return countInPartitionsSince(startDate.toLocalDate(), startDate);
+    }
     
-    @Query("SELECT COUNT(n) FROM NewsArticleEntity n WHERE n.publishedAt >= :startDate")
-    long countArticlesSince(@Param("startDate") LocalDateTime startDate);
+    @Query("SELECT n FROM NewsArticleEntity n WHERE n.source = :source " +
+           "AND n.publishedDay >= :fromDay AND n.publishedAt > :publishedAfter")
+    List<NewsArticleEntity> findBySourceInPartitionsSince(@Param("source") String source,
+                                                          @Param("fromDay") LocalDate fromDay,
+                                                          @Param("publishedAfter") LocalDateTime publishedAfter);
     
-    void deleteByPublishedAtBefore(LocalDateTime cutoffDate);
+    @Query("SELECT COUNT(n) FROM NewsArticleEntity n WHERE n.publishedDay >= :fromDay AND n.publishedAt >= :startDate")
+    long countInPartitionsSince(@Param("fromDay") LocalDate fromDay, @Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT DISTINCT n.publishedDay FROM NewsArticleEntity n WHERE n.publishedDay < :cutoffDay")
+    List<LocalDate> findPartitionsBefore(@Param("cutoffDay") LocalDate cutoffDay);
+    
+    // Drops a whole publish-day partition with a single bulk statement. Bulk
+    // deletes bypass Hibernate Search, so go through ArticleRetentionService,
+    // which also purges the partition from the index.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NewsArticleEntity n WHERE n.publishedDay = :day")
+    int deletePartition(@Param("day") LocalDate day);
+    
+    // Derived delete: removes entity by entity, so the index follows
+    @Transactional
+    long deleteByPublishedDayAndPublishedAtBefore(LocalDate day, LocalDateTime cutoffDate);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.newsaggregator.repository;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+// Keyword lookups served by the Lucene index instead of LIKE '%kw%' table scans
+public interface NewsArticleSearchRepository {
+    
+    Page<NewsArticleEntity> searchByKeyword(String keyword, Pageable pageable);
+    
+    Page<NewsArticleEntity> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+            String title, String description, Pageable pageable);
+}
\ No newline at end of file
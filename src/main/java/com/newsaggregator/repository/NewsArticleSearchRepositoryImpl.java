@@ -0,0 +1,81 @@
+package com.newsaggregator.repository;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.engine.search.sort.dsl.CompositeSortComponentsStep;
+import org.hibernate.search.engine.search.sort.dsl.SearchSortFactory;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class NewsArticleSearchRepositoryImpl implements NewsArticleSearchRepository {
+    
+    private static final String SORTABLE_FIELD = "publishedAt";
+    
+    private final EntityManager entityManager;
+    
+    @Override
+    public Page<NewsArticleEntity> searchByKeyword(String keyword, Pageable pageable) {
+        return fetchPage(f -> f.bool()
+                .should(f.match().field("title").matching(keyword))
+                .should(f.match().field("description").matching(keyword))
+                .should(f.match().field("author").matching(keyword)),
+                pageable);
+    }
+    
+    @Override
+    public Page<NewsArticleEntity> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
+            String title, String description, Pageable pageable) {
+        return fetchPage(f -> f.bool()
+                .should(f.match().field("title").matching(title))
+                .should(f.match().field("description").matching(description)),
+                pageable);
+    }
+    
+    private Page<NewsArticleEntity> fetchPage(Function<SearchPredicateFactory, PredicateFinalStep> predicate,
+                                              Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<NewsArticleEntity> hits = Search.session(entityManager)
+                    .search(NewsArticleEntity.class)
+                    .where(predicate)
+                    .sort(f -> toIndexSort(f, Sort.unsorted()))
+                    .fetchAllHits();
+            return new PageImpl<>(hits, pageable, hits.size());
+        }
+        
+        SearchResult<NewsArticleEntity> result = Search.session(entityManager)
+                .search(NewsArticleEntity.class)
+                .where(predicate)
+                .sort(f -> toIndexSort(f, pageable.getSort()))
+                .fetch(Math.toIntExact(pageable.getOffset()), pageable.getPageSize());
+        
+        return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+    }
+    
+    private CompositeSortComponentsStep<?> toIndexSort(SearchSortFactory f, Sort sort) {
+        CompositeSortComponentsStep<?> composite = f.composite();
+        if (sort.isUnsorted()) {
+            return composite.add(f.score().desc()).add(f.field(SORTABLE_FIELD).desc());
+        }
+        
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_FIELD.equals(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property for indexed search: " + order.getProperty());
+            }
+            composite.add(order.isAscending() ? f.field(SORTABLE_FIELD).asc() : f.field(SORTABLE_FIELD).desc());
+        }
+        return composite;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.ServiceOverloadedException;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.RequestPriority;
+import com.newsaggregator.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Admission control for searches that miss the cache. Concurrency is capped by
+// an adaptive limit driven by observed latency; prefetch and batch traffic may
+// only use a share of it so they are shed before interactive requests.
+@Service
+public class AdmissionControlService {
+    
+    private final CacheService cacheService;
+    private final MeterRegistry meterRegistry;
+    
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+    private AdaptiveConcurrencyLimit limit;
+    
+    @Value("${news.admission.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${news.admission.initial-limit:20}")
+    private int initialLimit;
+    
+    @Value("${news.admission.min-limit:4}")
+    private int minLimit;
+    
+    @Value("${news.admission.max-limit:200}")
+    private int maxLimit;
+    
+    @Value("${news.admission.prefetch-share:0.75}")
+    private double prefetchShare;
+    
+    @Value("${news.admission.batch-share:0.5}")
+    private double batchShare;
+    
+    @Value("${news.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+    
+    public AdmissionControlService(CacheService cacheService, MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    public void init() {
+        limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        Gauge.builder("news.admission.limit", this, service -> service.limit.getLimit())
+                .description("Current adaptive concurrency limit for searches")
+                .register(meterRegistry);
+        Gauge.builder("news.admission.inflight", inflight, AtomicInteger::get)
+                .description("Searches currently admitted")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("news.admission.rejected")
+                    .description("Searches shed by admission control")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    // Local (L1) cache hits bypass the limit; everything else needs a slot or fails fast
+    // with ServiceOverloadedException
+    public <T> Mono<T> admit(NewsSearchRequest request, RequestPriority priority, Supplier<Mono<T>> search) {
+        return Mono.defer(() -> {
+            if (bypassesLimit(request)) {
+                return search.get();
+            }
+            
+            Permit permit = acquire(priority);
+            if (permit == null) {
+                return Mono.error(overloaded());
+            }
+            return Mono.defer(search)
+                    .doOnSuccess(result -> permit.sample(false))
+                    .doOnError(error -> permit.sample(true))
+                    .doFinally(signal -> permit.release());
+        });
+    }
+    
+    // Streaming variant; the slot is held until the stream terminates
+    public <T> Flux<T> admitStream(NewsSearchRequest request, RequestPriority priority, Supplier<Flux<T>> search) {
+        return Flux.defer(() -> {
+            if (bypassesLimit(request)) {
+                return search.get();
+            }
+            
+            Permit permit = acquire(priority);
+            if (permit == null) {
+                return Flux.error(overloaded());
+            }
+            return Flux.defer(search)
+                    .doOnComplete(() -> permit.sample(false))
+                    .doOnError(error -> permit.sample(true))
+                    .doFinally(signal -> permit.release());
+        });
+    }
+    
+    public int currentLimit() {
+        return limit.getLimit();
+    }
+    
+    public int inflight() {
+        return inflight.get();
+    }
+    
+    private Permit acquire(RequestPriority priority) {
+        int allowed = (int) Math.max(1, Math.floor(limit.getLimit() * share(priority)));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return null;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+    
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Search capacity exhausted, retry later", retryAfterSeconds);
+    }
+    
+    private double share(RequestPriority priority) {
+        switch (priority) {
+            case BATCH:
+                return batchShare;
+            case PREFETCH:
+                return prefetchShare;
+            default:
+                return 1.0;
+        }
+    }
+    
+    private boolean bypassesLimit(NewsSearchRequest request) {
+        return !enabled || request.isOfflineMode() || cacheService.isCachedLocally(cacheService.generateKey(
+                request.getKeyword(), request.getPage(), request.getPageSize()));
+    }
+    
+    private class Permit {
+        private final long start = System.nanoTime();
+        private final int startInflight;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        Permit(int startInflight) {
+            this.startInflight = startInflight;
+        }
+        
+        void sample(boolean dropped) {
+            limit.onSample(System.nanoTime() - start, startInflight, dropped);
+        }
+        
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                inflight.decrementAndGet();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.repository.NewsArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleRetentionService {
+    
+    private final NewsArticleRepository newsArticleRepository;
+    private final HibernateSearchService hibernateSearchService;
+    
+    @Value("${news.retention.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${news.retention.horizon-days:30}")
+    private int horizonDays;
+    
+    @Scheduled(cron = "${news.retention.cron:0 15 3 * * *}")
+    public void applyRetention() {
+        if (!enabled) {
+            return;
+        }
+        dropPartitionsBefore(LocalDate.now().minusDays(horizonDays));
+    }
+    
+    // Whole expired days go as partitions; the rest of the cutoff day is
+    // deleted entity by entity so the index drops those articles too
+    public void deletePublishedBefore(LocalDateTime cutoffDate) {
+        LocalDate cutoffDay = cutoffDate.toLocalDate();
+        dropPartitionsBefore(cutoffDay);
+        newsArticleRepository.deleteByPublishedDayAndPublishedAtBefore(cutoffDay, cutoffDate);
+    }
+    
+    // Retention works on whole publish-day partitions: one bulk delete per expired
+    // day in the database and one routing-key purge in the search index
+    public int dropPartitionsBefore(LocalDate cutoffDay) {
+        List<LocalDate> expiredPartitions = newsArticleRepository.findPartitionsBefore(cutoffDay);
+        
+        long deletedRows = 0;
+        for (LocalDate day : expiredPartitions) {
+            deletedRows += newsArticleRepository.deletePartition(day);
+            hibernateSearchService.purgePartition(day);
+        }
+        
+        if (!expiredPartitions.isEmpty()) {
+            log.info("Retention dropped {} partitions before {} ({} articles)",
+                     expiredPartitions.size(), cutoffDay, deletedRows);
+        }
+        return expiredPartitions.size();
+    }
+}
\ No newline at end of file
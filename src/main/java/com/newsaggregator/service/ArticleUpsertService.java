@@ -0,0 +1,117 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import com.newsaggregator.model.ArticleUpsertResult;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.repository.NewsArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleUpsertService {
+    
+    private final NewsArticleRepository newsArticleRepository;
+    private final EntityManager entityManager;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
+    // Upserts keyed on articleId. Each chunk costs one IN lookup plus batched
+    // INSERT/UPDATE statements, then the session is flushed and cleared.
+    @Transactional
+    public ArticleUpsertResult upsertAll(List<NewsArticle> articles) {
+        long startTime = System.currentTimeMillis();
+        
+        // Last occurrence wins when the same article appears twice in one call
+        Map<String, NewsArticle> articlesById = new LinkedHashMap<>();
+        for (NewsArticle article : articles) {
+            if (article.getId() != null) {
+                articlesById.put(article.getId(), article);
+            }
+        }
+        
+        List<String> articleIds = new ArrayList<>(articlesById.keySet());
+        SearchSession searchSession = Search.session(entityManager);
+        int inserted = 0;
+        int updated = 0;
+        
+        for (int from = 0; from < articleIds.size(); from += batchSize) {
+            List<String> chunk = articleIds.subList(from, Math.min(from + batchSize, articleIds.size()));
+            
+            Map<String, NewsArticleEntity> existing = new HashMap<>();
+            for (NewsArticleEntity entity : newsArticleRepository.findByArticleIdIn(chunk)) {
+                existing.put(entity.getArticleId(), entity);
+            }
+            
+            for (String articleId : chunk) {
+                NewsArticle article = articlesById.get(articleId);
+                NewsArticleEntity entity = existing.get(articleId);
+                if (entity == null) {
+                    entityManager.persist(toEntity(article));
+                    inserted++;
+                } else if (applyChanges(article, entity)) {
+                    updated++;
+                }
+            }
+            
+            entityManager.flush();
+            searchSession.indexingPlan().execute();
+            entityManager.clear();
+        }
+        
+        ArticleUpsertResult result = ArticleUpsertResult.builder()
+                .inserted(inserted)
+                .updated(updated)
+                .unchanged(articleIds.size() - inserted - updated)
+                .executionTimeMs(System.currentTimeMillis() - startTime)
+                .build();
+        log.info("Bulk upsert of {} articles: {}", articleIds.size(), result);
+        return result;
+    }
+    
+    private NewsArticleEntity toEntity(NewsArticle article) {
+        return NewsArticleEntity.builder()
+                .articleId(article.getId())
+                .title(article.getTitle())
+                .description(article.getDescription())
+                .url(article.getUrl())
+                .source(article.getSource())
+                .publishedAt(article.getPublishedAt())
+                .imageUrl(article.getImageUrl())
+                .author(article.getAuthor())
+                .section(article.getSection())
+                .build();
+    }
+    
+    // publishedAt is left as stored: it is the partition key (see PublishDayRoutingBinder)
+    private boolean applyChanges(NewsArticle article, NewsArticleEntity entity) {
+        if (Objects.equals(article.getTitle(), entity.getTitle())
+                && Objects.equals(article.getDescription(), entity.getDescription())
+                && Objects.equals(article.getUrl(), entity.getUrl())
+                && Objects.equals(article.getSource(), entity.getSource())
+                && Objects.equals(article.getImageUrl(), entity.getImageUrl())
+                && Objects.equals(article.getAuthor(), entity.getAuthor())
+                && Objects.equals(article.getSection(), entity.getSection())) {
+            return false;
+        }
+        
+        entity.setTitle(article.getTitle());
+        entity.setDescription(article.getDescription());
+        entity.setUrl(article.getUrl());
+        entity.setSource(article.getSource());
+        entity.setImageUrl(article.getImageUrl());
+        entity.setAuthor(article.getAuthor());
+        entity.setSection(article.getSection());
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.InvalidRequestException;
+import com.newsaggregator.model.BatchSearchResult;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.RequestPriority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs many searches in one call. Identical requests are coalesced, cache hits
+// are answered immediately and the remaining fetches from all concurrent
+// batches share one bounded upstream pipeline. Each fetch is admitted at BATCH
+// priority and routed to the keyword's owner like a single search.
+@Service
+@Slf4j
+public class BatchSearchService {
+    
+    private final ClusterRoutingService clusterRoutingService;
+    private final AdmissionControlService admissionControlService;
+    private final CacheService cacheService;
+    
+    private final Sinks.Many<FetchTask> fetchQueue = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable fetchPipeline;
+    
+    @Value("${news.batch.max-size:100}")
+    private int maxBatchSize;
+    
+    @Value("${news.batch.max-concurrency:8}")
+    private int maxConcurrency;
+    
+    public BatchSearchService(ClusterRoutingService clusterRoutingService,
+                              AdmissionControlService admissionControlService, CacheService cacheService) {
+        this.clusterRoutingService = clusterRoutingService;
+        this.admissionControlService = admissionControlService;
+        this.cacheService = cacheService;
+    }
+    
+    @PostConstruct
+    public void start() {
+        fetchPipeline = fetchQueue.asFlux()
+                .flatMap(FetchTask::run, maxConcurrency)
+                .subscribe();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (fetchPipeline != null) {
+            fetchPipeline.dispose();
+        }
+    }
+    
+    // Results in request order
+    public Mono<List<BatchSearchResult>> searchAll(List<NewsSearchRequest> requests) {
+        return searchStream(requests)
+                .collectSortedList(Comparator.comparingInt(BatchSearchResult::getIndex));
+    }
+    
+    // Results in completion order: local cache hits, answered while subscribing,
+    // first, then shared cache hits and fetches as they finish
+    public Flux<BatchSearchResult> searchStream(List<NewsSearchRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Flux.empty();
+        }
+        if (requests.size() > maxBatchSize) {
+            return Flux.error(new InvalidRequestException(
+                    "Batch size " + requests.size() + " exceeds the maximum of " + maxBatchSize));
+        }
+        
+        return Flux.defer(() -> {
+            Map<NewsSearchRequest, List<Integer>> positions = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                NewsSearchRequest request = requests.get(i);
+                if (request == null || request.getKeyword() == null || request.getKeyword().trim().isEmpty()
+                        || request.getPage() < 1 || request.getPageSize() < 1) {
+                    return Flux.error(new InvalidRequestException("Invalid search request at index " + i));
+                }
+                positions.computeIfAbsent(request, r -> new ArrayList<>()).add(i);
+            }
+            
+            List<Mono<List<BatchSearchResult>>> searches = new ArrayList<>(positions.size());
+            AtomicBoolean batchCancelled = new AtomicBoolean();
+            for (Map.Entry<NewsSearchRequest, List<Integer>> entry : positions.entrySet()) {
+                NewsSearchRequest request = entry.getKey();
+                Mono<NewsSearchResponse> cached = request.isOfflineMode() ? Mono.empty() : cacheService.lookup(
+                        cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize()));
+                searches.add(cached
+                        .map(response -> {
+                            response.setFromCache(true);
+                            return results(entry.getValue(), request, response, null);
+                        })
+                        .switchIfEmpty(Mono.defer(() -> enqueue(request, batchCancelled)
+                                .map(response -> results(entry.getValue(), request, response, null))
+                                .onErrorResume(error -> Mono.just(
+                                        results(entry.getValue(), request, null, error.getMessage()))))));
+            }
+            
+            log.debug("Batch of {} searches: {} unique", requests.size(), positions.size());
+            // Set before the fetches are cancelled one by one, so a slot freed by
+            // the first can't start one of the batch's queued fetches
+            return Flux.merge(searches)
+                    .flatMapIterable(list -> list)
+                    .doOnCancel(() -> batchCancelled.set(true));
+        });
+    }
+    
+    // Cancelling the returned Mono, e.g. when the caller disconnects, skips the
+    // fetch if it is still queued and cancels it if it is running
+    private Mono<NewsSearchResponse> enqueue(NewsSearchRequest request, AtomicBoolean batchCancelled) {
+        return Mono.create(sink -> {
+            FetchTask task = new FetchTask(request, sink, batchCancelled);
+            sink.onCancel(task::cancel);
+            Sinks.EmitResult result;
+            synchronized (fetchQueue) {
+                result = fetchQueue.tryEmitNext(task);
+            }
+            if (result.isFailure()) {
+                sink.error(new IllegalStateException("Batch fetch queue unavailable: " + result));
+            }
+        });
+    }
+    
+    private static List<BatchSearchResult> results(List<Integer> indexes, NewsSearchRequest request,
+                                                   NewsSearchResponse response, String error) {
+        List<BatchSearchResult> results = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            results.add(BatchSearchResult.builder()
+                    .index(index)
+                    .keyword(request.getKeyword())
+                    .response(response)
+                    .error(error)
+                    .build());
+        }
+        return results;
+    }
+    
+    private class FetchTask {
+        private final NewsSearchRequest request;
+        private final MonoSink<NewsSearchResponse> sink;
+        private final AtomicBoolean batchCancelled;
+        private final Sinks.One<Boolean> cancellation = Sinks.one();
+        private volatile boolean cancelled;
+        
+        FetchTask(NewsSearchRequest request, MonoSink<NewsSearchResponse> sink, AtomicBoolean batchCancelled) {
+            this.request = request;
+            this.sink = sink;
+            this.batchCancelled = batchCancelled;
+        }
+        
+        void cancel() {
+            cancelled = true;
+            cancellation.tryEmitValue(true);
+        }
+        
+        // Never errors, so one failed fetch can't stop the shared pipeline
+        Mono<Void> run() {
+            if (cancelled || batchCancelled.get()) {
+                return Mono.empty();
+            }
+            return admissionControlService.admit(request, RequestPriority.BATCH,
+                                                 () -> clusterRoutingService.searchNews(request, null))
+                    .takeUntilOther(cancellation.asMono())
+                    .doOnSuccess(sink::success)
+                    .doOnError(sink::error)
+                    .onErrorResume(error -> Mono.empty())
+                    .then();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.DeadlineExceededException;
+import com.newsaggregator.exception.ServiceOverloadedException;
+import com.newsaggregator.util.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Runs blocking JPA and Lucene work off the request threads, so slow queries
+// cannot starve the event loop or Reactor's shared boundedElastic scheduler.
+// In the default mode that is a dedicated bounded pool; in virtual-threads
+// mode (JDK 21+) every task gets its own virtual thread. Either way a
+// semaphore sized to the connection pool caps concurrent DB work, and callers
+// get ServiceOverloadedException instead of waiting indefinitely. Tasks still
+// waiting for a permit when the caller's Deadline passes are dropped.
+@Service
+@Slf4j
+public class BlockingWorkScheduler {
+    
+    public static final String MODE_BOUNDED_ELASTIC = "bounded-elastic";
+    public static final String MODE_VIRTUAL_THREADS = "virtual-threads";
+    
+    private Scheduler scheduler;
+    private ExecutorService virtualThreadExecutor;
+    private Semaphore dbPermits;
+    
+    @Value("${news.blocking.mode:bounded-elastic}")
+    private String mode;
+    
+    @Value("${news.blocking.thread-cap:32}")
+    private int threadCap;
+    
+    @Value("${news.blocking.queued-task-cap:1000}")
+    private int queuedTaskCap;
+    
+    @Value("${news.blocking.max-db-concurrency:10}")
+    private int maxDbConcurrency;
+    
+    @Value("${news.blocking.permit-timeout-ms:5000}")
+    private long permitTimeoutMillis;
+    
+    @Value("${news.blocking.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+    
+    @PostConstruct
+    public void start() {
+        dbPermits = new Semaphore(maxDbConcurrency, true);
+        if (MODE_VIRTUAL_THREADS.equalsIgnoreCase(mode)) {
+            virtualThreadExecutor = newVirtualThreadExecutor();
+            if (virtualThreadExecutor != null) {
+                scheduler = Schedulers.fromExecutorService(virtualThreadExecutor, "blocking-io-virtual");
+                log.info("Blocking work runs on virtual threads, DB concurrency capped at {}", maxDbConcurrency);
+                return;
+            }
+            log.warn("Virtual threads need JDK 21 or later, running blocking work on a bounded pool instead");
+        }
+        scheduler = Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "blocking-io", 60, true);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        scheduler.dispose();
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdownNow();
+        }
+    }
+    
+    public boolean isVirtual() {
+        return virtualThreadExecutor != null;
+    }
+    
+    public <T> Mono<T> call(Callable<T> task) {
+        return call(1, task);
+    }
+    
+    // connections is how many pooled DB connections the task holds at once
+    public <T> Mono<T> call(int connections, Callable<T> task) {
+        int permits = Math.max(1, Math.min(connections, maxDbConcurrency));
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.from(context);
+            return Mono.fromCallable(() -> withPermits(permits, deadline, task))
+                    .subscribeOn(scheduler)
+                    .onErrorMap(RejectedExecutionException.class, error -> overloaded());
+        });
+    }
+    
+    public Mono<Void> run(Runnable task) {
+        return run(1, task);
+    }
+    
+    public Mono<Void> run(int connections, Runnable task) {
+        return call(connections, () -> {
+            task.run();
+            return Boolean.TRUE;
+        }).then();
+    }
+    
+    private <T> T withPermits(int permits, Deadline deadline, Callable<T> task) throws Exception {
+        if (deadline.isExpired(System.nanoTime())) {
+            throw new DeadlineExceededException("Deadline passed while the task was queued");
+        }
+        // In nanoseconds, so a wait cut short by the deadline ends after it
+        long waitNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(permitTimeoutMillis),
+                                  deadline.remainingNanos(System.nanoTime()));
+        if (!dbPermits.tryAcquire(permits, waitNanos, TimeUnit.NANOSECONDS)) {
+            throw deadline.isExpired(System.nanoTime())
+                    ? new DeadlineExceededException("Deadline passed while waiting for a database connection")
+                    : overloaded();
+        }
+        try {
+            return task.call();
+        } finally {
+            dbPermits.release(permits);
+        }
+    }
+    
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Blocking work queue is full, retry later", retryAfterSeconds);
+    }
+    
+    // Looked up reflectively so the code still compiles for Java 8
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -1,32 +1,315 @@
 package com.newsaggregator.service;
 
+import com.newsaggregator.client.SharedCacheClient;
 import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.CacheSnapshot;
+import com.newsaggregator.util.NewsSearchResponseCodec;
+import com.newsaggregator.util.ResponseValidators;
 import com.newsaggregator.util.SimpleCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 @Service
+@Slf4j
 public class CacheService {
     
+    // 5 minutes TTL
+    private static final long TTL_MILLIS = 5 * 60 * 1000;
+    private static final String INVALIDATION_CHANNEL = "news-cache-invalidation";
+    private static final int DEFAULT_WRITE_QUEUE_SIZE = 1024;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
     private final SimpleCache<String, NewsSearchResponse> cache;
+    // ETag and Last-Modified per L1 entry, so conditional requests skip decoding
+    private final SimpleCache<String, ResponseValidators> validators;
+    
+    // Entries restored from disk at startup, decoded on first access
+    private volatile CacheSnapshot restoredSnapshot;
+    
+    // Optional L2 shared by all replicas; values are [expiry millis][codec bytes]
+    private final SharedCacheClient sharedCache;
+    private final ExecutorService sharedCacheWriter;
+    private final AtomicLong droppedSharedWrites = new AtomicLong();
+    private final String nodeId = UUID.randomUUID().toString();
     
     public CacheService() {
-        // 5 minutes TTL
-        this.cache = new SimpleCache<>(5 * 60 * 1000);
+        this(Optional.empty());
+    }
+    
+    public CacheService(Optional<SharedCacheClient> sharedCache) {
+        this(sharedCache, DEFAULT_WRITE_QUEUE_SIZE);
+    }
+    
+    @Autowired
+    public CacheService(Optional<SharedCacheClient> sharedCache,
+                        @Value("${news.cache.l2.write-queue-size:1024}") int writeQueueSize) {
+        this.cache = new SimpleCache<>(TTL_MILLIS);
+        this.validators = new SimpleCache<>(TTL_MILLIS);
+        this.sharedCache = sharedCache.orElse(null);
+        // Writes happen off the caller thread, which may be a Netty event loop. When L2
+        // stalls the queue fills and further writes are dropped; L2 is only a cache.
+        this.sharedCacheWriter = this.sharedCache == null ? null : new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(writeQueueSize),
+                r -> {
+                    Thread thread = new Thread(r, "shared-cache-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (rejected, executor) -> onSharedWriteDropped(executor));
+    }
+    
+    @PostConstruct
+    public void subscribeToInvalidations() {
+        if (sharedCache != null) {
+            sharedCache.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (sharedCacheWriter != null) {
+            sharedCacheWriter.shutdown();
+        }
     }
     
     public void put(String key, NewsSearchResponse response) {
         cache.put(key, response);
+        validators.put(key, ResponseValidators.of(response));
+        dropFromSnapshot(key);
+        if (sharedCache != null) {
+            byte[] value = encodeShared(response, System.currentTimeMillis() + TTL_MILLIS);
+            writeShared(() -> {
+                sharedCache.set(key, value, TTL_MILLIS);
+                sharedCache.publish(INVALIDATION_CHANNEL, nodeId + "|" + key);
+            });
+        }
     }
     
     public NewsSearchResponse get(String key) {
-        return cache.get(key);
+        NewsSearchResponse response = getLocal(key);
+        if (response == null && sharedCache != null) {
+            response = getFromShared(key);
+        }
+        return response;
+    }
+    
+    // Same as get for callers on an event loop: the L2 read is a blocking round
+    // trip, so it runs on boundedElastic; L1 and snapshot hits stay on the caller
+    public Mono<NewsSearchResponse> lookup(String key) {
+        NewsSearchResponse response = getLocal(key);
+        if (response != null || sharedCache == null) {
+            return Mono.justOrEmpty(response);
+        }
+        return Mono.fromCallable(() -> getFromShared(key))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    // Validators of the cached response, or null when the key is not cached
+    public ResponseValidators getValidators(String key) {
+        ResponseValidators cached = validators.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        NewsSearchResponse response = get(key);
+        return response == null ? null : validators.get(key);
+    }
+    
+    // Non-blocking getValidators; empty when the key is not cached
+    public Mono<ResponseValidators> lookupValidators(String key) {
+        ResponseValidators cached = validators.get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return lookup(key).flatMap(response -> Mono.justOrEmpty(validators.get(key)));
+    }
+    
+    // Drops the key on every replica
+    public void evict(String key) {
+        cache.remove(key);
+        validators.remove(key);
+        dropFromSnapshot(key);
+        if (sharedCache != null) {
+            writeShared(() -> {
+                sharedCache.delete(key);
+                sharedCache.publish(INVALIDATION_CHANNEL, nodeId + "|" + key);
+            });
+        }
+    }
+    
+    // Shared cache writes discarded because the writer queue was full
+    public long getDroppedSharedWrites() {
+        return droppedSharedWrites.get();
+    }
+    
+    public long remainingTtlMillis(String key) {
+        long remaining = cache.remainingTtlMillis(key);
+        CacheSnapshot snapshot = restoredSnapshot;
+        if (remaining == 0 && snapshot != null) {
+            remaining = snapshot.remainingTtlMillis(key, System.currentTimeMillis());
+        }
+        return remaining;
     }
     
     public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+    
+    // L1 only: never decodes a snapshot entry or calls the shared cache, so it
+    // is cheap enough for routing and admission decisions
+    public boolean isCachedLocally(String key) {
         return cache.containsKey(key);
     }
     
+    // Searches differing only in case or whitespace share one entry, so keys
+    // built from trending keywords match the ones users look up
     public String generateKey(String keyword, int page, int pageSize) {
-        return keyword + "_" + page + "_" + pageSize;
+        return (keyword == null ? null : normalizeKeyword(keyword)) + "_" + page + "_" + pageSize;
+    }
+    
+    public static String normalizeKeyword(String keyword) {
+        return WHITESPACE.matcher(keyword.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+    
+    public void restore(CacheSnapshot snapshot) {
+        this.restoredSnapshot = snapshot == null || snapshot.isEmpty() ? null : snapshot;
+    }
+    
+    // Live entries plus restored entries nobody has asked for yet
+    public List<CacheSnapshot.Entry> exportEntries() {
+        List<CacheSnapshot.Entry> entries = new ArrayList<>();
+        cache.forEachLive((key, value, expiryTime) ->
+                entries.add(new CacheSnapshot.Entry(key, expiryTime, NewsSearchResponseCodec.encode(value))));
+        
+        CacheSnapshot snapshot = restoredSnapshot;
+        if (snapshot != null) {
+            for (CacheSnapshot.Entry entry : snapshot.remainingEntries(System.currentTimeMillis())) {
+                // A live entry for the same key is newer than anything restored
+                if (cache.remainingTtlMillis(entry.getKey()) == 0) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+    
+    private NewsSearchResponse getLocal(String key) {
+        NewsSearchResponse response = cache.get(key);
+        if (response == null && restoredSnapshot != null) {
+            response = takeFromSnapshot(key);
+        }
+        return response;
+    }
+    
+    private NewsSearchResponse takeFromSnapshot(String key) {
+        CacheSnapshot snapshot = restoredSnapshot;
+        if (snapshot == null) {
+            return null;
+        }
+        
+        CacheSnapshot.Entry entry = snapshot.take(key, System.currentTimeMillis());
+        if (snapshot.isEmpty()) {
+            restoredSnapshot = null;
+        }
+        if (entry == null) {
+            return null;
+        }
+        
+        NewsSearchResponse response = NewsSearchResponseCodec.decode(entry.getValue());
+        putLocal(key, response, entry.getExpiryTime());
+        return response;
+    }
+    
+    private void dropFromSnapshot(String key) {
+        CacheSnapshot snapshot = restoredSnapshot;
+        if (snapshot == null) {
+            return;
+        }
+        snapshot.remove(key);
+        if (snapshot.isEmpty()) {
+            restoredSnapshot = null;
+        }
+    }
+    
+    private NewsSearchResponse getFromShared(String key) {
+        byte[] value;
+        try {
+            value = sharedCache.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache read failed for {}, treating as miss: {}", key, e.getMessage());
+            return null;
+        }
+        if (value == null || value.length < Long.BYTES) {
+            return null;
+        }
+        
+        long expiryTime = ByteBuffer.wrap(value).getLong();
+        if (expiryTime <= System.currentTimeMillis()) {
+            return null;
+        }
+        NewsSearchResponse response = NewsSearchResponseCodec.decode(Arrays.copyOfRange(value, Long.BYTES, value.length));
+        putLocal(key, response, expiryTime);
+        return response;
+    }
+    
+    private void putLocal(String key, NewsSearchResponse response, long expiryTime) {
+        cache.putUntil(key, response, expiryTime);
+        validators.putUntil(key, ResponseValidators.of(response), expiryTime);
+    }
+    
+    private void writeShared(Runnable write) {
+        sharedCacheWriter.execute(() -> {
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                log.warn("Shared cache write failed: {}", e.getMessage());
+            }
+        });
+    }
+    
+    private void onSharedWriteDropped(ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        long dropped = droppedSharedWrites.incrementAndGet();
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warn("Shared cache writer queue full, {} writes dropped so far", dropped);
+        }
+    }
+    
+    // Another replica replaced or evicted the key; the next read goes to L2
+    private void onInvalidation(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String key = message.substring(separator + 1);
+        cache.remove(key);
+        validators.remove(key);
+        dropFromSnapshot(key);
+    }
+    
+    private static byte[] encodeShared(NewsSearchResponse response, long expiryTime) {
+        byte[] encoded = NewsSearchResponseCodec.encode(response);
+        return ByteBuffer.allocate(Long.BYTES + encoded.length).putLong(expiryTime).put(encoded).array();
     }
 }
\ No newline at end of file
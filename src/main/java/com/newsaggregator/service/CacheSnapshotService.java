@@ -0,0 +1,80 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.util.CacheSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheSnapshotService {
+    
+    private final CacheService cacheService;
+    
+    @Value("${news.cache.snapshot.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${news.cache.snapshot.path:${java.io.tmpdir}/news-aggregator/cache.snapshot}")
+    private String path;
+    
+    // Runs before ApplicationReadyEvent, so warm-up sees the restored entries
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            long start = System.currentTimeMillis();
+            CacheSnapshot snapshot = CacheSnapshot.read(snapshotFile(), start);
+            if (snapshot != null) {
+                cacheService.restore(snapshot);
+                log.info("Restored {} cache entries from {} in {}ms", snapshot.size(), snapshotFile(),
+                         System.currentTimeMillis() - start);
+            }
+        } catch (IOException e) {
+            log.warn("Could not read cache snapshot {}", snapshotFile(), e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${news.cache.snapshot.interval-ms:60000}",
+               initialDelayString = "${news.cache.snapshot.interval-ms:60000}")
+    public void scheduledSnapshot() {
+        if (enabled) {
+            writeSnapshot();
+        }
+    }
+    
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (enabled) {
+            writeSnapshot();
+        }
+    }
+    
+    public int writeSnapshot() {
+        List<CacheSnapshot.Entry> entries = cacheService.exportEntries();
+        try {
+            CacheSnapshot.write(snapshotFile(), entries);
+            log.debug("Wrote {} cache entries to {}", entries.size(), snapshotFile());
+            return entries.size();
+        } catch (IOException e) {
+            log.warn("Could not write cache snapshot {}", snapshotFile(), e);
+            return 0;
+        }
+    }
+    
+    private Path snapshotFile() {
+        return Paths.get(path);
+    }
+}
\ No newline at end of file
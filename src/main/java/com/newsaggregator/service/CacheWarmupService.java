@@ -0,0 +1,106 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.NewsSearchRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmupService {
+    
+    // Every warm-up search fans out to Guardian and NYT
+    private static final int UPSTREAM_CALLS_PER_SEARCH = 2;
+    
+    private final NewsAggregatorService newsAggregatorService;
+    private final CacheService cacheService;
+    private final TrendingKeywordService trendingKeywordService;
+    private final ClusterMembershipService clusterMembershipService;
+    
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    
+    @Value("${news.warmup.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${news.warmup.top-k:20}")
+    private int topK;
+    
+    @Value("${news.warmup.page-size:10}")
+    private int pageSize;
+    
+    @Value("${news.warmup.refresh-ahead-ms:60000}")
+    private long refreshAheadMillis;
+    
+    @Value("${news.warmup.upstream-calls-per-second:2}")
+    private double upstreamCallsPerSecond;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (enabled) {
+            warmUp().subscribe();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${news.warmup.interval-ms:240000}",
+               initialDelayString = "${news.warmup.interval-ms:240000}")
+    public void scheduledWarmUp() {
+        if (!enabled) {
+            return;
+        }
+        warmUp()
+                .doFinally(signal -> {
+                    trendingKeywordService.persist();
+                    trendingKeywordService.decay();
+                })
+                .subscribe();
+    }
+    
+    // Pre-fetches page 1 of the top keywords whose cache entry is missing or about
+    // to expire, paced so upstream calls stay within the configured budget
+    public Mono<Long> warmUp() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                return Mono.just(0L);
+            }
+            
+            List<String> keywords = trendingKeywordService.topKeywords(topK);
+            Duration pacing = Duration.ofMillis(
+                    (long) Math.ceil(1000.0 * UPSTREAM_CALLS_PER_SEARCH / upstreamCallsPerSecond));
+            
+            return Flux.fromIterable(keywords)
+                    .map(keyword -> NewsSearchRequest.builder().keyword(keyword).page(1).pageSize(pageSize).build())
+                    .filter(this::needsRefresh)
+                    .delayElements(pacing)
+                    .concatMap(request -> newsAggregatorService.refreshNews(request)
+                            .onErrorResume(error -> {
+                                log.warn("Warm-up fetch failed for '{}'", request.getKeyword(), error);
+                                return Mono.empty();
+                            }))
+                    .count()
+                    .doOnNext(count -> {
+                        if (count > 0) {
+                            log.info("Cache warm-up refreshed {} of {} trending keywords", count, keywords.size());
+                        }
+                    })
+                    .doFinally(signal -> running.set(false));
+        });
+    }
+    
+    // In cluster mode only the owning node warms a keyword
+    private boolean needsRefresh(NewsSearchRequest request) {
+        String cacheKey = cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize());
+        return clusterMembershipService.isLocalOwner(cacheKey)
+                && cacheService.remainingTtlMillis(cacheKey) <= refreshAheadMillis;
+    }
+}
\ No newline at end of file
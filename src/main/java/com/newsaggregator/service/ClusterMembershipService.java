@@ -0,0 +1,148 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.util.ConsistentHashRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+// Cluster membership and keyword ownership. Members come either from a static
+// list or from a shared directory where every node keeps a heartbeat file,
+// which stands in for a real discovery service on a single host.
+@Service
+@Slf4j
+public class ClusterMembershipService {
+    
+    @Value("${news.cluster.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${news.cluster.self-url:http://localhost:8080}")
+    private String selfUrl;
+    
+    @Value("${news.cluster.discovery:static}")
+    private String discovery;
+    
+    @Value("${news.cluster.members:}")
+    private List<String> staticMembers;
+    
+    @Value("${news.cluster.discovery-dir:${java.io.tmpdir}/news-aggregator/cluster}")
+    private String discoveryDir;
+    
+    @Value("${news.cluster.heartbeat-ttl-ms:15000}")
+    private long heartbeatTtlMillis;
+    
+    @Value("${news.cluster.virtual-nodes:160}")
+    private int virtualNodes;
+    
+    private volatile ConsistentHashRing<String> ring = new ConsistentHashRing<>(Collections.<String>emptyList(), 1);
+    
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            refreshMembership();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${news.cluster.refresh-ms:5000}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refreshMembership();
+        }
+    }
+    
+    @PreDestroy
+    public void leave() {
+        if (enabled && isLocalDiscovery()) {
+            try {
+                Files.deleteIfExists(heartbeatFile());
+            } catch (IOException e) {
+                log.debug("Could not remove heartbeat file", e);
+            }
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+    
+    // Node URL owning the cache key, or null when clustering is off
+    public String ownerOf(String cacheKey) {
+        return enabled ? ring.ownerOf(cacheKey) : null;
+    }
+    
+    public boolean isLocalOwner(String cacheKey) {
+        String owner = ownerOf(cacheKey);
+        return owner == null || owner.equals(selfUrl);
+    }
+    
+    public Set<String> members() {
+        return ring.nodes();
+    }
+    
+    public void refreshMembership() {
+        Set<String> members = new TreeSet<>();
+        members.add(selfUrl);
+        if (isLocalDiscovery()) {
+            members.addAll(discoverLocalMembers());
+        } else {
+            for (String member : staticMembers) {
+                if (!member.trim().isEmpty()) {
+                    members.add(member.trim());
+                }
+            }
+        }
+        
+        if (!members.equals(ring.nodes())) {
+            log.info("Cluster membership changed: {}", members);
+            ring = new ConsistentHashRing<>(members, virtualNodes);
+        }
+    }
+    
+    private boolean isLocalDiscovery() {
+        return "local".equalsIgnoreCase(discovery);
+    }
+    
+    // Re-writes our heartbeat and returns every node whose heartbeat is fresh
+    private Set<String> discoverLocalMembers() {
+        Set<String> members = new HashSet<>();
+        try {
+            Files.createDirectories(Paths.get(discoveryDir));
+            Files.write(heartbeatFile(), selfUrl.getBytes(StandardCharsets.UTF_8));
+            
+            long cutoff = System.currentTimeMillis() - heartbeatTtlMillis;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(discoveryDir), "*.node")) {
+                for (Path file : files) {
+                    FileTime modified = Files.getLastModifiedTime(file);
+                    String member = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+                    // An empty file is a heartbeat being rewritten
+                    if (modified.toMillis() >= cutoff && !member.isEmpty()) {
+                        members.add(member);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Local cluster discovery failed in {}, keeping previous members", discoveryDir, e);
+            members.addAll(ring.nodes());
+        }
+        return members;
+    }
+    
+    private Path heartbeatFile() {
+        return Paths.get(discoveryDir, selfUrl.replaceAll("[^A-Za-z0-9.-]", "_") + ".node");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.Deadline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Sends cache misses to the node owning the keyword so each keyword is
+// fetched upstream once cluster-wide. Falls back to a local fetch when the
+// owner is unreachable.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterRoutingService {
+    
+    public static final String FORWARDED_HEADER = "X-News-Forwarded-By";
+    
+    private final NewsAggregatorService newsAggregatorService;
+    private final CacheService cacheService;
+    private final ClusterMembershipService clusterMembershipService;
+    private final WebClient webClient;
+    
+    @Value("${news.cluster.forward-timeout-ms:3000}")
+    private long forwardTimeoutMillis;
+    
+    // forwardedBy is set when another node already routed this request here
+    public Mono<NewsSearchResponse> searchNews(NewsSearchRequest request, String forwardedBy) {
+        if (!clusterMembershipService.isEnabled() || forwardedBy != null || request.isOfflineMode()) {
+            return newsAggregatorService.searchNews(request);
+        }
+        
+        String cacheKey = cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize());
+        String owner = clusterMembershipService.ownerOf(cacheKey);
+        if (owner == null || owner.equals(clusterMembershipService.getSelfUrl()) || cacheService.isCachedLocally(cacheKey)) {
+            return newsAggregatorService.searchNews(request);
+        }
+        
+        return forward(owner, request)
+                .onErrorResume(error -> {
+                    log.warn("Forwarding '{}' to {} failed, fetching locally: {}", cacheKey, owner, error.getMessage());
+                    return newsAggregatorService.searchNews(request);
+                });
+    }
+    
+    // The owner gets what is left of this request's deadline, and the hop never
+    // waits longer than that
+    private Mono<NewsSearchResponse> forward(String owner, NewsSearchRequest request) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.from(context);
+            long remainingMillis = deadline.remainingMillis(System.nanoTime());
+            long timeoutMillis = Math.min(forwardTimeoutMillis, remainingMillis);
+            WebClient.RequestBodySpec spec = webClient.post()
+                    .uri(owner + "/api/v1/news/search")
+                    .header(FORWARDED_HEADER, clusterMembershipService.getSelfUrl())
+                    .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON);
+            if (deadline.isSet()) {
+                spec.header(Deadline.HEADER, Long.toString(Math.max(1, remainingMillis)));
+            }
+            return spec.bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(NewsSearchResponse.class)
+                    .timeout(Duration.ofMillis(timeoutMillis));
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.FieldProjection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Encoded JSON bodies of cached search results, so hot keywords are
+// serialized and compressed once per cache entry and field projection rather
+// than per request. Entries are tagged with the ETag they were built from;
+// the least recently used ones are dropped beyond the configured size.
+@Service
+public class CompressedResponseCache {
+    
+    private static final byte[] TOO_SMALL = new byte[0];
+    
+    private final ProjectedResponseWriter responseWriter;
+    private final CacheService cacheService;
+    private final Map<String, Entry> entries;
+    
+    @Value("${news.compression.min-size-bytes:2048}")
+    private int minSizeBytes;
+    
+    public CompressedResponseCache(ProjectedResponseWriter responseWriter, CacheService cacheService,
+                                   @Value("${news.compression.cache-entries:256}") int maxEntries) {
+        this.responseWriter = responseWriter;
+        this.cacheService = cacheService;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    public byte[] json(NewsSearchRequest request, FieldProjection projection, String etag,
+                       NewsSearchResponse response) {
+        return entry(request, projection, etag, response).json;
+    }
+    
+    // Null when the JSON is below the compression threshold
+    public byte[] gzipJson(NewsSearchRequest request, FieldProjection projection, String etag,
+                           NewsSearchResponse response) {
+        Entry entry = entry(request, projection, etag, response);
+        byte[] gzipped = entry.gzipped;
+        if (gzipped == null) {
+            gzipped = entry.json.length < minSizeBytes ? TOO_SMALL : compress(entry.json);
+            entry.gzipped = gzipped;
+        }
+        return gzipped == TOO_SMALL ? null : gzipped;
+    }
+    
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    private Entry entry(NewsSearchRequest request, FieldProjection projection, String etag,
+                        NewsSearchResponse response) {
+        String key = cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize())
+                + "|" + projection.key();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.etag.equals(etag)) {
+            entry = new Entry(etag, responseWriter.write(response, projection));
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+    
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress search response", e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static class Entry {
+        final String etag;
+        final byte[] json;
+        volatile byte[] gzipped;
+        
+        Entry(String etag, byte[] json) {
+            this.etag = etag;
+            this.json = json;
+        }
+    }
+}
\ No newline at end of file
@@ -5,8 +5,7 @@ import com.newsaggregator.client.NYTimesApiClient;
 import com.newsaggregator.model.NewsArticle;
 import com.newsaggregator.model.NewsSearchRequest;
 import com.newsaggregator.model.NewsSearchResponse;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.newsaggregator.util.Deadline;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +13,9 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -22,14 +23,16 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class EnhancedNewsAggregatorService {
     
+    private static final Duration PROVIDER_TIMEOUT = Duration.ofSeconds(5);
+    
     private final GuardianApiClient guardianClient;
     private final NYTimesApiClient nyTimesClient;
     private final OfflineDataService offlineDataService;
     private final CacheService cacheService;
     
-    @CircuitBreaker(name = "news-aggregator", fallbackMethod = "fallbackSearchNews")
-    @Retry(name = "news-aggregator")
-    @TimeLimiter(name = "news-aggregator")
+    // Breakers and retries are per provider inside the clients, so a failing
+    // provider only drops its own results; the time limit covers the whole search
+    @TimeLimiter(name = "news-aggregator", fallbackMethod = "fallbackSearchNews")
     public CompletableFuture<NewsSearchResponse> searchNewsWithResilience(NewsSearchRequest request) {
         return searchNews(request).toFuture();
     }
@@ -51,23 +54,27 @@ public class EnhancedNewsAggregatorService {
         }
         
         return Mono.zip(
-                guardianClient.searchNews(request.getKeyword(), request.getPage(), request.getPageSize())
-                    .timeout(Duration.ofSeconds(5)),
-                nyTimesClient.searchNews(request.getKeyword(), request.getPage(), request.getPageSize())
-                    .timeout(Duration.ofSeconds(5))
+                providerResult(guardianClient.fetchNews(request.getKeyword(), request.getPage(), request.getPageSize())),
+                providerResult(nyTimesClient.fetchNews(request.getKeyword(), request.getPage(), request.getPageSize()))
         )
-        .map(tuple -> {
-            List<NewsArticle> guardianArticles = tuple.getT1();
-            List<NewsArticle> nyTimesArticles = tuple.getT2();
+        .flatMap(tuple -> {
+            if (!tuple.getT1().isPresent() && !tuple.getT2().isPresent()) {
+                log.warn("Both providers failed, falling back to offline mode");
+                return handleOfflineSearch(request, startTime);
+            }
+            List<NewsArticle> guardianArticles = tuple.getT1().orElse(Collections.emptyList());
+            List<NewsArticle> nyTimesArticles = tuple.getT2().orElse(Collections.emptyList());
             
             List<NewsArticle> aggregatedArticles = aggregateAndDeduplicateArticles(guardianArticles, nyTimesArticles);
             
             NewsSearchResponse response = buildResponse(request, aggregatedArticles, startTime, false, false);
             
-            // Cache the response
-            cacheService.put(cacheKey, response);
+            // Cache the response unless a provider is missing from it
+            if (tuple.getT1().isPresent() && tuple.getT2().isPresent()) {
+                cacheService.put(cacheKey, response);
+            }
             
-            return response;
+            return Mono.just(response);
         })
         .onErrorResume(error -> {
             log.warn("API call failed, falling back to offline mode", error);
@@ -75,12 +82,26 @@ public class EnhancedNewsAggregatorService {
         });
     }
     
-    // Fallback method for Circuit Breaker
+    // Fallback method for the time limiter
     public CompletableFuture<NewsSearchResponse> fallbackSearchNews(NewsSearchRequest request, Exception ex) {
-        log.warn("Circuit breaker activated, using fallback method", ex);
+        log.warn("Search timed out, using fallback method", ex);
         return handleOfflineSearch(request, System.currentTimeMillis()).toFuture();
     }
     
+    // Empty when the provider failed or ran out of time
+    private static Mono<Optional<List<NewsArticle>>> providerResult(Mono<List<NewsArticle>> call) {
+        return withinDeadline(call).map(Optional::of).onErrorReturn(Optional.empty());
+    }
+    
+    // Provider calls get the request's remaining deadline when it is shorter
+    // than the fixed provider timeout
+    private static <T> Mono<T> withinDeadline(Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            long remaining = Deadline.from(context).remainingNanos(System.nanoTime());
+            return call.timeout(Duration.ofNanos(Math.max(0, Math.min(remaining, PROVIDER_TIMEOUT.toNanos()))));
+        });
+    }
+    
     private Mono<NewsSearchResponse> handleOfflineSearch(NewsSearchRequest request, long startTime) {
         List<NewsArticle> offlineArticles = offlineDataService.getOfflineArticles(request.getKeyword());
         com.newsaggregator.util.NewsPaginator.PaginatedResult paginatedResult = 
@@ -1,15 +1,24 @@
 package com.newsaggregator.service;
 
 import com.newsaggregator.entity.NewsArticleEntity;
+import com.newsaggregator.exception.DeadlineExceededException;
+import com.newsaggregator.util.Deadline;
+import com.newsaggregator.util.PublishPartitions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.engine.search.query.dsl.SearchQueryOptionsStep;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.util.common.SearchTimeoutException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -17,12 +26,19 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class HibernateSearchService {
     
+    public static final int MASS_INDEX_LOAD_THREADS = 4;
+    // Loader threads plus the identifier-loading thread each hold a connection
+    public static final int MASS_INDEX_CONNECTIONS = MASS_INDEX_LOAD_THREADS + 1;
+    
+    // Longer ranges touch every shard anyway, so they are not routed
+    public static final int MAX_ROUTED_DAYS = 31;
+    
     private final EntityManager entityManager;
     
-    public List<NewsArticleEntity> searchArticles(String searchTerm, int maxResults) {
+    public List<NewsArticleEntity> searchArticles(String searchTerm, int maxResults, Deadline deadline) {
         SearchSession searchSession = Search.session(entityManager);
         
-        return searchSession.search(NewsArticleEntity.class)
+        return fetchHits(searchSession.search(NewsArticleEntity.class)
                 .where(f -> f.bool()
                         .should(f.match()
                                 .field("title")
@@ -38,14 +54,13 @@ public class HibernateSearchService {
                 )
                 .sort(f -> f.composite()
                         .add(f.score().desc())
-                        .add(f.field("publishedAt").desc()))
-                .fetchHits(maxResults);
+                        .add(f.field("publishedAt").desc())), maxResults, deadline);
     }
     
-    public List<NewsArticleEntity> fuzzySearchArticles(String searchTerm, int maxResults) {
+    public List<NewsArticleEntity> fuzzySearchArticles(String searchTerm, int maxResults, Deadline deadline) {
         SearchSession searchSession = Search.session(entityManager);
         
-        return searchSession.search(NewsArticleEntity.class)
+        return fetchHits(searchSession.search(NewsArticleEntity.class)
                 .where(f -> f.bool()
                         .should(f.match()
                                 .field("title")
@@ -56,14 +71,14 @@ public class HibernateSearchService {
                                 .matching(searchTerm)
                                 .fuzzy(2))
                 )
-                .sort(f -> f.score().desc())
-                .fetchHits(maxResults);
+                .sort(f -> f.score().desc()), maxResults, deadline);
     }
     
-    public List<NewsArticleEntity> searchBySourceAndKeyword(String source, String keyword, int maxResults) {
+    public List<NewsArticleEntity> searchBySourceAndKeyword(String source, String keyword, int maxResults,
+                                                            Deadline deadline) {
         SearchSession searchSession = Search.session(entityManager);
         
-        return searchSession.search(NewsArticleEntity.class)
+        return fetchHits(searchSession.search(NewsArticleEntity.class)
                 .where(f -> f.bool()
                         .must(f.match()
                                 .field("source")
@@ -77,8 +92,63 @@ public class HibernateSearchService {
                                         .matching(keyword))
                         )
                 )
-                .sort(f -> f.field("publishedAt").desc())
-                .fetchHits(maxResults);
+                .sort(f -> f.field("publishedAt").desc()), maxResults, deadline);
+    }
+    
+    public List<NewsArticleEntity> searchArticlesPublishedBetween(String searchTerm, LocalDate from, LocalDate to,
+                                                                  int maxResults, Deadline deadline) {
+        SearchSession searchSession = Search.session(entityManager);
+        
+        SearchQueryOptionsStep<?, NewsArticleEntity, ?, ?, ?> query = searchSession.search(NewsArticleEntity.class)
+                .where(f -> f.bool()
+                        .must(f.range()
+                                .field("publishedAt")
+                                .between(from.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+                        .must(f.bool()
+                                .should(f.match()
+                                        .field("title")
+                                        .matching(searchTerm)
+                                        .boost(2.0f))
+                                .should(f.match()
+                                        .field("description")
+                                        .matching(searchTerm))
+                        )
+                )
+                .sort(f -> f.composite()
+                        .add(f.score().desc())
+                        .add(f.field("publishedAt").desc()));
+        
+        // Routing keys restrict the query to the publish-day partitions in range
+        if (ChronoUnit.DAYS.between(from, to) < MAX_ROUTED_DAYS) {
+            query = query.routing(PublishPartitions.routingKeysBetween(from, to));
+        }
+        return fetchHits(query, maxResults, deadline);
+    }
+    
+    // Lucene gives up once the request's deadline passes instead of running on
+    // for a caller that has stopped waiting
+    private static List<NewsArticleEntity> fetchHits(SearchQueryOptionsStep<?, NewsArticleEntity, ?, ?, ?> query,
+                                                     int maxResults, Deadline deadline) {
+        if (!deadline.isSet()) {
+            return query.fetchHits(maxResults);
+        }
+        long remainingMillis = deadline.remainingMillis(System.nanoTime());
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Deadline passed before the search query started");
+        }
+        try {
+            return query.failAfter(remainingMillis, TimeUnit.MILLISECONDS).fetchHits(maxResults);
+        } catch (SearchTimeoutException e) {
+            throw new DeadlineExceededException("Search query exceeded the deadline");
+        }
+    }
+    
+    @Transactional
+    public void purgePartition(LocalDate day) {
+        Search.session(entityManager)
+                .workspace(NewsArticleEntity.class)
+                .purge(Collections.singleton(PublishPartitions.routingKey(day)));
+        log.debug("Purged search index partition {}", day);
     }
     
     @Transactional
@@ -86,7 +156,7 @@ public class HibernateSearchService {
         try {
             SearchSession searchSession = Search.session(entityManager);
             searchSession.massIndexer(NewsArticleEntity.class)
-                    .threadsToLoadObjects(4)
+                    .threadsToLoadObjects(MASS_INDEX_LOAD_THREADS)
                     .batchSizeToLoadObjects(25)
                     .startAndWait();
             log.info("Search index rebuilt successfully");
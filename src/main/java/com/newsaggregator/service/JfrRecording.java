@@ -0,0 +1,92 @@
+package com.newsaggregator.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// jdk.jfr.Recording driven reflectively. The JFR API only reached JDK 8 in
+// 8u262, and the build image is older, so nothing may link against it directly.
+class JfrRecording {
+    
+    private final Object recording;
+    
+    private JfrRecording(Object recording) {
+        this.recording = recording;
+    }
+    
+    static boolean isAvailable() {
+        try {
+            return (Boolean) Class.forName("jdk.jfr.FlightRecorder").getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+    
+    // settings is a JFR configuration name, e.g. default or profile
+    static JfrRecording start(String settings, String name, Path destination, Duration duration) throws Exception {
+        JfrRecording recording;
+        try {
+            Class<?> configurationType = Class.forName("jdk.jfr.Configuration");
+            Object configuration = configurationType.getMethod("getConfiguration", String.class)
+                    .invoke(null, settings);
+            recording = new JfrRecording(Class.forName("jdk.jfr.Recording").getConstructor(configurationType)
+                                                 .newInstance(configuration));
+        } catch (InvocationTargetException e) {
+            throw unwrap(e);
+        }
+        try {
+            recording.invoke("setName", String.class, name);
+            recording.invoke("setToDisk", boolean.class, true);
+            recording.invoke("setDestination", Path.class, destination);
+            recording.invoke("setDuration", Duration.class, duration);
+            recording.invoke("start", null, null);
+        } catch (Exception e) {
+            recording.close();
+            throw e;
+        }
+        return recording;
+    }
+    
+    // NEW, DELAYED, RUNNING, STOPPED or CLOSED
+    String state() {
+        return ((Enum<?>) call("getState")).name();
+    }
+    
+    boolean isActive() {
+        String state = state();
+        return "NEW".equals(state) || "DELAYED".equals(state) || "RUNNING".equals(state);
+    }
+    
+    Duration duration() {
+        return (Duration) call("getDuration");
+    }
+    
+    void close() {
+        call("close");
+    }
+    
+    private Object call(String method) {
+        try {
+            return invoke(method, null, null);
+        } catch (Exception e) {
+            throw new IllegalStateException("JFR call " + method + " failed", e);
+        }
+    }
+    
+    private Object invoke(String method, Class<?> parameterType, Object argument) throws Exception {
+        try {
+            if (parameterType == null) {
+                return recording.getClass().getMethod(method).invoke(recording);
+            }
+            Method setter = recording.getClass().getMethod(method, parameterType);
+            return setter.invoke(recording, argument);
+        } catch (InvocationTargetException e) {
+            throw unwrap(e);
+        }
+    }
+    
+    private static Exception unwrap(InvocationTargetException e) {
+        return e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.GcPauseEvent;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Recent GC pauses, heap occupancy and on-demand JFR recordings for the
+// profiling endpoint. Pauses arrive as GC notifications and only the last few
+// are kept; long-run totals are already published as jvm.gc.* meters. One
+// recording runs at a time and stops itself after a bounded duration.
+@Service
+@Slf4j
+public class JvmProfilingService {
+    
+    private final Deque<GcPauseEvent> recentPauses = new ArrayDeque<>();
+    private final Set<String> heapPools = new HashSet<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::onGarbageCollection;
+    private JfrRecording recording;
+    private Path recordingFile;
+    private Instant recordingStarted;
+    
+    @Value("${news.profiling.gc-history:32}")
+    private int gcHistory = 32;
+    
+    @Value("${news.profiling.jfr.directory:${java.io.tmpdir}/news-aggregator/jfr}")
+    private String jfrDirectory;
+    
+    // JFR settings file: default (low overhead) or profile
+    @Value("${news.profiling.jfr.settings:profile}")
+    private String jfrSettings = "profile";
+    
+    @Value("${news.profiling.jfr.max-duration-seconds:300}")
+    private long maxRecordingSeconds = 300;
+    
+    @PostConstruct
+    public void init() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(gcListener, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException ignored) {
+                // already gone
+            }
+        }
+    }
+    
+    public List<GcPauseEvent> recentPauses() {
+        synchronized (recentPauses) {
+            return new ArrayList<>(recentPauses);
+        }
+    }
+    
+    public Map<String, Object> collectors() {
+        Map<String, Object> collectors = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            Map<String, Object> totals = new LinkedHashMap<>();
+            totals.put("count", collector.getCollectionCount());
+            totals.put("timeMillis", collector.getCollectionTime());
+            collectors.put(collector.getName(), totals);
+        }
+        return collectors;
+    }
+    
+    // usedAfterGcBytes is the pool's occupancy after its last collection,
+    // which tracks live data better than the current usage
+    public Map<String, Object> heap() {
+        MemoryUsage usage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        Map<String, Object> heap = new LinkedHashMap<>();
+        heap.put("usedBytes", usage.getUsed());
+        heap.put("committedBytes", usage.getCommitted());
+        heap.put("maxBytes", usage.getMax());
+        
+        Map<String, Object> pools = new LinkedHashMap<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("usedBytes", pool.getUsage().getUsed());
+            stats.put("maxBytes", pool.getUsage().getMax());
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            stats.put("usedAfterGcBytes", afterGc == null ? -1 : afterGc.getUsed());
+            pools.put(pool.getName(), stats);
+        }
+        heap.put("pools", pools);
+        return heap;
+    }
+    
+    // Starts a recording unless one is running; the duration is capped at
+    // news.profiling.jfr.max-duration-seconds
+    public synchronized Map<String, Object> startRecording(long durationSeconds) {
+        if (isRecording()) {
+            Map<String, Object> status = recordingStatus();
+            status.put("started", false);
+            return status;
+        }
+        if (!isJfrAvailable()) {
+            Map<String, Object> status = recordingStatus();
+            status.put("started", false);
+            status.put("error", "Flight Recorder is not available in this JVM");
+            return status;
+        }
+        
+        long seconds = Math.max(1, Math.min(durationSeconds, maxRecordingSeconds));
+        Instant now = Instant.now();
+        Path file = Paths.get(jfrDirectory, "news-aggregator-" + now.toEpochMilli() + ".jfr");
+        JfrRecording newRecording;
+        try {
+            Files.createDirectories(file.getParent());
+            newRecording = JfrRecording.start(jfrSettings, "news-aggregator-" + now.toEpochMilli(), file,
+                                              Duration.ofSeconds(seconds));
+        } catch (Exception e) {
+            log.warn("Could not start JFR recording: {}", e.getMessage());
+            Map<String, Object> status = recordingStatus();
+            status.put("started", false);
+            status.put("error", e.getMessage());
+            return status;
+        }
+        
+        if (recording != null) {
+            recording.close();
+        }
+        recording = newRecording;
+        recordingFile = file;
+        recordingStarted = now;
+        log.info("JFR recording for {}s started, writing {}", seconds, file);
+        
+        Map<String, Object> status = recordingStatus();
+        status.put("started", true);
+        return status;
+    }
+    
+    public synchronized Map<String, Object> recordingStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("available", isJfrAvailable());
+        status.put("maxDurationSeconds", maxRecordingSeconds);
+        if (recording != null) {
+            status.put("state", recording.state().toLowerCase());
+            status.put("startedAt", recordingStarted.toString());
+            status.put("durationSeconds", recording.duration().getSeconds());
+            status.put("file", recordingFile.toString());
+        }
+        return status;
+    }
+    
+    private boolean isRecording() {
+        return recording != null && recording.isActive();
+    }
+    
+    // False on JVMs without the JFR API (JDK 8 before 8u262)
+    private static boolean isJfrAvailable() {
+        return JfrRecording.isAvailable();
+    }
+    
+    private void onGarbageCollection(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gc = info.getGcInfo();
+        GcPauseEvent event = GcPauseEvent.builder()
+                .collector(info.getGcName())
+                .action(info.getGcAction())
+                .cause(info.getGcCause())
+                .startMillis(gc.getStartTime())
+                .durationMillis(gc.getDuration())
+                .heapBeforeBytes(heapUsed(gc.getMemoryUsageBeforeGc()))
+                .heapAfterBytes(heapUsed(gc.getMemoryUsageAfterGc()))
+                .build();
+        
+        synchronized (recentPauses) {
+            recentPauses.addFirst(event);
+            while (recentPauses.size() > gcHistory) {
+                recentPauses.removeLast();
+            }
+        }
+    }
+    
+    private long heapUsed(Map<String, MemoryUsage> pools) {
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : pools.entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+}
\ No newline at end of file
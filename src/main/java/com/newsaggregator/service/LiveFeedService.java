@@ -0,0 +1,373 @@
+package com.newsaggregator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsaggregator.model.LiveFeedMessage;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Live keyword feeds. Each subscribed keyword has one shared poller that
+// refreshes page 1 upstream and numbers the articles it has not seen before;
+// the resulting delta is serialized once and pushed to every subscriber.
+// Subscribers resume from a sequence number and get the retained history
+// after it, or a full reset when it has been trimmed away. Messages are
+// built under the feed's lock but sent after it is released; Subscriber.send
+// is expected to hand off to a bounded per-connection buffer, not write.
+@Service
+@Slf4j
+public class LiveFeedService {
+    
+    public interface Subscriber {
+        void send(String message);
+    }
+    
+    public static final String TYPE_DELTA = "delta";
+    public static final String TYPE_ERROR = "error";
+    
+    private final NewsAggregatorService newsAggregatorService;
+    private final ObjectMapper objectMapper;
+    
+    private final Map<String, KeywordFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+    
+    @Value("${news.live.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${news.live.page-size:20}")
+    private int pageSize;
+    
+    @Value("${news.live.poll-concurrency:4}")
+    private int pollConcurrency;
+    
+    @Value("${news.live.history-size:200}")
+    private int historySize;
+    
+    @Value("${news.live.max-keywords-per-session:20}")
+    private int maxKeywordsPerSession;
+    
+    @Value("${news.live.max-feeds:1000}")
+    private int maxFeeds;
+    
+    public LiveFeedService(NewsAggregatorService newsAggregatorService, ObjectMapper objectMapper) {
+        this.newsAggregatorService = newsAggregatorService;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Applies a client command, {"action":"subscribe","keyword":"...","lastSeq":123}
+    // or {"action":"unsubscribe","keyword":"..."}; keywords tracks the
+    // connection's subscriptions so they can be dropped when it closes
+    public void handleCommand(String payload, Subscriber subscriber, Set<String> keywords) {
+        JsonNode command;
+        try {
+            command = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            deliver(subscriber, errorMessage(null, "Malformed message"));
+            return;
+        }
+        String action = command.path("action").asText("");
+        String keyword = normalize(command.path("keyword").asText(""));
+        if (keyword.isEmpty()) {
+            deliver(subscriber, errorMessage(null, "Keyword is required"));
+            return;
+        }
+        
+        switch (action) {
+            case "subscribe":
+                if (!keywords.contains(keyword) && keywords.size() >= maxKeywordsPerSession) {
+                    deliver(subscriber, errorMessage(keyword,
+                            "At most " + maxKeywordsPerSession + " keywords per connection"));
+                    return;
+                }
+                JsonNode lastSeq = command.get("lastSeq");
+                if (subscribe(keyword, subscriber, lastSeq != null && lastSeq.canConvertToLong() ? lastSeq.asLong() : null)) {
+                    keywords.add(keyword);
+                } else {
+                    deliver(subscriber, errorMessage(keyword, "Too many live feeds, try again later"));
+                }
+                break;
+            case "unsubscribe":
+                keywords.remove(keyword);
+                unsubscribe(keyword, subscriber);
+                break;
+            default:
+                deliver(subscriber, errorMessage(keyword, "Unknown action: " + action));
+        }
+    }
+    
+    public void closeSession(Subscriber subscriber, Set<String> keywords) {
+        for (String keyword : keywords) {
+            unsubscribe(keyword, subscriber);
+        }
+        keywords.clear();
+    }
+    
+    // lastSeq is the last sequence number the client has applied, or null for
+    // a fresh subscription. Returns false when the keyword is not polled yet
+    // and max-feeds are already running; the cap is approximate under races.
+    public boolean subscribe(String keyword, Subscriber subscriber, Long lastSeq) {
+        String key = normalize(keyword);
+        while (true) {
+            boolean[] created = new boolean[1];
+            KeywordFeed feed = feeds.computeIfAbsent(key, k -> {
+                if (feeds.size() >= maxFeeds) {
+                    return null;
+                }
+                created[0] = true;
+                return new KeywordFeed(k);
+            });
+            if (feed == null) {
+                return false;
+            }
+            if (!join(feed, subscriber, lastSeq)) {
+                continue;
+            }
+            if (created[0] && enabled) {
+                poll(feed).subscribe();
+            }
+            return true;
+        }
+    }
+    
+    // Sends the replay outside the lock and only then adds the subscriber, so
+    // it cannot get a delta ahead of it; deltas published meanwhile are
+    // replayed on the next pass. False when the feed was closed.
+    private boolean join(KeywordFeed feed, Subscriber subscriber, Long lastSeq) {
+        Long sentUpTo = lastSeq;
+        while (true) {
+            String replay;
+            synchronized (feed) {
+                if (feed.closed) {
+                    return false;
+                }
+                replay = replay(feed, sentUpTo);
+                if (replay == null) {
+                    feed.subscribers.add(subscriber);
+                    return true;
+                }
+                sentUpTo = feed.lastSeq;
+            }
+            deliver(subscriber, replay);
+        }
+    }
+    
+    public void unsubscribe(String keyword, Subscriber subscriber) {
+        String key = normalize(keyword);
+        KeywordFeed feed = feeds.get(key);
+        if (feed == null) {
+            return;
+        }
+        synchronized (feed) {
+            feed.subscribers.remove(subscriber);
+            if (feed.subscribers.isEmpty()) {
+                feed.closed = true;
+                feeds.remove(key, feed);
+            }
+        }
+    }
+    
+    public int feedCount() {
+        return feeds.size();
+    }
+    
+    public int subscriberCount() {
+        int count = 0;
+        for (KeywordFeed feed : feeds.values()) {
+            count += feed.subscribers.size();
+        }
+        return count;
+    }
+    
+    @Scheduled(fixedDelayString = "${news.live.poll-interval-ms:15000}",
+               initialDelayString = "${news.live.poll-interval-ms:15000}")
+    public void scheduledPoll() {
+        if (enabled) {
+            pollFeeds().subscribe();
+        }
+    }
+    
+    // Refreshes every keyword that still has subscribers; a poll round that is
+    // still running when the next one is due is not overlapped
+    public Mono<Long> pollFeeds() {
+        return Mono.defer(() -> {
+            if (!polling.compareAndSet(false, true)) {
+                return Mono.just(0L);
+            }
+            return Flux.fromIterable(new ArrayList<>(feeds.values()))
+                    .flatMap(this::poll, Math.max(1, pollConcurrency))
+                    .count()
+                    .doFinally(signal -> polling.set(false));
+        });
+    }
+    
+    // A feed's polls never overlap, so its deltas go out in sequence order
+    // even though they are sent outside the lock
+    private Mono<Integer> poll(KeywordFeed feed) {
+        return Mono.defer(() -> {
+            if (!feed.polling.compareAndSet(false, true)) {
+                return Mono.just(0);
+            }
+            NewsSearchRequest request = NewsSearchRequest.builder()
+                    .keyword(feed.keyword)
+                    .page(1)
+                    .pageSize(pageSize)
+                    .build();
+            return newsAggregatorService.refreshNews(request)
+                    .map(response -> publish(feed, response))
+                    .onErrorResume(error -> {
+                        log.warn("Live feed poll failed for '{}'", feed.keyword, error);
+                        return Mono.just(0);
+                    })
+                    .doFinally(signal -> feed.polling.set(false));
+        });
+    }
+    
+    private int publish(KeywordFeed feed, NewsSearchResponse response) {
+        // Offline fallbacks are sample data, not news
+        if (response.isOfflineMode() || response.getArticles() == null) {
+            return 0;
+        }
+        
+        String message;
+        List<Subscriber> recipients;
+        List<NewsArticle> fresh = new ArrayList<>();
+        synchronized (feed) {
+            if (feed.closed) {
+                return 0;
+            }
+            for (NewsArticle article : response.getArticles()) {
+                String id = articleId(article);
+                if (id != null && feed.seen.add(id)) {
+                    feed.lastSeq++;
+                    feed.history.addLast(new SequencedArticle(feed.lastSeq, article));
+                    fresh.add(article);
+                }
+            }
+            while (feed.history.size() > historySize) {
+                feed.history.removeFirst();
+            }
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+            
+            message = serialize(LiveFeedMessage.builder()
+                    .type(TYPE_DELTA)
+                    .keyword(feed.keyword)
+                    .seq(feed.lastSeq)
+                    .articles(fresh)
+                    .build());
+            recipients = new ArrayList<>(feed.subscribers);
+        }
+        
+        for (Subscriber subscriber : recipients) {
+            deliver(subscriber, message);
+        }
+        return fresh.size();
+    }
+    
+    // Sequence numbers start at the feed's creation time in microseconds, so a
+    // lastSeq from an earlier incarnation of the feed is recognised as stale
+    private String replay(KeywordFeed feed, Long lastSeq) {
+        if (feed.history.isEmpty()) {
+            return null;
+        }
+        long oldest = feed.history.peekFirst().seq;
+        boolean reset = lastSeq == null || lastSeq < oldest - 1 || lastSeq > feed.lastSeq;
+        long after = reset ? Long.MIN_VALUE : lastSeq;
+        
+        List<NewsArticle> articles = new ArrayList<>();
+        for (SequencedArticle entry : feed.history) {
+            if (entry.seq > after) {
+                articles.add(entry.article);
+            }
+        }
+        if (articles.isEmpty()) {
+            return null;
+        }
+        return serialize(LiveFeedMessage.builder()
+                .type(TYPE_DELTA)
+                .keyword(feed.keyword)
+                .seq(feed.lastSeq)
+                .reset(lastSeq != null && reset ? Boolean.TRUE : null)
+                .articles(articles)
+                .build());
+    }
+    
+    private void deliver(Subscriber subscriber, String message) {
+        try {
+            subscriber.send(message);
+        } catch (RuntimeException e) {
+            log.debug("Live feed delivery failed: {}", e.getMessage());
+        }
+    }
+    
+    private String errorMessage(String keyword, String error) {
+        return serialize(LiveFeedMessage.builder().type(TYPE_ERROR).keyword(keyword).error(error).build());
+    }
+    
+    private String serialize(LiveFeedMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize live feed message", e);
+        }
+    }
+    
+    private static String articleId(NewsArticle article) {
+        return article.getId() != null ? article.getId() : article.getUrl();
+    }
+    
+    private static String normalize(String keyword) {
+        return keyword == null ? "" : keyword.trim().toLowerCase();
+    }
+    
+    private class KeywordFeed {
+        final String keyword;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final Deque<SequencedArticle> history = new ArrayDeque<>();
+        final Set<String> seen;
+        final AtomicBoolean polling = new AtomicBoolean(false);
+        long lastSeq = System.currentTimeMillis() * 1000;
+        boolean closed;
+        
+        KeywordFeed(String keyword) {
+            this.keyword = keyword;
+            int seenLimit = historySize + pageSize * 4;
+            this.seen = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > seenLimit;
+                }
+            });
+        }
+    }
+    
+    private static class SequencedArticle {
+        final long seq;
+        final NewsArticle article;
+        
+        SequencedArticle(long seq, NewsArticle article) {
+            this.seq = seq;
+            this.article = article;
+        }
+    }
+}
\ No newline at end of file
@@ -5,14 +5,27 @@ import com.newsaggregator.client.NYTimesApiClient;
 import com.newsaggregator.model.NewsArticle;
 import com.newsaggregator.model.NewsSearchRequest;
 import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.NewsStreamEvent;
+import com.newsaggregator.service.SearchTracer.Checkpoint;
+import com.newsaggregator.util.Deadline;
+import com.newsaggregator.util.NewsAggregator;
+import com.newsaggregator.util.NewsDeduplicator;
+import com.newsaggregator.util.NewsPaginator;
+import com.newsaggregator.util.ResponseValidators;
+import com.newsaggregator.util.StageTimings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,61 +33,153 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NewsAggregatorService {
     
+    // Result of a provider that was skipped; a provider that failed yields Optional.empty()
+    private static final Optional<List<NewsArticle>> NO_ARTICLES = Optional.of(Collections.emptyList());
+    
     private final GuardianApiClient guardianClient;
     private final NYTimesApiClient nyTimesClient;
     private final OfflineDataService offlineDataService;
     private final CacheService cacheService;
+    private final UpstreamRateLimiter rateLimiter;
+    private final ProviderResilience providerResilience;
+    private final SearchMetrics searchMetrics;
+    private final SearchTracer searchTracer;
+    
+    // Upstream fetches in progress by cache key; concurrent misses for a key,
+    // local or forwarded by another replica, share one fetch
+    private final Map<String, Mono<NewsSearchResponse>> inFlight = new ConcurrentHashMap<>();
     
     public Mono<NewsSearchResponse> searchNews(NewsSearchRequest request) {
-        // DEBUG POINT 4: Service method entry
-        log.debug("🔍 [DEBUG-4] Service.searchNews() - Entry: {}", request);
-        
+        return Mono.deferContextual(context -> {
+            long traceId = SearchTracer.traceId(context);
+            searchTracer.record(traceId, Checkpoint.SERVICE_ENTRY, request.getPage());
+            
+            String cacheKey = cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize());
+            
+            // Check custom cache first
+            long lookupStart = System.nanoTime();
+            return cacheService.lookup(cacheKey)
+                    .map(cachedResponse -> {
+                        searchMetrics.cacheLookup(System.nanoTime() - lookupStart, true, StageTimings.from(context));
+                        searchTracer.record(traceId, Checkpoint.CACHE_HIT, cachedResponse.getArticles().size());
+                        cachedResponse.setFromCache(true);
+                        return cachedResponse;
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        searchMetrics.cacheLookup(System.nanoTime() - lookupStart, false, StageTimings.from(context));
+                        searchTracer.record(traceId, Checkpoint.CACHE_MISS, 0);
+                        return fetchNews(request, cacheKey);
+                    }));
+        });
+    }
+    
+    // ETag and Last-Modified of the cached result, empty when not cached; never goes upstream
+    public Mono<ResponseValidators> cachedValidators(NewsSearchRequest request) {
+        if (request.isOfflineMode()) {
+            return Mono.empty();
+        }
+        return cacheService.lookupValidators(
+                cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize()));
+    }
+    
+    // Always goes upstream and re-caches the result; used to refresh hot keywords
+    public Mono<NewsSearchResponse> refreshNews(NewsSearchRequest request) {
         String cacheKey = cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize());
-        log.debug("🔍 [DEBUG-5] Cache key generated: {}", cacheKey);
-        
-        // Check custom cache first
-        NewsSearchResponse cachedResponse = cacheService.get(cacheKey);
-        if (cachedResponse != null) {
-            log.debug("🔍 [DEBUG-6] Cache HIT - Returning cached response");
-            cachedResponse.setFromCache(true);
-            return Mono.just(cachedResponse);
+        return fetchNews(request, cacheKey);
+    }
+    
+    private Mono<NewsSearchResponse> fetchNews(NewsSearchRequest request, String cacheKey) {
+        return Mono.deferContextual(context -> {
+            long startTime = System.currentTimeMillis();
+            long traceId = SearchTracer.traceId(context);
+            
+            if (request.isOfflineMode()) {
+                searchTracer.record(traceId, Checkpoint.OFFLINE_MODE, 0);
+                return handleOfflineSearch(request, startTime);
+            }
+            
+            searchTracer.record(traceId, Checkpoint.ONLINE_FETCH, 0);
+            return joinInFlight(cacheKey, () -> fetchOnline(request, cacheKey, startTime, context));
+        });
+    }
+    
+    // The fetch runs with the first caller's context and deadline; callers that
+    // join it get the same response. cache() keeps it running, and caching its
+    // result, when the callers that started it cancel.
+    private Mono<NewsSearchResponse> joinInFlight(String cacheKey, Supplier<Mono<NewsSearchResponse>> fetch) {
+        return inFlight.computeIfAbsent(cacheKey, key -> fetch.get()
+                .doFinally(signal -> inFlight.remove(key))
+                .cache());
+    }
+    
+    int inFlightCount() {
+        return inFlight.size();
+    }
+    
+    // Providers over quota or behind an open circuit breaker are skipped and a
+    // failing provider is left out; a response missing a provider, or one whose
+    // providers were cut off by the request's deadline, is returned but not
+    // cached so the next request tries again
+    private Mono<NewsSearchResponse> fetchOnline(NewsSearchRequest request, String cacheKey, long startTime,
+                                                 ContextView context) {
+        Deadline deadline = Deadline.from(context);
+        if (deadline.isExpired(System.nanoTime())) {
+            log.debug("Deadline passed before fetching '{}', serving offline results", request.getKeyword());
+            return handleOfflineSearch(request, startTime);
         }
-        log.debug("🔍 [DEBUG-7] Cache MISS - Proceeding with API calls");
-        
-        long startTime = System.currentTimeMillis();
-        
-        if (request.isOfflineMode()) {
-            log.debug("🔍 [DEBUG-8] Offline mode enabled - Using offline data");
+        return Mono.zip(isAvailable(UpstreamRateLimiter.GUARDIAN), isAvailable(UpstreamRateLimiter.NYTIMES))
+                .flatMap(allowed -> fetchProviders(request, cacheKey, startTime, context,
+                                                   allowed.getT1(), allowed.getT2()));
+    }
+    
+    private Mono<NewsSearchResponse> fetchProviders(NewsSearchRequest request, String cacheKey, long startTime,
+                                                    ContextView context, boolean guardianAllowed,
+                                                    boolean nyTimesAllowed) {
+        StageTimings timings = StageTimings.from(context);
+        long traceId = SearchTracer.traceId(context);
+        Deadline deadline = Deadline.from(context);
+        if (!guardianAllowed && !nyTimesAllowed) {
+            log.warn("Both providers are unavailable, serving offline results for '{}'", request.getKeyword());
             return handleOfflineSearch(request, startTime);
         }
+        boolean partial = !guardianAllowed || !nyTimesAllowed;
         
-        log.debug("🔍 [DEBUG-9] Online mode - Making API calls to Guardian and NYTimes");
+        Mono<Optional<List<NewsArticle>>> guardianCall = !guardianAllowed
+                ? Mono.just(NO_ARTICLES)
+                : providerResult(UpstreamRateLimiter.GUARDIAN, traceProviderCall(
+                        searchMetrics.timeProviderCall(UpstreamRateLimiter.GUARDIAN, guardianClient.fetchNews(
+                                request.getKeyword(), request.getPage(), request.getPageSize())),
+                        traceId, Checkpoint.GUARDIAN_RESPONSE, Checkpoint.GUARDIAN_ERROR));
+        Mono<Optional<List<NewsArticle>>> nyTimesCall = !nyTimesAllowed
+                ? Mono.just(NO_ARTICLES)
+                : providerResult(UpstreamRateLimiter.NYTIMES, traceProviderCall(
+                        searchMetrics.timeProviderCall(UpstreamRateLimiter.NYTIMES, nyTimesClient.fetchNews(
+                                request.getKeyword(), request.getPage(), request.getPageSize())),
+                        traceId, Checkpoint.NYTIMES_RESPONSE, Checkpoint.NYTIMES_ERROR));
         
-        return Mono.zip(
-                guardianClient.searchNews(request.getKeyword(), request.getPage(), request.getPageSize())
-                    .doOnNext(articles -> log.debug("🔍 [DEBUG-10] Guardian API response: {} articles", articles.size()))
-                    .doOnError(error -> log.debug("🔍 [DEBUG-11] Guardian API error: {}", error.getMessage())),
-                nyTimesClient.searchNews(request.getKeyword(), request.getPage(), request.getPageSize())
-                    .doOnNext(articles -> log.debug("🔍 [DEBUG-12] NYTimes API response: {} articles", articles.size()))
-                    .doOnError(error -> log.debug("🔍 [DEBUG-13] NYTimes API error: {}", error.getMessage()))
-        )
+        return Mono.zip(guardianCall, nyTimesCall)
         .map(tuple -> {
-            List<NewsArticle> guardianArticles = tuple.getT1();
-            List<NewsArticle> nyTimesArticles = tuple.getT2();
+            List<NewsArticle> guardianArticles = tuple.getT1().orElse(Collections.emptyList());
+            List<NewsArticle> nyTimesArticles = tuple.getT2().orElse(Collections.emptyList());
+            boolean complete = !partial && tuple.getT1().isPresent() && tuple.getT2().isPresent();
             
-            log.debug("🔍 [DEBUG-14] Starting aggregation: Guardian={}, NYTimes={}", 
-                      guardianArticles.size(), nyTimesArticles.size());
+            searchTracer.record(traceId, Checkpoint.AGGREGATION_START,
+                                guardianArticles.size() + nyTimesArticles.size());
             
-            List<NewsArticle> aggregatedArticles = aggregateAndDeduplicateArticles(guardianArticles, nyTimesArticles);
+            List<NewsArticle> aggregatedArticles =
+                    aggregateAndDeduplicateArticles(guardianArticles, nyTimesArticles, timings);
             
-            log.debug("🔍 [DEBUG-15] After aggregation and deduplication: {} articles", 
-                      aggregatedArticles.size());
+            searchTracer.record(traceId, Checkpoint.AGGREGATED, aggregatedArticles.size());
             
             NewsSearchResponse response = buildResponse(request, aggregatedArticles, startTime, false, false);
             
-            log.debug("🔍 [DEBUG-16] Response built - Caching with key: {}", cacheKey);
-            // Cache the response using custom cache
-            cacheService.put(cacheKey, response);
+            if (!complete || deadline.isExpired(System.nanoTime())) {
+                log.debug("Partial response for '{}' not cached", request.getKeyword());
+            } else {
+                // Cache the response using custom cache
+                cacheService.put(cacheKey, response);
+                searchTracer.record(traceId, Checkpoint.RESPONSE_CACHED, 0);
+            }
             
             return response;
         })
@@ -84,29 +189,191 @@ public class NewsAggregatorService {
         });
     }
     
-    private Mono<NewsSearchResponse> handleOfflineSearch(NewsSearchRequest request, long startTime) {
-        List<NewsArticle> offlineArticles = offlineDataService.getOfflineArticles(request.getKeyword());
-        com.newsaggregator.util.NewsPaginator.PaginatedResult paginatedResult = 
-            com.newsaggregator.util.NewsPaginator.paginate(offlineArticles, request.getPage(), request.getPageSize());
+    // Unsampled searches get the call back unchanged, without the extra operators
+    private Mono<List<NewsArticle>> traceProviderCall(Mono<List<NewsArticle>> call, long traceId,
+                                                      Checkpoint response, Checkpoint error) {
+        if (traceId == 0) {
+            return call;
+        }
+        return call.doOnNext(articles -> searchTracer.record(traceId, response, articles.size()))
+                .doOnError(failure -> searchTracer.record(traceId, error, 0));
+    }
+    
+    // Empty when the provider failed, so the other provider's articles are still
+    // served and the caller knows not to cache the response
+    private Mono<Optional<List<NewsArticle>>> providerResult(String provider, Mono<List<NewsArticle>> call) {
+        return call.map(Optional::of)
+                .onErrorResume(error -> {
+                    log.warn("{} search failed, continuing without it: {}", provider, error.toString());
+                    return Mono.just(Optional.<List<NewsArticle>>empty());
+                });
+    }
+    
+    // Streams the cached or offline result straight away, otherwise each
+    // provider's not-yet-seen articles as it responds, then a summary event
+    public Flux<NewsStreamEvent> streamNews(NewsSearchRequest request) {
+        return Flux.deferContextual(context -> {
+            long startTime = System.currentTimeMillis();
+            String cacheKey = cacheService.generateKey(request.getKeyword(), request.getPage(), request.getPageSize());
+            
+            return cacheService.lookup(cacheKey)
+                    .flatMapMany(cachedResponse -> {
+                        cachedResponse.setFromCache(true);
+                        return Flux.just(
+                                batchEvent(NewsStreamEvent.Type.CACHED, "cache", cachedResponse.getArticles()),
+                                summaryEvent(cachedResponse));
+                    })
+                    .switchIfEmpty(Flux.defer(() -> {
+                        Deadline deadline = Deadline.from(context);
+                        if (request.isOfflineMode() || deadline.isExpired(System.nanoTime())) {
+                            return streamOffline(request, startTime);
+                        }
+                        return Mono.zip(isAvailable(UpstreamRateLimiter.GUARDIAN),
+                                        isAvailable(UpstreamRateLimiter.NYTIMES))
+                                .flatMapMany(allowed -> streamProviders(request, cacheKey, startTime, deadline,
+                                                                        allowed.getT1(), allowed.getT2()));
+                    }));
+        });
+    }
+    
+    private Flux<NewsStreamEvent> streamProviders(NewsSearchRequest request, String cacheKey, long startTime,
+                                                  Deadline deadline, boolean guardianAllowed,
+                                                  boolean nyTimesAllowed) {
+        if (!guardianAllowed && !nyTimesAllowed) {
+            return streamOffline(request, startTime);
+        }
+        boolean partial = !guardianAllowed || !nyTimesAllowed;
         
-        NewsSearchResponse response = buildResponseWithPagination(request, paginatedResult, startTime, false, true);
+        Set<String> seenTitles = new HashSet<>();
+        Set<String> seenUrls = new HashSet<>();
+        AtomicReference<Optional<List<NewsArticle>>> guardianResult = new AtomicReference<>(NO_ARTICLES);
+        AtomicReference<Optional<List<NewsArticle>>> nyTimesResult = new AtomicReference<>(NO_ARTICLES);
         
-        return Mono.just(response);
+        Mono<NewsStreamEvent> guardianBatch = !guardianAllowed ? Mono.empty()
+                : providerResult(UpstreamRateLimiter.GUARDIAN,
+                        guardianClient.fetchNews(request.getKeyword(), request.getPage(), request.getPageSize()))
+                    .doOnNext(guardianResult::set)
+                    .map(result -> providerEvent(UpstreamRateLimiter.GUARDIAN,
+                                                 result.orElse(Collections.emptyList()), seenTitles, seenUrls));
+        Mono<NewsStreamEvent> nyTimesBatch = !nyTimesAllowed ? Mono.empty()
+                : providerResult(UpstreamRateLimiter.NYTIMES,
+                        nyTimesClient.fetchNews(request.getKeyword(), request.getPage(), request.getPageSize()))
+                    .doOnNext(nyTimesResult::set)
+                    .map(result -> providerEvent(UpstreamRateLimiter.NYTIMES,
+                                                 result.orElse(Collections.emptyList()), seenTitles, seenUrls));
+        
+        Mono<NewsStreamEvent> summary = Mono.fromCallable(() -> {
+            List<NewsArticle> aggregatedArticles = aggregateAndDeduplicateArticles(
+                    guardianResult.get().orElse(Collections.emptyList()),
+                    nyTimesResult.get().orElse(Collections.emptyList()), StageTimings.NONE);
+            NewsSearchResponse response = buildResponse(request, aggregatedArticles, startTime, false, false);
+            boolean complete = !partial && guardianResult.get().isPresent() && nyTimesResult.get().isPresent();
+            if (complete && !deadline.isExpired(System.nanoTime())) {
+                cacheService.put(cacheKey, response);
+            }
+            return summaryEvent(response);
+        });
+        
+        return Flux.merge(guardianBatch, nyTimesBatch)
+                .concatWith(summary)
+                .onErrorResume(error -> {
+                    log.warn("Streaming search failed, falling back to offline data", error);
+                    return streamOffline(request, startTime);
+                });
+    }
+    
+    // An open breaker skips the provider without spending its quota
+    private Mono<Boolean> isAvailable(String provider) {
+        return providerResilience.isCallPermitted(provider) ? rateLimiter.acquire(provider) : Mono.just(false);
+    }
+    
+    private Flux<NewsStreamEvent> streamOffline(NewsSearchRequest request, long startTime) {
+        return handleOfflineSearch(request, startTime)
+                .flatMapMany(response -> Flux.just(
+                        batchEvent(NewsStreamEvent.Type.OFFLINE, "offline", response.getArticles()),
+                        summaryEvent(response)));
     }
     
-    private List<NewsArticle> aggregateAndDeduplicateArticles(List<NewsArticle> guardianArticles, List<NewsArticle> nyTimesArticles) {
-        // Use custom aggregation logic without 3rd party libraries
-        return com.newsaggregator.util.NewsAggregator.aggregateAndSort(guardianArticles, nyTimesArticles);
+    private NewsStreamEvent providerEvent(String provider, List<NewsArticle> articles,
+                                          Set<String> seenTitles, Set<String> seenUrls) {
+        synchronized (seenTitles) {
+            return batchEvent(NewsStreamEvent.Type.PROVIDER, provider,
+                              NewsDeduplicator.deduplicate(articles, seenTitles, seenUrls));
+        }
+    }
+    
+    private NewsStreamEvent batchEvent(NewsStreamEvent.Type type, String source, List<NewsArticle> articles) {
+        return NewsStreamEvent.builder().type(type).source(source).articles(articles).build();
+    }
+    
+    // The articles were already streamed, so the summary carries metadata only
+    private NewsStreamEvent summaryEvent(NewsSearchResponse response) {
+        NewsSearchResponse metadata = NewsSearchResponse.builder()
+                .searchKeyword(response.getSearchKeyword())
+                .city(response.getCity())
+                .currentPage(response.getCurrentPage())
+                .totalPages(response.getTotalPages())
+                .totalResults(response.getTotalResults())
+                .pageSize(response.getPageSize())
+                .previousPage(response.getPreviousPage())
+                .nextPage(response.getNextPage())
+                .executionTimeMs(response.getExecutionTimeMs())
+                .fromCache(response.isFromCache())
+                .offlineMode(response.isOfflineMode())
+                .build();
+        return NewsStreamEvent.builder().type(NewsStreamEvent.Type.SUMMARY).summary(metadata).build();
+    }
+    
+    private Mono<NewsSearchResponse> handleOfflineSearch(NewsSearchRequest request, long startTime) {
+        return Mono.deferContextual(context -> {
+            long allocationMark = searchMetrics.allocationMark(SearchMetrics.OFFLINE_FILTER);
+            List<NewsArticle> offlineArticles = offlineDataService.getOfflineArticles(request.getKeyword());
+            searchMetrics.allocated(SearchMetrics.OFFLINE_FILTER, allocationMark);
+            searchTracer.record(SearchTracer.traceId(context), Checkpoint.OFFLINE_FILTERED, offlineArticles.size());
+            long paginateStart = System.nanoTime();
+            long paginateMark = searchMetrics.allocationMark(SearchMetrics.PAGINATE);
+            NewsPaginator.PaginatedResult paginatedResult =
+                NewsPaginator.paginate(offlineArticles, request.getPage(), request.getPageSize());
+            searchMetrics.allocated(SearchMetrics.PAGINATE, paginateMark);
+            searchMetrics.paginate(System.nanoTime() - paginateStart, StageTimings.from(context));
+            
+            NewsSearchResponse response = buildResponseWithPagination(request, paginatedResult, startTime, false, true);
+            
+            return Mono.just(response);
+        });
+    }
+    
+    // Same result as NewsAggregator.aggregateAndSort, with dedup and sort timed separately
+    private List<NewsArticle> aggregateAndDeduplicateArticles(List<NewsArticle> guardianArticles,
+                                                              List<NewsArticle> nyTimesArticles,
+                                                              StageTimings timings) {
+        List<NewsArticle> allArticles = new ArrayList<>(guardianArticles.size() + nyTimesArticles.size());
+        allArticles.addAll(guardianArticles);
+        allArticles.addAll(nyTimesArticles);
+        
+        long dedupStart = System.nanoTime();
+        long dedupMark = searchMetrics.allocationMark(SearchMetrics.DEDUP);
+        List<NewsArticle> uniqueArticles = NewsDeduplicator.deduplicate(allArticles);
+        searchMetrics.allocated(SearchMetrics.DEDUP, dedupMark);
+        long sortStart = System.nanoTime();
+        long sortMark = searchMetrics.allocationMark(SearchMetrics.SORT);
+        NewsAggregator.sortNewestFirst(uniqueArticles);
+        searchMetrics.allocated(SearchMetrics.SORT, sortMark);
+        long sortEnd = System.nanoTime();
+        
+        searchMetrics.dedup(sortStart - dedupStart, timings);
+        searchMetrics.sort(sortEnd - sortStart, timings);
+        return uniqueArticles;
     }
     
     private List<NewsArticle> paginateArticles(List<NewsArticle> articles, int page, int pageSize) {
         // Use custom pagination logic without 3rd party libraries
-        com.newsaggregator.util.NewsPaginator.PaginatedResult result = 
-            com.newsaggregator.util.NewsPaginator.paginate(articles, page, pageSize);
+        NewsPaginator.PaginatedResult result =
+            NewsPaginator.paginate(articles, page, pageSize);
         return result.getArticles();
     }
     
-    private NewsSearchResponse buildResponse(NewsSearchRequest request, List<NewsArticle> articles, 
+    private NewsSearchResponse buildResponse(NewsSearchRequest request, List<NewsArticle> articles,
                                            long startTime, boolean fromCache, boolean offlineMode) {
         long executionTime = System.currentTimeMillis() - startTime;
         
@@ -126,8 +393,8 @@ public class NewsAggregatorService {
                 .build();
     }
     
-    private NewsSearchResponse buildResponseWithPagination(NewsSearchRequest request, 
-                                                          com.newsaggregator.util.NewsPaginator.PaginatedResult paginatedResult,
+    private NewsSearchResponse buildResponseWithPagination(NewsSearchRequest request,
+                                                          NewsPaginator.PaginatedResult paginatedResult,
                                                           long startTime, boolean fromCache, boolean offlineMode) {
         long executionTime = System.currentTimeMillis() - startTime;
         
@@ -20,14 +20,10 @@ public class OfflineDataService {
     }
     
     public List<NewsArticle> getOfflineArticles(String keyword) {
-        log.debug("🔍 [DEBUG-17] OfflineDataService.getOfflineArticles() - keyword: {}", keyword);
-        log.debug("🔍 [DEBUG-18] Total offline articles available: {}", offlineArticles.size());
-        
         List<NewsArticle> filteredArticles = offlineArticles.stream()
                 .filter(article -> containsKeyword(article, keyword.toLowerCase()))
                 .collect(Collectors.toList());
         
-        log.debug("🔍 [DEBUG-19] Filtered articles for keyword '{}': {}", keyword, filteredArticles.size());
         return filteredArticles;
     }
     
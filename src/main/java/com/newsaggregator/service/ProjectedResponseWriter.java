@@ -0,0 +1,124 @@
+package com.newsaggregator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.FieldProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// JSON writer for search responses restricted to a subset of article fields.
+// Each projection gets its own mapper whose NewsArticle serializer only has
+// the selected properties, so unselected fields are never read or copied and
+// the serializer is built once per projection. Projections are chosen by
+// clients, so only the most recently used ones keep their writer.
+@Service
+public class ProjectedResponseWriter {
+    
+    private static final int DEFAULT_MAX_WRITERS = 64;
+    
+    private final ObjectMapper objectMapper;
+    private final Set<String> articleFields;
+    private final ObjectWriter fullWriter;
+    private final Map<FieldProjection, ObjectWriter> writers;
+    
+    public ProjectedResponseWriter(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_MAX_WRITERS);
+    }
+    
+    @Autowired
+    public ProjectedResponseWriter(ObjectMapper objectMapper,
+                                   @Value("${news.projection.max-writers:64}") int maxWriters) {
+        this.objectMapper = objectMapper;
+        Set<String> fields = new HashSet<>();
+        BeanDescription description = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(NewsArticle.class));
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            fields.add(property.getName());
+        }
+        this.articleFields = Collections.unmodifiableSet(fields);
+        this.fullWriter = objectMapper.writerFor(NewsSearchResponse.class);
+        this.writers = new LinkedHashMap<FieldProjection, ObjectWriter>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FieldProjection, ObjectWriter> eldest) {
+                return size() > maxWriters;
+            }
+        };
+    }
+    
+    // InvalidRequestException for unknown field names
+    public FieldProjection parse(String fields) {
+        return FieldProjection.parse(fields, articleFields);
+    }
+    
+    public byte[] write(NewsSearchResponse response, FieldProjection projection) {
+        try {
+            return writer(projection).writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize search response", e);
+        }
+    }
+    
+    public int cachedWriters() {
+        synchronized (writers) {
+            return writers.size();
+        }
+    }
+    
+    private ObjectWriter writer(FieldProjection projection) {
+        if (projection.isAll()) {
+            return fullWriter;
+        }
+        ObjectWriter writer;
+        synchronized (writers) {
+            writer = writers.get(projection);
+        }
+        if (writer == null) {
+            // Built outside the lock; a concurrent duplicate is harmless
+            writer = createWriter(projection);
+            synchronized (writers) {
+                writers.put(projection, writer);
+            }
+        }
+        return writer;
+    }
+    
+    private ObjectWriter createWriter(FieldProjection projection) {
+        SimpleModule module = new SimpleModule("article-projection-" + projection.key());
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> properties) {
+                if (beanDesc.getBeanClass() != NewsArticle.class) {
+                    return properties;
+                }
+                List<BeanPropertyWriter> selected = new ArrayList<>();
+                for (BeanPropertyWriter property : properties) {
+                    if (projection.includes(property.getName())) {
+                        selected.add(property);
+                    }
+                }
+                return selected;
+            }
+        });
+        return objectMapper.copy().registerModule(module).writerFor(NewsSearchResponse.class);
+    }
+}
\ No newline at end of file
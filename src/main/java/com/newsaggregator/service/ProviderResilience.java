@@ -0,0 +1,189 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.DeadlineExceededException;
+import com.newsaggregator.util.Backoff;
+import com.newsaggregator.util.Deadline;
+import com.newsaggregator.util.RetryBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Circuit breaker, retry and bulkhead per upstream provider, so one provider
+// failing or slowing down does not take the other with it. Breakers and
+// bulkheads come from the resilience4j registries (resilience4j.*.instances.
+// guardian / nytimes), which also export their state as resilience4j.* meters.
+//
+// Retries take max-attempts and retry-exceptions from the same registry but
+// are run here: each one needs budget from the provider's RetryBudget, waits
+// a decorrelated-jitter backoff, and is skipped when the request's Deadline
+// cannot fit the wait plus a typical attempt. A retry is a new upstream
+// request, so it also needs a permit from the caller, normally a token from
+// UpstreamRateLimiter. Each attempt is also cut off at the Deadline; the
+// breaker releases that call instead of recording it.
+@Service
+public class ProviderResilience {
+    
+    public static final String RETRY_COUNTER = "news.upstream.retries";
+    
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RetryRegistry retries;
+    private final BulkheadRegistry bulkheads;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ProviderRetries> providerRetries = new ConcurrentHashMap<>();
+    
+    // Retries allowed per successful call over the window
+    @Value("${news.retry.budget.ratio:0.1}")
+    private double budgetRatio = 0.1;
+    
+    @Value("${news.retry.budget.min-per-second:1}")
+    private double budgetMinPerSecond = 1;
+    
+    @Value("${news.retry.budget.window-seconds:10}")
+    private int budgetWindowSeconds = 10;
+    
+    @Value("${news.retry.backoff.base-ms:100}")
+    private long backoffBaseMillis = 100;
+    
+    @Value("${news.retry.backoff.cap-ms:2000}")
+    private long backoffCapMillis = 2000;
+    
+    public ProviderResilience(CircuitBreakerRegistry circuitBreakers, RetryRegistry retries,
+                              BulkheadRegistry bulkheads, MeterRegistry meterRegistry) {
+        this.circuitBreakers = circuitBreakers;
+        this.retries = retries;
+        this.bulkheads = bulkheads;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public <T> Mono<T> protect(String provider, Mono<T> call) {
+        return protect(provider, call, Mono.just(true));
+    }
+    
+    // Every attempt passes the breaker, so retries count towards its failure
+    // and slow-call rates; the bulkhead caps concurrent attempts. retryPermit
+    // is subscribed once per retry; the first attempt's permit is the caller's.
+    public <T> Mono<T> protect(String provider, Mono<T> call, Mono<Boolean> retryPermit) {
+        Mono<T> guarded = call
+                .transformDeferred(BulkheadOperator.of(bulkhead(provider)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(provider)));
+        ProviderRetries state = providerRetries(provider);
+        return Mono.deferContextual(context -> attempt(guarded, state, retryPermit, Deadline.from(context), 1, 0));
+    }
+    
+    // False while the provider's breaker is open; the fan-out skips it then
+    public boolean isCallPermitted(String provider) {
+        CircuitBreaker.State state = circuitBreaker(provider).getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+    
+    public CircuitBreaker circuitBreaker(String provider) {
+        return circuitBreakers.circuitBreaker(provider);
+    }
+    
+    private <T> Mono<T> attempt(Mono<T> guarded, ProviderRetries state, Mono<Boolean> retryPermit,
+                                Deadline deadline, int attempt, long previousDelayMillis) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return deadline.enforce(guarded)
+                    .doOnSuccess(result -> state.succeeded(System.nanoTime() - start))
+                    .onErrorResume(error -> {
+                        if (attempt >= state.config.getMaxAttempts() || !isRetryable(state.config, error)) {
+                            return Mono.error(error);
+                        }
+                        long delayMillis = Backoff.decorrelatedJitter(previousDelayMillis, backoffBaseMillis,
+                                                                      backoffCapMillis, ThreadLocalRandom.current());
+                        long now = System.nanoTime();
+                        if (deadline.remainingNanos(now)
+                            < TimeUnit.MILLISECONDS.toNanos(delayMillis) + state.typicalAttemptNanos.get()) {
+                            state.deadlineSkipped.increment();
+                            return Mono.error(error);
+                        }
+                        if (!state.budget.tryRetry(now)) {
+                            state.budgetExhausted.increment();
+                            return Mono.error(error);
+                        }
+                        return retryPermit.flatMap(granted -> {
+                            if (!granted) {
+                                state.rateLimited.increment();
+                                return Mono.<T>error(error);
+                            }
+                            state.retried.increment();
+                            return Mono.delay(Duration.ofMillis(delayMillis))
+                                    .then(attempt(guarded, state, retryPermit, deadline, attempt + 1, delayMillis));
+                        });
+                    });
+        });
+    }
+    
+    // Rejections by our own breaker or bulkhead and deadline cut-offs are never retried
+    private static boolean isRetryable(RetryConfig config, Throwable error) {
+        return !(error instanceof CallNotPermittedException) && !(error instanceof BulkheadFullException)
+               && !(error instanceof DeadlineExceededException) && config.getExceptionPredicate().test(error);
+    }
+    
+    private ProviderRetries providerRetries(String provider) {
+        return providerRetries.computeIfAbsent(provider, name -> new ProviderRetries(name,
+                retries.retry(name).getRetryConfig(),
+                new RetryBudget(budgetRatio, budgetMinPerSecond, budgetWindowSeconds)));
+    }
+    
+    private Bulkhead bulkhead(String provider) {
+        return bulkheads.bulkhead(provider);
+    }
+    
+    private Counter retryCounter(String provider, String outcome) {
+        return Counter.builder(RETRY_COUNTER)
+                .description("Upstream retries made or skipped")
+                .tags("provider", provider, "outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private class ProviderRetries {
+        final RetryConfig config;
+        final RetryBudget budget;
+        final Counter retried;
+        final Counter budgetExhausted;
+        final Counter deadlineSkipped;
+        final Counter rateLimited;
+        // Moving average of successful attempt durations
+        final AtomicLong typicalAttemptNanos = new AtomicLong();
+        
+        ProviderRetries(String provider, RetryConfig config, RetryBudget budget) {
+            this.config = config;
+            this.budget = budget;
+            this.retried = retryCounter(provider, "retried");
+            this.budgetExhausted = retryCounter(provider, "budget_exhausted");
+            this.deadlineSkipped = retryCounter(provider, "deadline");
+            this.rateLimited = retryCounter(provider, "rate_limited");
+            Gauge.builder("news.upstream.retry.budget", budget, b -> b.available(System.nanoTime()))
+                    .description("Retries the provider's budget currently allows")
+                    .tag("provider", provider)
+                    .register(meterRegistry);
+        }
+        
+        void succeeded(long nanos) {
+            budget.recordSuccess(System.nanoTime());
+            typicalAttemptNanos.updateAndGet(typical -> typical == 0 ? nanos : (typical * 7 + nanos) / 8);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.util.StageTimings;
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latency breakdown of the search pipeline as one news.search.stage timer per
+// stage, tagged by provider and outcome. Timers are registered up front so a
+// stage costs two nanoTime reads and a timer update; histogram buckets are
+// configured under management.metrics.distribution.
+//
+// Bytes allocated by the CPU-bound stages are sampled into news.search.allocation
+// from the thread allocation counter. A stage must start and finish on the
+// same thread between allocationMark and allocated.
+@Service
+public class SearchMetrics {
+    
+    public static final String STAGE_TIMER = "news.search.stage";
+    public static final String ALLOCATION_SUMMARY = "news.search.allocation";
+    
+    public static final String GUARDIAN_PARSE = "guardian-parse";
+    public static final String NYTIMES_PARSE = "nytimes-parse";
+    public static final String DEDUP = "dedup";
+    public static final String SORT = "sort";
+    public static final String PAGINATE = "paginate";
+    public static final String SERIALIZE = "serialize";
+    public static final String OFFLINE_FILTER = "offline-filter";
+    
+    private static final String NONE = "none";
+    private static final ThreadMXBean ALLOCATION_COUNTER = allocationCounter();
+    
+    private final Timer cacheHit;
+    private final Timer cacheMiss;
+    private final Timer dedup;
+    private final Timer sort;
+    private final Timer paginate;
+    private final Timer serialize;
+    private final Map<String, Timer> providerSuccess = new HashMap<>();
+    private final Map<String, Timer> providerError = new HashMap<>();
+    private final Map<String, Timer> parse = new HashMap<>();
+    private final Map<String, AllocationStage> allocation = new HashMap<>();
+    
+    // Every Nth run of each stage is measured; 0 turns allocation sampling off
+    @Value("${news.metrics.allocation.sample-every:16}")
+    private int allocationSampleEvery;
+    
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        cacheHit = timer(meterRegistry, "cache", NONE, "hit");
+        cacheMiss = timer(meterRegistry, "cache", NONE, "miss");
+        dedup = timer(meterRegistry, "dedup", NONE, NONE);
+        sort = timer(meterRegistry, "sort", NONE, NONE);
+        paginate = timer(meterRegistry, "paginate", NONE, NONE);
+        serialize = timer(meterRegistry, "serialize", NONE, NONE);
+        for (String provider : new String[] {UpstreamRateLimiter.GUARDIAN, UpstreamRateLimiter.NYTIMES}) {
+            providerSuccess.put(provider, timer(meterRegistry, "provider", provider, "success"));
+            providerError.put(provider, timer(meterRegistry, "provider", provider, "error"));
+            parse.put(provider, timer(meterRegistry, "parse", provider, NONE));
+        }
+        allocationStage(meterRegistry, GUARDIAN_PARSE, "parse", UpstreamRateLimiter.GUARDIAN);
+        allocationStage(meterRegistry, NYTIMES_PARSE, "parse", UpstreamRateLimiter.NYTIMES);
+        for (String stage : new String[] {DEDUP, SORT, PAGINATE, SERIALIZE, OFFLINE_FILTER}) {
+            allocationStage(meterRegistry, stage, stage, NONE);
+        }
+    }
+    
+    public void cacheLookup(long nanos, boolean hit, StageTimings timings) {
+        record(hit ? cacheHit : cacheMiss, "cache", nanos, timings);
+    }
+    
+    public void providerCall(String provider, long nanos, boolean success, StageTimings timings) {
+        record((success ? providerSuccess : providerError).get(provider), provider, nanos, timings);
+    }
+    
+    public void parse(String provider, long nanos, StageTimings timings) {
+        record(parse.get(provider), provider + "-parse", nanos, timings);
+    }
+    
+    public void dedup(long nanos, StageTimings timings) {
+        record(dedup, "dedup", nanos, timings);
+    }
+    
+    public void sort(long nanos, StageTimings timings) {
+        record(sort, "sort", nanos, timings);
+    }
+    
+    public void paginate(long nanos, StageTimings timings) {
+        record(paginate, "paginate", nanos, timings);
+    }
+    
+    public void serialize(long nanos, StageTimings timings) {
+        record(serialize, "serialize", nanos, timings);
+    }
+    
+    // Times a provider call from subscription to its result or error
+    public <T> Mono<T> timeProviderCall(String provider, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            StageTimings timings = StageTimings.from(context);
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> providerCall(provider, System.nanoTime() - start, true, timings))
+                    .doOnError(error -> providerCall(provider, System.nanoTime() - start, false, timings));
+        });
+    }
+    
+    // Bytes the calling thread has allocated so far if this run of the stage is
+    // sampled, otherwise -1
+    public long allocationMark(String stage) {
+        AllocationStage allocationStage = allocation.get(stage);
+        if (ALLOCATION_COUNTER == null || allocationStage == null || allocationSampleEvery <= 0
+            || allocationStage.runs.getAndIncrement() % allocationSampleEvery != 0) {
+            return -1;
+        }
+        return ALLOCATION_COUNTER.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    public void allocated(String stage, long mark) {
+        if (mark < 0) {
+            return;
+        }
+        long bytes = ALLOCATION_COUNTER.getThreadAllocatedBytes(Thread.currentThread().getId()) - mark;
+        if (bytes >= 0) {
+            allocation.get(stage).bytes.record(bytes);
+        }
+    }
+    
+    public boolean isAllocationSampling() {
+        return ALLOCATION_COUNTER != null && allocationSampleEvery > 0;
+    }
+    
+    public int getAllocationSampleEvery() {
+        return allocationSampleEvery;
+    }
+    
+    private void allocationStage(MeterRegistry meterRegistry, String key, String stage, String provider) {
+        allocation.put(key, new AllocationStage(DistributionSummary.builder(ALLOCATION_SUMMARY)
+                .description("Bytes allocated by one run of a search stage, sampled")
+                .baseUnit("bytes")
+                .tags("stage", stage, "provider", provider)
+                .register(meterRegistry)));
+    }
+    
+    private static ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof ThreadMXBean)) {
+            return null;
+        }
+        ThreadMXBean counter = (ThreadMXBean) threads;
+        if (!counter.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!counter.isThreadAllocatedMemoryEnabled()) {
+            counter.setThreadAllocatedMemoryEnabled(true);
+        }
+        return counter;
+    }
+    
+    private static void record(Timer timer, String stage, long nanos, StageTimings timings) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        timings.add(stage, nanos);
+    }
+    
+    private static Timer timer(MeterRegistry meterRegistry, String stage, String provider, String outcome) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of a news search")
+                .tags("stage", stage, "provider", provider, "outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private static class AllocationStage {
+        final DistributionSummary bytes;
+        final AtomicLong runs = new AtomicLong();
+        
+        AllocationStage(DistributionSummary bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
\ No newline at end of file
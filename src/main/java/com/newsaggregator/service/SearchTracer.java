@@ -0,0 +1,222 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.SearchTraceEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Checkpoint tracing for sampled searches. Each thread appends fixed-size
+// events (trace id, checkpoint, nanoTime, value) to its own ring, so recording
+// takes no lock and allocates nothing; unsampled requests carry trace id 0
+// and return straight away. Events are joined per trace id when dumped.
+@Service
+public class SearchTracer {
+    
+    public enum Checkpoint {
+        REQUEST_RECEIVED,
+        SERVICE_ENTRY,
+        CACHE_HIT,
+        CACHE_MISS,
+        OFFLINE_MODE,
+        ONLINE_FETCH,
+        GUARDIAN_RESPONSE,
+        GUARDIAN_ERROR,
+        NYTIMES_RESPONSE,
+        NYTIMES_ERROR,
+        AGGREGATION_START,
+        AGGREGATED,
+        RESPONSE_CACHED,
+        OFFLINE_FILTERED,
+        RESPONSE_READY
+    }
+    
+    private static final Checkpoint[] CHECKPOINTS = Checkpoint.values();
+    
+    private final AtomicLong requests = new AtomicLong();
+    private final List<Ring> rings = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Ring> ring = ThreadLocal.withInitial(this::newRing);
+    private final Map<Long, String> sampled = new LinkedHashMap<Long, String>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > recentRequests;
+        }
+    };
+    
+    @Value("${news.trace.enabled:false}")
+    private boolean enabled;
+    
+    // Trace one search in this many
+    @Value("${news.trace.sample-every:100}")
+    private int sampleEvery = 100;
+    
+    // Events kept per thread, rounded up to a power of two
+    @Value("${news.trace.ring-size:1024}")
+    private int ringSize = 1024;
+    
+    @Value("${news.trace.recent-requests:64}")
+    private int recentRequests = 64;
+    
+    // Rings of finished threads stay readable this long after their last event
+    @Value("${news.trace.dead-ring-retention-seconds:300}")
+    private long deadRingRetentionSeconds = 300;
+    
+    // Trace id for a new search, or 0 when it is not sampled
+    public long start(String keyword) {
+        if (!enabled) {
+            return 0;
+        }
+        long id = requests.incrementAndGet();
+        if (id % sampleEvery != 0) {
+            return 0;
+        }
+        synchronized (sampled) {
+            sampled.put(id, keyword);
+        }
+        return id;
+    }
+    
+    public void record(long traceId, Checkpoint checkpoint, long value) {
+        if (traceId == 0) {
+            return;
+        }
+        ring.get().append(traceId, checkpoint, System.nanoTime(), value);
+    }
+    
+    public static Context context(long traceId) {
+        return traceId == 0 ? Context.empty() : Context.of(SearchTracer.class, traceId);
+    }
+    
+    public static long traceId(ContextView context) {
+        return context.getOrDefault(SearchTracer.class, 0L);
+    }
+    
+    // Recently sampled trace ids with their keywords, newest last
+    public Map<Long, String> recent() {
+        synchronized (sampled) {
+            return new LinkedHashMap<>(sampled);
+        }
+    }
+    
+    public String keyword(long traceId) {
+        synchronized (sampled) {
+            return sampled.get(traceId);
+        }
+    }
+    
+    // Events of one trace in time order; older events may have been
+    // overwritten on busy threads
+    public List<SearchTraceEvent> events(long traceId) {
+        List<RawEvent> raw = new ArrayList<>();
+        for (Ring threadRing : rings) {
+            threadRing.collect(traceId, raw);
+        }
+        raw.sort(Comparator.comparingLong(event -> event.nanos));
+        
+        List<SearchTraceEvent> events = new ArrayList<>(raw.size());
+        for (RawEvent event : raw) {
+            events.add(SearchTraceEvent.builder()
+                    .checkpoint(CHECKPOINTS[event.checkpoint].name())
+                    .thread(event.thread)
+                    .offsetMicros((event.nanos - raw.get(0).nanos) / 1000)
+                    .value(event.value)
+                    .build());
+        }
+        return events;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    // Rings of finished threads are dropped once aged out, when a new thread
+    // starts tracing; until then a trace that touched a short-lived thread can
+    // still be dumped in full
+    private Ring newRing() {
+        long now = System.nanoTime();
+        long retentionNanos = TimeUnit.SECONDS.toNanos(deadRingRetentionSeconds);
+        rings.removeIf(existing -> !existing.owner.isAlive() && now - existing.lastEventNanos() > retentionNanos);
+        Ring created = new Ring(Thread.currentThread(), Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1);
+        rings.add(created);
+        return created;
+    }
+    
+    // Single writer (the owning thread); readers check the write counter
+    // again after copying so slots overwritten meanwhile are skipped
+    private static class Ring {
+        final Thread owner;
+        final long createdNanos = System.nanoTime();
+        final long[] traceIds;
+        final long[] nanos;
+        final long[] values;
+        final byte[] checkpoints;
+        final int mask;
+        volatile long written;
+        
+        Ring(Thread owner, int size) {
+            this.owner = owner;
+            this.traceIds = new long[size];
+            this.nanos = new long[size];
+            this.values = new long[size];
+            this.checkpoints = new byte[size];
+            this.mask = size - 1;
+        }
+        
+        void append(long traceId, Checkpoint checkpoint, long time, long value) {
+            long position = written;
+            int slot = (int) (position & mask);
+            traceIds[slot] = traceId;
+            nanos[slot] = time;
+            values[slot] = value;
+            checkpoints[slot] = (byte) checkpoint.ordinal();
+            written = position + 1;
+        }
+        
+        long lastEventNanos() {
+            long end = written;
+            return end == 0 ? createdNanos : nanos[(int) ((end - 1) & mask)];
+        }
+        
+        void collect(long traceId, List<RawEvent> events) {
+            long end = written;
+            List<RawEvent> found = new ArrayList<>();
+            for (long position = Math.max(0, end - traceIds.length); position < end; position++) {
+                int slot = (int) (position & mask);
+                if (traceIds[slot] == traceId) {
+                    found.add(new RawEvent(position, nanos[slot], checkpoints[slot], values[slot], owner.getName()));
+                }
+            }
+            long overwrittenBefore = written - traceIds.length;
+            for (RawEvent event : found) {
+                if (event.position >= overwrittenBefore) {
+                    events.add(event);
+                }
+            }
+        }
+    }
+    
+    private static class RawEvent {
+        final long position;
+        final long nanos;
+        final int checkpoint;
+        final long value;
+        final String thread;
+        
+        RawEvent(long position, long nanos, int checkpoint, long value, String thread) {
+            this.position = position;
+            this.nanos = nanos;
+            this.checkpoint = checkpoint;
+            this.value = value;
+            this.thread = thread;
+        }
+    }
+}
\ No newline at end of file
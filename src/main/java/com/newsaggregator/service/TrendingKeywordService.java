@@ -0,0 +1,100 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.util.SpaceSavingSketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class TrendingKeywordService {
+    
+    private final SpaceSavingSketch sketch;
+    private final Path keywordsFile;
+    
+    public TrendingKeywordService(@Value("${news.warmup.tracked-keywords:200}") int trackedKeywords,
+                                  @Value("${news.warmup.keywords-file:}") String keywordsFile) {
+        this.sketch = new SpaceSavingSketch(trackedKeywords);
+        this.keywordsFile = keywordsFile.isEmpty() ? null : Paths.get(keywordsFile);
+    }
+    
+    public void record(String keyword) {
+        if (keyword == null) {
+            return;
+        }
+        String normalized = normalize(keyword);
+        if (!normalized.isEmpty()) {
+            sketch.offer(normalized);
+        }
+    }
+    
+    public List<String> topKeywords(int k) {
+        return new ArrayList<>(sketch.top(k).keySet());
+    }
+    
+    public void decay() {
+        sketch.decay();
+    }
+    
+    @PostConstruct
+    public void load() {
+        if (keywordsFile == null || !Files.exists(keywordsFile)) {
+            return;
+        }
+        
+        try {
+            for (String line : Files.readAllLines(keywordsFile, StandardCharsets.UTF_8)) {
+                int separator = line.lastIndexOf('\t');
+                if (separator > 0) {
+                    sketch.offer(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+                }
+            }
+            log.info("Loaded {} trending keywords from {}", sketch.size(), keywordsFile);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Could not load trending keywords from {}", keywordsFile, e);
+        }
+    }
+    
+    @PreDestroy
+    public void persist() {
+        if (keywordsFile == null) {
+            return;
+        }
+        
+        LinkedHashMap<String, Long> top = sketch.top(Integer.MAX_VALUE);
+        List<String> lines = new ArrayList<>(top.size());
+        for (Map.Entry<String, Long> entry : top.entrySet()) {
+            lines.add(entry.getKey() + "\t" + entry.getValue());
+        }
+        
+        try {
+            if (keywordsFile.getParent() != null) {
+                Files.createDirectories(keywordsFile.getParent());
+            }
+            // Write then rename so a crash never leaves a truncated list behind
+            Path tempFile = keywordsFile.resolveSibling(keywordsFile.getFileName() + ".tmp");
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, keywordsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist trending keywords to {}", keywordsFile, e);
+        }
+    }
+    
+    // Same form as cache keys; also keeps tabs and newlines out of the keywords file
+    private String normalize(String keyword) {
+        return CacheService.normalizeKeyword(keyword);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.client.SharedCacheClient;
+import com.newsaggregator.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Per-provider quota guard for the Guardian and NYT APIs. A token bucket caps
+// the short-term rate and a UTC-day counter caps daily usage. In distributed
+// mode both are also checked against counters in the shared cache so the
+// quota holds across all replicas.
+@Service
+@Slf4j
+public class UpstreamRateLimiter {
+    
+    public static final String GUARDIAN = "guardian";
+    public static final String NYTIMES = "nytimes";
+    
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final long DAY_KEY_TTL_MILLIS = TimeUnit.HOURS.toMillis(26);
+    
+    private final MeterRegistry meterRegistry;
+    private final SharedCacheClient sharedCache;
+    private final Map<String, ProviderLimit> limits = new HashMap<>();
+    
+    @Value("${news.ratelimit.enabled:true}")
+    private boolean enabled;
+    
+    // local or distributed
+    @Value("${news.ratelimit.mode:local}")
+    private String mode;
+    
+    @Value("${news.ratelimit.guardian.requests-per-second:10}")
+    private double guardianPerSecond;
+    
+    @Value("${news.ratelimit.guardian.burst:10}")
+    private int guardianBurst;
+    
+    @Value("${news.ratelimit.guardian.requests-per-day:5000}")
+    private long guardianPerDay;
+    
+    @Value("${news.ratelimit.nytimes.requests-per-second:0.16}")
+    private double nyTimesPerSecond;
+    
+    @Value("${news.ratelimit.nytimes.burst:2}")
+    private int nyTimesBurst;
+    
+    @Value("${news.ratelimit.nytimes.requests-per-day:500}")
+    private long nyTimesPerDay;
+    
+    @Autowired
+    public UpstreamRateLimiter(MeterRegistry meterRegistry, Optional<SharedCacheClient> sharedCache) {
+        this.meterRegistry = meterRegistry;
+        this.sharedCache = sharedCache.orElse(null);
+    }
+    
+    @PostConstruct
+    public void init() {
+        if ("distributed".equalsIgnoreCase(mode) && sharedCache == null) {
+            log.warn("Distributed rate limiting needs news.cache.l2.type set; limiting per node instead");
+        }
+        register(GUARDIAN, guardianPerSecond, guardianBurst, guardianPerDay);
+        register(NYTIMES, nyTimesPerSecond, nyTimesBurst, nyTimesPerDay);
+    }
+    
+    // False means the call would exceed the provider's quota and must not be made
+    public boolean tryAcquire(String provider) {
+        ProviderLimit limit = limits.get(provider);
+        if (!enabled || limit == null) {
+            return true;
+        }
+        
+        if (!limit.bucket.tryConsume(System.nanoTime())) {
+            limit.refused.increment();
+            return false;
+        }
+        
+        boolean allowed = isDistributed() ? acquireShared(limit) : acquireDaily(limit);
+        if (!allowed) {
+            limit.bucket.refund();
+            limit.refused.increment();
+        }
+        return allowed;
+    }
+    
+    // tryAcquire for reactive callers, evaluated on each subscription. In distributed
+    // mode the shared counters cost two blocking round trips, run on boundedElastic.
+    public Mono<Boolean> acquire(String provider) {
+        Mono<Boolean> acquired = Mono.fromCallable(() -> tryAcquire(provider));
+        return isDistributed() ? acquired.subscribeOn(Schedulers.boundedElastic()) : acquired;
+    }
+    
+    public long remainingDailyQuota(String provider) {
+        ProviderLimit limit = limits.get(provider);
+        if (limit == null) {
+            return Long.MAX_VALUE;
+        }
+        synchronized (limit) {
+            return limit.day == today() ? Math.max(0, limit.perDay - limit.usedToday) : limit.perDay;
+        }
+    }
+    
+    private void register(String provider, double perSecond, int burst, long perDay) {
+        ProviderLimit limit = new ProviderLimit(provider, perSecond, burst, perDay,
+                Counter.builder("news.upstream.ratelimited")
+                        .description("Upstream calls refused by the rate limiter")
+                        .tag("provider", provider)
+                        .register(meterRegistry));
+        limits.put(provider, limit);
+        
+        Gauge.builder("news.upstream.quota.remaining", limit, l -> l.bucket.available(System.nanoTime()))
+                .description("Remaining upstream quota")
+                .tags("provider", provider, "window", "burst")
+                .register(meterRegistry);
+        Gauge.builder("news.upstream.quota.remaining", this, limiter -> limiter.remainingDailyQuota(provider))
+                .description("Remaining upstream quota")
+                .tags("provider", provider, "window", "day")
+                .register(meterRegistry);
+    }
+    
+    private boolean isDistributed() {
+        return sharedCache != null && "distributed".equalsIgnoreCase(mode);
+    }
+    
+    private boolean acquireDaily(ProviderLimit limit) {
+        synchronized (limit) {
+            long today = today();
+            if (limit.day != today) {
+                limit.day = today;
+                limit.usedToday = 0;
+            }
+            if (limit.usedToday >= limit.perDay) {
+                return false;
+            }
+            limit.usedToday++;
+            return true;
+        }
+    }
+    
+    // The shared burst window is the time a full bucket takes to refill, so
+    // the cluster as a whole gets the same rate as a single node would
+    private boolean acquireShared(ProviderLimit limit) {
+        long nowMillis = System.currentTimeMillis();
+        long window = nowMillis / limit.windowMillis;
+        String windowKey = KEY_PREFIX + limit.provider + ":w:" + window;
+        String dayKey = KEY_PREFIX + limit.provider + ":d:" + today();
+        
+        try {
+            if (sharedCache.incrementBy(windowKey, 1, limit.windowMillis * 2) > limit.burst) {
+                return false;
+            }
+            long used = sharedCache.incrementBy(dayKey, 1, DAY_KEY_TTL_MILLIS);
+            if (used > limit.perDay) {
+                sharedCache.incrementBy(dayKey, -1, DAY_KEY_TTL_MILLIS);
+                recordSharedUsage(limit, limit.perDay);
+                return false;
+            }
+            recordSharedUsage(limit, used);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Shared rate limit check failed for {}, using local quota: {}", limit.provider, e.getMessage());
+            return acquireDaily(limit);
+        }
+    }
+    
+    private void recordSharedUsage(ProviderLimit limit, long used) {
+        synchronized (limit) {
+            limit.day = today();
+            limit.usedToday = used;
+        }
+    }
+    
+    private static long today() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay();
+    }
+    
+    private static class ProviderLimit {
+        final String provider;
+        final TokenBucket bucket;
+        final int burst;
+        final long perDay;
+        final long windowMillis;
+        final Counter refused;
+        long day;
+        long usedToday;
+        
+        ProviderLimit(String provider, double perSecond, int burst, long perDay, Counter refused) {
+            this.provider = provider;
+            this.bucket = new TokenBucket(burst, perSecond, System.nanoTime());
+            this.burst = burst;
+            this.perDay = perDay;
+            this.windowMillis = Math.max(1, (long) Math.ceil(1000.0 * burst / perSecond));
+            this.refused = refused;
+            this.day = today();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.newsaggregator.util;
+
+// Gradient-style concurrency limit. The limit follows the ratio of the no-load
+// RTT (minimum observed) to the latest RTT: once queueing pushes latency past
+// the tolerance the limit shrinks, otherwise it grows by a small queue
+// allowance (sqrt of the limit). The minimum is re-probed periodically by
+// halving the limit so a permanent shift in upstream latency is picked up.
+public class AdaptiveConcurrencyLimit {
+    
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final int PROBE_INTERVAL = 1000;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private long minRttNanos;
+    private int samplesSinceProbe;
+    
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+    
+    // inflight is the concurrency the request saw when it started; dropped
+    // marks errors and timeouts, which back off the limit directly
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        
+        if (++samplesSinceProbe >= PROBE_INTERVAL) {
+            samplesSinceProbe = 0;
+            minRttNanos = 0;
+            limit = Math.max(minLimit, limit / 2);
+        }
+        if (minRttNanos == 0 || rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * minRttNanos / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        
+        // Don't grow the limit when we are nowhere near using it
+        if (newLimit > limit && inflight < limit / 2) {
+            return;
+        }
+        
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
\ No newline at end of file
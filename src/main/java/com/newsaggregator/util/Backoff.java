@@ -0,0 +1,15 @@
+package com.newsaggregator.util;
+
+import java.util.Random;
+
+public class Backoff {
+    
+    // Decorrelated jitter: a random delay between base and three times the
+    // previous one, capped. Callers that failed together drift apart instead
+    // of retrying in lockstep as with plain exponential backoff.
+    public static long decorrelatedJitter(long previousMillis, long baseMillis, long capMillis, Random random) {
+        long upper = Math.max(baseMillis, previousMillis * 3);
+        long delay = baseMillis + (long) (random.nextDouble() * (upper - baseMillis));
+        return Math.min(capMillis, delay);
+    }
+}
\ No newline at end of file
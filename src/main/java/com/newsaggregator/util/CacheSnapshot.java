@@ -0,0 +1,158 @@
+package com.newsaggregator.util;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// On-disk cache snapshot. Layout: magic, version, entry count, then per entry
+// [key length, key UTF-8, expiry epoch millis, value length, value bytes].
+// Reading only indexes the entries; values stay encoded until taken.
+public class CacheSnapshot {
+    
+    private static final int MAGIC = 0x4E414353; // "NACS"
+    private static final int FORMAT_VERSION = 1;
+    
+    private final ByteBuffer data;
+    private final Map<String, Slot> slots;
+    
+    private CacheSnapshot(ByteBuffer data, Map<String, Slot> slots) {
+        this.data = data;
+        this.slots = slots;
+    }
+    
+    public static class Entry {
+        private final String key;
+        private final long expiryTime;
+        private final byte[] value;
+        
+        public Entry(String key, long expiryTime, byte[] value) {
+            this.key = key;
+            this.expiryTime = expiryTime;
+            this.value = value;
+        }
+        
+        public String getKey() { return key; }
+        public long getExpiryTime() { return expiryTime; }
+        public byte[] getValue() { return value; }
+    }
+    
+    private static class Slot {
+        final int offset;
+        final int length;
+        final long expiryTime;
+        
+        Slot(int offset, int length, long expiryTime) {
+            this.offset = offset;
+            this.length = length;
+            this.expiryTime = expiryTime;
+        }
+    }
+    
+    public static void write(Path file, List<Entry> entries) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeLong(entry.getExpiryTime());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    // Returns null when the file is missing, foreign or truncated
+    public static CacheSnapshot read(Path file, long now) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            if (data.getInt() != MAGIC || data.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            
+            int count = data.getInt();
+            Map<String, Slot> slots = new ConcurrentHashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[data.getInt()];
+                data.get(key);
+                long expiryTime = data.getLong();
+                int length = data.getInt();
+                int offset = data.position();
+                data.position(offset + length);
+                
+                if (expiryTime > now) {
+                    slots.put(new String(key, StandardCharsets.UTF_8), new Slot(offset, length, expiryTime));
+                }
+            }
+            return new CacheSnapshot(data, slots);
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+    
+    // Removes and returns the entry so each value is decoded at most once
+    public Entry take(String key, long now) {
+        Slot slot = slots.remove(key);
+        if (slot == null || slot.expiryTime <= now) {
+            return null;
+        }
+        return new Entry(key, slot.expiryTime, copyValue(slot));
+    }
+    
+    // Forgets the entry without decoding it, e.g. after the key was overwritten
+    public void remove(String key) {
+        slots.remove(key);
+    }
+    
+    public long remainingTtlMillis(String key, long now) {
+        Slot slot = slots.get(key);
+        return slot == null ? 0 : Math.max(0, slot.expiryTime - now);
+    }
+    
+    public List<Entry> remainingEntries(long now) {
+        List<Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, Slot> slot : slots.entrySet()) {
+            if (slot.getValue().expiryTime > now) {
+                entries.add(new Entry(slot.getKey(), slot.getValue().expiryTime, copyValue(slot.getValue())));
+            }
+        }
+        return entries;
+    }
+    
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+    
+    public int size() {
+        return slots.size();
+    }
+    
+    private byte[] copyValue(Slot slot) {
+        byte[] value = new byte[slot.length];
+        ByteBuffer view = data.duplicate();
+        view.position(slot.offset);
+        view.get(value);
+        return value;
+    }
+}
\ No newline at end of file
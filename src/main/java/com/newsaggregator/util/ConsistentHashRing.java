@@ -0,0 +1,55 @@
+package com.newsaggregator.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Immutable consistent-hash ring. Each node is placed at virtualNodes points so
+// keys spread evenly and a membership change only moves ~1/N of them.
+public class ConsistentHashRing<T> {
+    
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+    private final Set<T> nodes;
+    
+    public ConsistentHashRing(Collection<T> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        for (T node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+    
+    public T ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+    
+    public Set<T> nodes() {
+        return nodes;
+    }
+    
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+    
+    // 64-bit FNV-1a followed by the MurmurHash3 finalizer for better avalanche
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
\ No newline at end of file
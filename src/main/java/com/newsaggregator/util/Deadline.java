@@ -0,0 +1,102 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.exception.DeadlineExceededException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Point in time by which a search must have answered, carried in the Reactor
+// context. NONE never expires and is what code sees when no deadline was set.
+public class Deadline {
+    
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+    
+    // Milliseconds the caller is willing to wait; replicas forward what is left
+    public static final String HEADER = "X-Request-Timeout";
+    
+    // System.nanoTime() value; Long.MAX_VALUE for NONE
+    private final long expiresAtNanos;
+    
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+    
+    public static Deadline at(long expiresAtNanos) {
+        return new Deadline(expiresAtNanos);
+    }
+    
+    // Missing or unparsable values get defaultMillis, larger ones are capped at
+    // maxMillis; a resulting timeout of 0 means no deadline
+    public static Deadline fromHeader(String timeoutMillis, long defaultMillis, long maxMillis, long nowNanos) {
+        long millis = defaultMillis;
+        if (timeoutMillis != null) {
+            try {
+                long requested = Long.parseLong(timeoutMillis.trim());
+                if (requested > 0) {
+                    millis = requested;
+                }
+            } catch (NumberFormatException e) {
+                // keep the default
+            }
+        }
+        if (maxMillis > 0) {
+            millis = Math.min(millis, maxMillis);
+        }
+        return millis > 0 ? at(nowNanos + TimeUnit.MILLISECONDS.toNanos(millis)) : NONE;
+    }
+    
+    public static Deadline from(ContextView context) {
+        return context.getOrDefault(Deadline.class, NONE);
+    }
+    
+    public Context asContext() {
+        return Context.of(Deadline.class, this);
+    }
+    
+    public boolean isSet() {
+        return this != NONE;
+    }
+    
+    public long remainingNanos(long nowNanos) {
+        return isSet() ? expiresAtNanos - nowNanos : Long.MAX_VALUE;
+    }
+    
+    public boolean isExpired(long nowNanos) {
+        return remainingNanos(nowNanos) <= 0;
+    }
+    
+    public long remainingMillis(long nowNanos) {
+        return isSet() ? Math.max(0, TimeUnit.NANOSECONDS.toMillis(remainingNanos(nowNanos))) : Long.MAX_VALUE;
+    }
+    
+    // The same deadline moved earlier, leaving the caller time to answer
+    public Deadline minusMillis(long millis) {
+        return isSet() ? at(expiresAtNanos - TimeUnit.MILLISECONDS.toNanos(millis)) : this;
+    }
+    
+    // Fails with DeadlineExceededException, cancelling the source, when the
+    // deadline passes first
+    public <T> Mono<T> enforce(Mono<T> source) {
+        if (!isSet()) {
+            return source;
+        }
+        return Mono.defer(() -> {
+            long remaining = remainingNanos(System.nanoTime());
+            if (remaining <= 0) {
+                return Mono.error(new DeadlineExceededException("Deadline passed before the call started"));
+            }
+            return source.timeout(Duration.ofNanos(remaining),
+                                  Mono.defer(() -> Mono.error(new DeadlineExceededException("Deadline exceeded"))));
+        });
+    }
+    
+    // Runs the search under this deadline. The pipeline sees it headroomMillis
+    // early so provider cut-offs and fallbacks still leave time to answer; what
+    // is still running at the deadline itself is cancelled.
+    public <T> Mono<T> bound(Mono<T> search, long headroomMillis) {
+        return enforce(search.contextWrite(minusMillis(headroomMillis).asContext()));
+    }
+}
\ No newline at end of file
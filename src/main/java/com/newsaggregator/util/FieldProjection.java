@@ -0,0 +1,69 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.exception.InvalidRequestException;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+// The article fields a client asked for with fields=. Field order and
+// duplicates are normalised so equal projections share one key.
+public final class FieldProjection {
+    
+    public static final FieldProjection ALL = new FieldProjection(null);
+    
+    private final SortedSet<String> fields;
+    private final String key;
+    
+    private FieldProjection(SortedSet<String> fields) {
+        this.fields = fields == null ? null : Collections.unmodifiableSortedSet(fields);
+        this.key = fields == null ? "*" : String.join(",", fields);
+    }
+    
+    // Blank means every field; unknown names are rejected
+    public static FieldProjection parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return ALL;
+        }
+        SortedSet<String> selected = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new InvalidRequestException("Unknown field '" + name + "', expected one of " + new TreeSet<>(allowed));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() || selected.size() == allowed.size() ? ALL : new FieldProjection(selected);
+    }
+    
+    public boolean isAll() {
+        return fields == null;
+    }
+    
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+    
+    public String key() {
+        return key;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof FieldProjection && key.equals(((FieldProjection) obj).key);
+    }
+    
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return key;
+    }
+}
\ No newline at end of file
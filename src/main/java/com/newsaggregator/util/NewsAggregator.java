@@ -10,7 +10,7 @@ import java.util.List;
 
 public class NewsAggregator {
     
-    public static List<NewsArticle> aggregateAndSort(List<NewsArticle> guardianArticles, 
+    public static List<NewsArticle> aggregateAndSort(List<NewsArticle> guardianArticles,
                                                     List<NewsArticle> nyTimesArticles) {
         List<NewsArticle> allArticles = new ArrayList<>();
         
@@ -25,8 +25,14 @@ public class NewsAggregator {
         // Remove duplicates using custom logic
         List<NewsArticle> uniqueArticles = NewsDeduplicator.deduplicate(allArticles);
         
-        // Sort by publication date (newest first) using custom comparator
-        Collections.sort(uniqueArticles, new Comparator<NewsArticle>() {
+        sortNewestFirst(uniqueArticles);
+        
+        return uniqueArticles;
+    }
+    
+    // Sort by publication date (newest first) using custom comparator
+    public static void sortNewestFirst(List<NewsArticle> articles) {
+        Collections.sort(articles, new Comparator<NewsArticle>() {
             @Override
             public int compare(NewsArticle a1, NewsArticle a2) {
                 LocalDateTime date1 = a1.getPublishedAt();
@@ -39,7 +45,5 @@ public class NewsAggregator {
                 return date2.compareTo(date1); // Newest first
             }
         });
-        
-        return uniqueArticles;
     }
 }
\ No newline at end of file
@@ -7,8 +7,13 @@ import java.util.*;
 public class NewsDeduplicator {
     
     public static List<NewsArticle> deduplicate(List<NewsArticle> articles) {
-        Set<String> seenTitles = new HashSet<>();
-        Set<String> seenUrls = new HashSet<>();
+        return deduplicate(articles, new HashSet<>(), new HashSet<>());
+    }
+    
+    // Also skips articles already recorded in the seen sets and records the ones
+    // kept, so successive batches can be deduplicated against each other
+    public static List<NewsArticle> deduplicate(List<NewsArticle> articles, Set<String> seenTitles,
+                                                Set<String> seenUrls) {
         List<NewsArticle> uniqueArticles = new ArrayList<>();
         
         for (NewsArticle article : articles) {
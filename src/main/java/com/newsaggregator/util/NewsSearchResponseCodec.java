@@ -0,0 +1,156 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchResponse;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact binary encoding of NewsSearchResponse for cache snapshots and
+// shared cache tiers. Strings are length-prefixed UTF-8 (-1 for null).
+public class NewsSearchResponseCodec {
+    
+    private static final byte FORMAT_VERSION = 1;
+    
+    public static byte[] encode(NewsSearchResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, response.getSearchKeyword());
+            writeString(out, response.getCity());
+            out.writeInt(response.getCurrentPage());
+            out.writeInt(response.getTotalPages());
+            out.writeLong(response.getTotalResults());
+            out.writeInt(response.getPageSize());
+            writeInteger(out, response.getPreviousPage());
+            writeInteger(out, response.getNextPage());
+            out.writeLong(response.getExecutionTimeMs());
+            out.writeBoolean(response.isFromCache());
+            out.writeBoolean(response.isOfflineMode());
+            
+            List<NewsArticle> articles = response.getArticles();
+            out.writeInt(articles == null ? -1 : articles.size());
+            if (articles != null) {
+                for (NewsArticle article : articles) {
+                    writeArticle(out, article);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode search response", e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    public static NewsSearchResponse decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported search response format version: " + version);
+            }
+            
+            NewsSearchResponse response = NewsSearchResponse.builder()
+                    .searchKeyword(readString(in))
+                    .city(readString(in))
+                    .currentPage(in.readInt())
+                    .totalPages(in.readInt())
+                    .totalResults(in.readLong())
+                    .pageSize(in.readInt())
+                    .previousPage(readInteger(in))
+                    .nextPage(readInteger(in))
+                    .executionTimeMs(in.readLong())
+                    .fromCache(in.readBoolean())
+                    .offlineMode(in.readBoolean())
+                    .build();
+            
+            int articleCount = in.readInt();
+            if (articleCount >= 0) {
+                List<NewsArticle> articles = new ArrayList<>(articleCount);
+                for (int i = 0; i < articleCount; i++) {
+                    articles.add(readArticle(in));
+                }
+                response.setArticles(articles);
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode search response", e);
+        }
+    }
+    
+    private static void writeArticle(DataOutputStream out, NewsArticle article) throws IOException {
+        writeString(out, article.getId());
+        writeString(out, article.getTitle());
+        writeString(out, article.getDescription());
+        writeString(out, article.getUrl());
+        writeString(out, article.getSource());
+        writeDateTime(out, article.getPublishedAt());
+        writeString(out, article.getImageUrl());
+        writeString(out, article.getAuthor());
+        writeString(out, article.getSection());
+    }
+    
+    private static NewsArticle readArticle(DataInputStream in) throws IOException {
+        return NewsArticle.builder()
+                .id(readString(in))
+                .title(readString(in))
+                .description(readString(in))
+                .url(readString(in))
+                .source(readString(in))
+                .publishedAt(readDateTime(in))
+                .imageUrl(readString(in))
+                .author(readString(in))
+                .section(readString(in))
+                .build();
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+    
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+    
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+    
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+    
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
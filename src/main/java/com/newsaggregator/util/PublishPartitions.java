@@ -0,0 +1,36 @@
+package com.newsaggregator.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PublishPartitions {
+    
+    // Routing key for articles without a publish date; never dropped by retention
+    public static final String UNDATED = "undated";
+    
+    public static LocalDate partitionOf(LocalDateTime publishedAt) {
+        return publishedAt == null ? null : publishedAt.toLocalDate();
+    }
+    
+    public static String routingKey(LocalDate partition) {
+        return partition == null ? UNDATED : partition.toString();
+    }
+    
+    public static String routingKey(LocalDateTime publishedAt) {
+        return routingKey(partitionOf(publishedAt));
+    }
+    
+    public static List<String> routingKeysBetween(LocalDate from, LocalDate to) {
+        List<String> keys = new ArrayList<>();
+        if (from == null || to == null) {
+            return keys;
+        }
+        
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            keys.add(routingKey(day));
+        }
+        return keys;
+    }
+}
\ No newline at end of file
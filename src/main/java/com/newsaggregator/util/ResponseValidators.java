@@ -0,0 +1,103 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// HTTP validators for a search result. The ETag is a hash of the ordered
+// article IDs, so it is the same on every replica and across cache refreshes
+// that return the same articles; it is weak because fields such as
+// executionTimeMs differ between otherwise equal responses.
+public class ResponseValidators {
+    
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private final String etag;
+    private final long lastModified;
+    
+    public ResponseValidators(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+    
+    public static ResponseValidators of(NewsSearchResponse response) {
+        return of(response.getArticles());
+    }
+    
+    public static ResponseValidators of(List<NewsArticle> articles) {
+        MessageDigest digest = sha256();
+        long newest = 0;
+        if (articles != null) {
+            for (NewsArticle article : articles) {
+                String id = article.getId() != null ? article.getId() : article.getUrl();
+                digest.update(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+                LocalDateTime publishedAt = article.getPublishedAt();
+                if (publishedAt != null) {
+                    newest = Math.max(newest, publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+                }
+            }
+        }
+        return new ResponseValidators("W/\"" + hex(digest.digest(), 16) + "\"", newest);
+    }
+    
+    // Each field projection is a different representation, so it gets its own tag
+    public ResponseValidators forProjection(FieldProjection projection) {
+        if (projection.isAll()) {
+            return this;
+        }
+        String opaque = etag.substring(0, etag.length() - 1) + "-" + Integer.toHexString(projection.key().hashCode());
+        return new ResponseValidators(opaque + "\"", lastModified);
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    // Epoch millis of the newest publishedAt, 0 when unknown
+    public long getLastModified() {
+        return lastModified;
+    }
+    
+    // Weak comparison as required for If-None-Match (RFC 7232 section 3.2)
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || opaque.equals(opaqueTag(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static String hex(byte[] bytes, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.newsaggregator.util;
+
+import java.util.Arrays;
+
+// Caps retries at a share of recent successful calls: each success earns
+// ratio retries and each retry spends one, counted over a sliding window of
+// one-second slots. minPerSecond keeps a quiet provider retryable. During a
+// brownout successes dry up, so retries stop instead of multiplying the load.
+// Times are System.nanoTime() values so callers and tests control the clock.
+public class RetryBudget {
+    
+    private static final long SECOND = 1_000_000_000L;
+    
+    private final double ratio;
+    private final double minPerSecond;
+    private final int windowSeconds;
+    private final long[] slotSeconds;
+    private final long[] successes;
+    private final long[] retries;
+    
+    public RetryBudget(double ratio, double minPerSecond, int windowSeconds) {
+        if (ratio < 0 || minPerSecond < 0 || windowSeconds <= 0) {
+            throw new IllegalArgumentException("ratio and floor must not be negative, window must be positive");
+        }
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.windowSeconds = windowSeconds;
+        this.slotSeconds = new long[windowSeconds];
+        this.successes = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+        Arrays.fill(slotSeconds, Long.MIN_VALUE);
+    }
+    
+    public synchronized void recordSuccess(long nowNanos) {
+        successes[slot(nowNanos)]++;
+    }
+    
+    // Spends one retry if the window still has budget for it
+    public synchronized boolean tryRetry(long nowNanos) {
+        if (available(nowNanos) < 1) {
+            return false;
+        }
+        retries[slot(nowNanos)]++;
+        return true;
+    }
+    
+    public synchronized double available(long nowNanos) {
+        long second = Math.floorDiv(nowNanos, SECOND);
+        long recentSuccesses = 0;
+        long recentRetries = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (slotSeconds[i] > second - windowSeconds && slotSeconds[i] <= second) {
+                recentSuccesses += successes[i];
+                recentRetries += retries[i];
+            }
+        }
+        return ratio * recentSuccesses + minPerSecond * windowSeconds - recentRetries;
+    }
+    
+    private int slot(long nowNanos) {
+        long second = Math.floorDiv(nowNanos, SECOND);
+        int index = (int) Math.floorMod(second, (long) windowSeconds);
+        if (slotSeconds[index] != second) {
+            slotSeconds[index] = second;
+            successes[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+}
\ No newline at end of file
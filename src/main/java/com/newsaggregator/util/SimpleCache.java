@@ -17,6 +17,13 @@ public class SimpleCache<K, V> {
         cache.put(key, new CacheEntry<>(value, expiryTime));
     }
     
+    // Restores an entry with its original expiry, e.g. from a snapshot
+    public void putUntil(K key, V value, long expiryTime) {
+        if (expiryTime > System.currentTimeMillis()) {
+            cache.put(key, new CacheEntry<>(value, expiryTime));
+        }
+    }
+    
     public V get(K key) {
         CacheEntry<V> entry = cache.get(key);
         if (entry == null) {
@@ -31,14 +38,39 @@ public class SimpleCache<K, V> {
         return entry.value;
     }
     
+    public long remainingTtlMillis(K key) {
+        CacheEntry<V> entry = cache.get(key);
+        if (entry == null) {
+            return 0;
+        }
+        return Math.max(0, entry.expiryTime - System.currentTimeMillis());
+    }
+    
     public boolean containsKey(K key) {
         return get(key) != null;
     }
     
+    public void remove(K key) {
+        cache.remove(key);
+    }
+    
     public void clear() {
         cache.clear();
     }
     
+    public void forEachLive(EntryVisitor<K, V> visitor) {
+        long now = System.currentTimeMillis();
+        for (java.util.Map.Entry<K, CacheEntry<V>> entry : cache.entrySet()) {
+            if (entry.getValue().expiryTime > now) {
+                visitor.visit(entry.getKey(), entry.getValue().value, entry.getValue().expiryTime);
+            }
+        }
+    }
+    
+    public interface EntryVisitor<K, V> {
+        void visit(K key, V value, long expiryTime);
+    }
+    
     private static class CacheEntry<V> {
         final V value;
         final long expiryTime;
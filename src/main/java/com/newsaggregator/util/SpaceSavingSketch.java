@@ -0,0 +1,191 @@
+package com.newsaggregator.util;
+
+import java.util.*;
+
+// Space-Saving heavy-hitters sketch: tracks approximate top-K items in a fixed
+// number of counters. Counts overestimate by at most the recorded error.
+// Counters sit in buckets of equal count, linked in ascending order (the
+// stream-summary layout), so offering an item, including evicting the smallest
+// counter, is O(1) and the lock is held only briefly on the search path.
+public class SpaceSavingSketch {
+    
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private Bucket smallest;
+    private Bucket largest;
+    
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Sketch capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+    }
+    
+    public synchronized void offer(String item) {
+        offer(item, 1);
+    }
+    
+    public synchronized void offer(String item, long increment) {
+        if (increment < 1) {
+            return;
+        }
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            Bucket bucket = counter.bucket;
+            bucket.remove(counter);
+            place(counter, bucket.count + increment, bucket);
+            dropIfEmpty(bucket);
+            return;
+        }
+        
+        if (counters.size() < capacity) {
+            counter = new Counter(item, 0);
+            counters.put(item, counter);
+            place(counter, increment, null);
+            return;
+        }
+        
+        // Evict a smallest counter; the newcomer inherits its count as error
+        Bucket min = smallest;
+        Counter evicted = min.first;
+        min.remove(evicted);
+        counters.remove(evicted.item);
+        counter = new Counter(item, min.count);
+        counters.put(item, counter);
+        place(counter, min.count + increment, min);
+        dropIfEmpty(min);
+    }
+    
+    public synchronized LinkedHashMap<String, Long> top(int k) {
+        LinkedHashMap<String, Long> top = new LinkedHashMap<>();
+        for (Bucket bucket = largest; bucket != null && top.size() < k; bucket = bucket.smaller) {
+            for (Counter counter = bucket.first; counter != null && top.size() < k; counter = counter.next) {
+                top.put(counter.item, bucket.count);
+            }
+        }
+        return top;
+    }
+    
+    // Halves every counter so that keywords which stopped trending age out
+    public synchronized void decay() {
+        Bucket bucket = smallest;
+        smallest = null;
+        largest = null;
+        // Halving keeps the ascending order, though neighbouring buckets may merge
+        while (bucket != null) {
+            Bucket next = bucket.larger;
+            long halved = bucket.count >> 1;
+            Counter counter = bucket.first;
+            while (counter != null) {
+                Counter nextCounter = counter.next;
+                counter.error >>= 1;
+                if (halved == 0) {
+                    counters.remove(counter.item);
+                } else if (largest != null && largest.count == halved) {
+                    largest.add(counter);
+                } else {
+                    place(counter, halved, largest);
+                }
+                counter = nextCounter;
+            }
+            bucket = next;
+        }
+    }
+    
+    public synchronized int size() {
+        return counters.size();
+    }
+    
+    // Links the counter into the bucket for count, searching upwards from the
+    // bucket after start (from the smallest when start is null); start's count
+    // must be below count
+    private void place(Counter counter, long count, Bucket start) {
+        Bucket smaller = start;
+        Bucket larger = start == null ? smallest : start.larger;
+        while (larger != null && larger.count < count) {
+            smaller = larger;
+            larger = larger.larger;
+        }
+        
+        Bucket bucket = larger;
+        if (bucket == null || bucket.count != count) {
+            bucket = new Bucket(count);
+            bucket.smaller = smaller;
+            bucket.larger = larger;
+            if (smaller == null) {
+                smallest = bucket;
+            } else {
+                smaller.larger = bucket;
+            }
+            if (larger == null) {
+                largest = bucket;
+            } else {
+                larger.smaller = bucket;
+            }
+        }
+        bucket.add(counter);
+    }
+    
+    private void dropIfEmpty(Bucket bucket) {
+        if (bucket.first != null) {
+            return;
+        }
+        if (bucket.smaller == null) {
+            smallest = bucket.larger;
+        } else {
+            bucket.smaller.larger = bucket.larger;
+        }
+        if (bucket.larger == null) {
+            largest = bucket.smaller;
+        } else {
+            bucket.larger.smaller = bucket.smaller;
+        }
+    }
+    
+    private static class Bucket {
+        final long count;
+        Bucket smaller;
+        Bucket larger;
+        Counter first;
+        
+        Bucket(long count) {
+            this.count = count;
+        }
+        
+        void add(Counter counter) {
+            counter.bucket = this;
+            counter.previous = null;
+            counter.next = first;
+            if (first != null) {
+                first.previous = counter;
+            }
+            first = counter;
+        }
+        
+        void remove(Counter counter) {
+            if (counter.previous == null) {
+                first = counter.next;
+            } else {
+                counter.previous.next = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.previous = counter.previous;
+            }
+            counter.previous = null;
+            counter.next = null;
+        }
+    }
+    
+    private static class Counter {
+        final String item;
+        long error;
+        Bucket bucket;
+        Counter previous;
+        Counter next;
+        
+        Counter(String item, long error) {
+            this.item = item;
+            this.error = error;
+        }
+    }
+}
\ No newline at end of file
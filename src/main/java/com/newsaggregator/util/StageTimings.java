@@ -0,0 +1,74 @@
+package com.newsaggregator.util;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Stage durations of a single search, carried in the Reactor context so they
+// can be reported back in a Server-Timing header. NONE records nothing and is
+// what stages see when the header is disabled.
+public class StageTimings {
+    
+    public static final StageTimings NONE = new StageTimings(false);
+    
+    private final boolean recording;
+    private final long start = System.nanoTime();
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+    
+    public StageTimings() {
+        this(true);
+    }
+    
+    private StageTimings(boolean recording) {
+        this.recording = recording;
+    }
+    
+    public static StageTimings from(ContextView context) {
+        return context.getOrDefault(StageTimings.class, NONE);
+    }
+    
+    public Context asContext() {
+        return Context.of(StageTimings.class, this);
+    }
+    
+    public boolean isRecording() {
+        return recording;
+    }
+    
+    // Repeated stages add up, e.g. parsing on a retried provider call
+    public void add(String stage, long nanos) {
+        if (!recording) {
+            return;
+        }
+        synchronized (stages) {
+            stages.merge(stage, nanos, Long::sum);
+        }
+    }
+    
+    public long nanos(String stage) {
+        synchronized (stages) {
+            return stages.getOrDefault(stage, 0L);
+        }
+    }
+    
+    // e.g. "cache;dur=0.042, guardian;dur=118.5, dedup;dur=0.31, total;dur=121.07"
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        synchronized (stages) {
+            for (Map.Entry<String, Long> stage : stages.entrySet()) {
+                appendMetric(header, stage.getKey(), stage.getValue());
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - start);
+        return header.toString();
+    }
+    
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(Math.round(nanos / 1000.0) / 1000.0);
+    }
+}
\ No newline at end of file
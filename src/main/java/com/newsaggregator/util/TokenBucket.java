@@ -0,0 +1,48 @@
+package com.newsaggregator.util;
+
+// Token bucket refilled continuously at a fixed rate up to its capacity.
+// Times are System.nanoTime() values so callers and tests control the clock.
+public class TokenBucket {
+    
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+    
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = nowNanos;
+    }
+    
+    public synchronized boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+    
+    // Returns a token taken by tryConsume, e.g. when a later check refused the call
+    public synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+    
+    public synchronized double available(long nowNanos) {
+        refill(nowNanos);
+        return tokens;
+    }
+    
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+            lastRefill = nowNanos;
+        }
+    }
+}
\ No newline at end of file
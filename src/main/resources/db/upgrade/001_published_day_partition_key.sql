@@ -0,0 +1,13 @@
+-- Publish-day partition key on news_articles, for databases created before it
+-- existed. Production runs with ddl-auto: validate, so apply this before
+-- deploying, then rebuild the search index (POST /api/v1/admin/rebuild-index)
+-- so existing documents are routed by publish day. Plain SQL for H2 and
+-- PostgreSQL.
+
+ALTER TABLE news_articles ADD COLUMN published_day DATE;
+
+-- Same value NewsArticleEntity derives from published_at, undated rows stay NULL
+UPDATE news_articles SET published_day = CAST(published_at AS DATE) WHERE published_at IS NOT NULL;
+
+CREATE INDEX idx_news_articles_published_day ON news_articles (published_day);
+CREATE INDEX idx_news_articles_source_day ON news_articles (source, published_day);
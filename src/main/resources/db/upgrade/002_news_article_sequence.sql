@@ -0,0 +1,12 @@
+-- Pooled id sequence for news_articles, which used IDENTITY ids before bulk
+-- upserts needed batched inserts. Hibernate hands out the 50 ids up to each
+-- value it reads, so the sequence has to restart at least 50 above the
+-- highest existing id.
+
+CREATE SEQUENCE news_article_seq START WITH 1 INCREMENT BY 50;
+
+-- H2
+ALTER SEQUENCE news_article_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM news_articles);
+
+-- PostgreSQL, instead of the H2 statement above:
+-- SELECT setval('news_article_seq', COALESCE(MAX(id), 0) + 50, false) FROM news_articles;
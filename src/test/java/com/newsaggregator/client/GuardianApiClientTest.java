@@ -2,17 +2,32 @@ package com.newsaggregator.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.service.ProviderResilience;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.UpstreamRateLimiter;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,12 +49,18 @@ class GuardianApiClientTest {
     private WebClient.ResponseSpec responseSpec;
     
     private GuardianApiClient guardianApiClient;
+    private ProviderResilience providerResilience;
     private ObjectMapper objectMapper;
     
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        guardianApiClient = new GuardianApiClient(webClient, objectMapper);
+        providerResilience = new ProviderResilience(CircuitBreakerRegistry.ofDefaults(),
+                RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()), BulkheadRegistry.ofDefaults(),
+                new SimpleMeterRegistry());
+        guardianApiClient = new GuardianApiClient(webClient, objectMapper, new SearchMetrics(new SimpleMeterRegistry()),
+                                                  providerResilience,
+                                                  new UpstreamRateLimiter(new SimpleMeterRegistry(), Optional.empty()));
         ReflectionTestUtils.setField(guardianApiClient, "apiKey", "test-key");
         ReflectionTestUtils.setField(guardianApiClient, "baseUrl", "https://content.guardianapis.com");
     }
@@ -101,4 +122,51 @@ class GuardianApiClientTest {
                 })
                 .verifyComplete();
     }
+    
+    @Test
+    void searchNews_ShouldNotCallApi_WhenCircuitIsOpen() {
+        // Given
+        AtomicBoolean subscribed = new AtomicBoolean();
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.fromCallable(() -> {
+                    subscribed.set(true);
+                    return "{}";
+                }));
+        providerResilience.circuitBreaker(UpstreamRateLimiter.GUARDIAN).transitionToOpenState();
+        
+        // When & Then
+        StepVerifier.create(guardianApiClient.searchNews("apple", 1, 10))
+                .assertNext(articles -> assertTrue(articles.isEmpty()))
+                .verifyComplete();
+        assertFalse(subscribed.get());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchNews_ShouldUseConfiguredBaseUrl() {
+        // Given
+        ReflectionTestUtils.setField(guardianApiClient, "baseUrl", "http://localhost:9090/guardian");
+        ArgumentCaptor<Function<UriBuilder, URI>> uri = ArgumentCaptor.forClass(Function.class);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(uri.capture())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("{}"));
+        
+        // When
+        StepVerifier.create(guardianApiClient.searchNews("apple", 2, 10))
+                .expectNextCount(1)
+                .verifyComplete();
+        
+        // Then
+        URI built = uri.getValue().apply(new DefaultUriBuilderFactory().builder());
+        assertEquals("http", built.getScheme());
+        assertEquals("localhost", built.getHost());
+        assertEquals(9090, built.getPort());
+        assertEquals("/guardian/search", built.getPath());
+        assertTrue(built.getQuery().contains("q=apple"));
+        assertTrue(built.getQuery().contains("page=2"));
+    }
 }
@@ -2,6 +2,14 @@ package com.newsaggregator.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.service.ProviderResilience;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.UpstreamRateLimiter;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +20,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -37,8 +47,14 @@ class NYTimesApiClientTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        nyTimesApiClient = new NYTimesApiClient(webClient, objectMapper);
+        ProviderResilience providerResilience = new ProviderResilience(CircuitBreakerRegistry.ofDefaults(),
+                RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()), BulkheadRegistry.ofDefaults(),
+                new SimpleMeterRegistry());
+        nyTimesApiClient = new NYTimesApiClient(webClient, objectMapper, new SearchMetrics(new SimpleMeterRegistry()),
+                                                providerResilience,
+                                                new UpstreamRateLimiter(new SimpleMeterRegistry(), Optional.empty()));
         ReflectionTestUtils.setField(nyTimesApiClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(nyTimesApiClient, "baseUrl", "https://api.nytimes.com");
     }
     
     @Test
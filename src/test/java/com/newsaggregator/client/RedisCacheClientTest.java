@@ -0,0 +1,104 @@
+package com.newsaggregator.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCacheClientTest {
+    
+    private ServerSocket server;
+    private RedisCacheClient client;
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @Test
+    void testCommandsUseRespFraming() throws Exception {
+        // Given
+        server = new ServerSocket(0);
+        CompletableFuture<String> received = serveOnce("+OK\r\n$5\r\nhello\r\n$-1\r\n");
+        client = new RedisCacheClient("localhost", server.getLocalPort(), 1000, 2);
+        
+        // When
+        client.set("k", "hello".getBytes(StandardCharsets.UTF_8), 5000);
+        byte[] hit = client.get("k");
+        byte[] miss = client.get("other");
+        
+        // Then
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), hit);
+        assertNull(miss);
+        assertEquals("*5\r\n$3\r\nSET\r\n$1\r\nk\r\n$5\r\nhello\r\n$2\r\nPX\r\n$4\r\n5000\r\n"
+                     + "*2\r\n$3\r\nGET\r\n$1\r\nk\r\n"
+                     + "*2\r\n$3\r\nGET\r\n$5\r\nother\r\n",
+                     received.get(2, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testIncrementSetsTtlInSameScript() throws Exception {
+        // Given
+        server = new ServerSocket(0);
+        CompletableFuture<String> received = serveOnce(":3\r\n");
+        client = new RedisCacheClient("localhost", server.getLocalPort(), 1000, 1);
+        
+        // When
+        long value = client.incrementBy("quota", 1, 60000);
+        
+        // Then
+        assertEquals(3, value);
+        String request = received.get(2, TimeUnit.SECONDS);
+        assertTrue(request.startsWith("*6\r\n$4\r\nEVAL\r\n"));
+        assertTrue(request.contains("PEXPIRE"));
+        assertTrue(request.endsWith("$1\r\n1\r\n$5\r\nquota\r\n$1\r\n1\r\n$5\r\n60000\r\n"));
+    }
+    
+    @Test
+    void testErrorReplyIsRaised() throws Exception {
+        // Given
+        server = new ServerSocket(0);
+        serveOnce("-ERR wrong type\r\n");
+        client = new RedisCacheClient("localhost", server.getLocalPort(), 1000, 1);
+        
+        // When / Then
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> client.get("k"));
+        assertTrue(error.getMessage().contains("wrong type"));
+    }
+    
+    // Accepts one connection, writes the scripted replies and returns what the client sent
+    private CompletableFuture<String> serveOnce(String replies) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Socket socket = server.accept()) {
+                socket.getOutputStream().write(replies.getBytes(StandardCharsets.UTF_8));
+                socket.getOutputStream().flush();
+                socket.setSoTimeout(300);
+                ByteArrayOutputStream request = new ByteArrayOutputStream();
+                byte[] buffer = new byte[256];
+                try {
+                    int read;
+                    while ((read = socket.getInputStream().read(buffer)) != -1) {
+                        request.write(buffer, 0, read);
+                    }
+                } catch (IOException timeout) {
+                    // client keeps the pooled connection open
+                }
+                return new String(request.toByteArray(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -1,31 +1,95 @@
 package com.newsaggregator.controller;
 
+import com.newsaggregator.config.ReactiveSecurityConfig;
+import com.newsaggregator.exception.ServiceOverloadedException;
+import com.newsaggregator.model.BatchSearchResult;
 import com.newsaggregator.model.NewsArticle;
 import com.newsaggregator.model.NewsSearchRequest;
 import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.NewsStreamEvent;
+import com.newsaggregator.model.RequestPriority;
+import com.newsaggregator.service.AdmissionControlService;
+import com.newsaggregator.service.BatchSearchService;
+import com.newsaggregator.service.ClusterRoutingService;
+import com.newsaggregator.service.CompressedResponseCache;
 import com.newsaggregator.service.NewsAggregatorService;
+import com.newsaggregator.service.ProjectedResponseWriter;
+import com.newsaggregator.service.SearchMetrics;
+import com.newsaggregator.service.SearchTracer;
+import com.newsaggregator.service.TrendingKeywordService;
+import com.newsaggregator.util.Deadline;
+import com.newsaggregator.util.FieldProjection;
+import com.newsaggregator.util.ResponseValidators;
+import com.newsaggregator.util.StageTimings;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@WebFluxTest(NewsController.class)
+@WebFluxTest(controllers = NewsController.class, properties = "news.metrics.server-timing=true")
+@Import({ProjectedResponseWriter.class, ReactiveSecurityConfig.class})
 class NewsControllerTest {
     
     @Autowired
     private WebTestClient webTestClient;
     
+    @MockBean
+    private ClusterRoutingService clusterRoutingService;
+    
+    @MockBean
+    private TrendingKeywordService trendingKeywordService;
+    
     @MockBean
     private NewsAggregatorService newsAggregatorService;
     
+    @MockBean
+    private AdmissionControlService admissionControlService;
+    
+    @MockBean
+    private BatchSearchService batchSearchService;
+    
+    @MockBean
+    private CompressedResponseCache compressedResponseCache;
+    
+    @MockBean
+    private SearchMetrics searchMetrics;
+    
+    @MockBean
+    private SearchTracer searchTracer;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void admitEverything() {
+        when(admissionControlService.admit(any(NewsSearchRequest.class), any(RequestPriority.class), any()))
+                .thenAnswer(inv -> ((Supplier<Mono<?>>) inv.getArgument(2)).get());
+        when(admissionControlService.admitStream(any(NewsSearchRequest.class), any(RequestPriority.class), any()))
+                .thenAnswer(inv -> ((Supplier<Flux<?>>) inv.getArgument(2)).get());
+    }
+    
     @Test
     void searchNews_ShouldReturnNewsResponse() {
         // Given
@@ -50,7 +114,7 @@ class NewsControllerTest {
                 .offlineMode(false)
                 .build();
         
-        when(newsAggregatorService.searchNews(any(NewsSearchRequest.class)))
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
                 .thenReturn(Mono.just(mockResponse));
         
         // When & Then
@@ -63,4 +127,241 @@ class NewsControllerTest {
                 .jsonPath("$.articles").isArray()
                 .jsonPath("$.articles[0].title").isEqualTo("Test Article");
     }
+    
+    @Test
+    void searchNews_ShouldReportServerTiming() {
+        // Given
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .articles(Collections.singletonList(NewsArticle.builder().id("1").title("Test Article").build()))
+                .searchKeyword("apple")
+                .build();
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenReturn(Mono.just(response));
+        
+        // When
+        String serverTiming = webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getFirst("Server-Timing");
+        
+        // Then
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("total;dur="));
+        verify(searchMetrics).serialize(anyLong(), any(StageTimings.class));
+    }
+    
+    @Test
+    void searchNews_ShouldHonourIfNoneMatch() {
+        // Given
+        NewsArticle article = NewsArticle.builder()
+                .id("1")
+                .title("Test Article")
+                .publishedAt(LocalDateTime.of(2024, 3, 1, 12, 0))
+                .build();
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .articles(Collections.singletonList(article))
+                .searchKeyword("apple")
+                .build();
+        ResponseValidators validators = ResponseValidators.of(response);
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenReturn(Mono.just(response));
+        
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", validators.getEtag())
+                .expectHeader().exists("Last-Modified");
+        
+        when(newsAggregatorService.cachedValidators(any(NewsSearchRequest.class))).thenReturn(Mono.just(validators));
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .header("If-None-Match", validators.getEtag())
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", validators.getEtag())
+                .expectBody().isEmpty();
+        verify(admissionControlService).admit(any(NewsSearchRequest.class), any(RequestPriority.class), any());
+    }
+    
+    @Test
+    void searchNews_ShouldNegotiateCborAndPrecompressedJson() {
+        // Given
+        NewsSearchResponse cached = NewsSearchResponse.builder()
+                .articles(Collections.singletonList(NewsArticle.builder().id("1").title("Test Article").build()))
+                .searchKeyword("apple")
+                .fromCache(true)
+                .build();
+        byte[] gzipped = {0x1f, (byte) 0x8b, 0x08, 0x00};
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull())).thenReturn(Mono.just(cached));
+        when(compressedResponseCache.gzipJson(any(NewsSearchRequest.class), any(FieldProjection.class), any(),
+                                             eq(cached))).thenReturn(gzipped);
+        
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+        
+        byte[] body = webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .accept(MediaType.APPLICATION_JSON)
+                .header("Accept-Encoding", "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Encoding", "gzip")
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(body);
+        assertEquals(gzipped.length, body.length);
+    }
+    
+    @Test
+    void searchNews_ShouldProjectArticleFields() {
+        // Given
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .articles(Collections.singletonList(NewsArticle.builder()
+                        .id("1")
+                        .title("Test Article")
+                        .description("Long description")
+                        .imageUrl("https://example.com/image.jpg")
+                        .build()))
+                .searchKeyword("apple")
+                .totalResults(1)
+                .build();
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenReturn(Mono.just(response));
+        
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple&fields=title,id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.totalResults").isEqualTo(1)
+                .jsonPath("$.articles[0].id").isEqualTo("1")
+                .jsonPath("$.articles[0].title").isEqualTo("Test Article")
+                .jsonPath("$.articles[0].description").doesNotExist()
+                .jsonPath("$.articles[0].imageUrl").doesNotExist();
+        
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple&fields=title,body")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void searchNews_ShouldReturnServiceUnavailableWhenShed() {
+        // Given
+        when(admissionControlService.admit(any(NewsSearchRequest.class), eq(RequestPriority.BATCH), any()))
+                .thenReturn(Mono.error(new ServiceOverloadedException("Search capacity exhausted, retry later", 1)));
+        
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .header("X-Request-Priority", "batch")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "1")
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+    
+    @Test
+    void searchNews_ShouldCancelSearchAndReturnGatewayTimeoutAtDeadline() {
+        // Given
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenReturn(Mono.deferContextual(context -> {
+                    seen.set(Deadline.from(context));
+                    return Mono.<NewsSearchResponse>never().doOnCancel(() -> cancelled.set(true));
+                }));
+        
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/news/search?keyword=apple")
+                .header(Deadline.HEADER, "200")
+                .exchange()
+                .expectStatus().isEqualTo(504);
+        assertTrue(seen.get().isSet());
+        assertTrue(cancelled.get());
+    }
+    
+    @Test
+    void streamNews_ShouldEmitNamedEvents() {
+        // Given
+        NewsStreamEvent batch = NewsStreamEvent.builder()
+                .type(NewsStreamEvent.Type.PROVIDER)
+                .source("guardian")
+                .articles(Collections.singletonList(NewsArticle.builder().id("1").title("Test Article").build()))
+                .build();
+        NewsStreamEvent summary = NewsStreamEvent.builder()
+                .type(NewsStreamEvent.Type.SUMMARY)
+                .summary(NewsSearchResponse.builder().searchKeyword("apple").totalResults(1).build())
+                .build();
+        when(newsAggregatorService.streamNews(any(NewsSearchRequest.class))).thenReturn(Flux.just(batch, summary));
+        
+        // When
+        String body = webTestClient.get()
+                .uri("/api/v1/news/search/stream?keyword=apple")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        
+        // Then
+        assertNotNull(body);
+        assertTrue(body.contains("event:provider"));
+        assertTrue(body.contains("event:summary"));
+        assertTrue(body.indexOf("Test Article") < body.indexOf("event:summary"));
+    }
+    
+    @Test
+    void searchBatch_ShouldReturnJsonOrNdjsonByAcceptHeader() {
+        // Given
+        BatchSearchResult first = BatchSearchResult.builder().index(0).keyword("apple")
+                .response(NewsSearchResponse.builder().searchKeyword("apple").build()).build();
+        BatchSearchResult second = BatchSearchResult.builder().index(1).keyword("climate")
+                .response(NewsSearchResponse.builder().searchKeyword("climate").build()).build();
+        when(batchSearchService.searchAll(anyList())).thenReturn(Mono.just(Arrays.asList(first, second)));
+        when(batchSearchService.searchStream(anyList())).thenReturn(Flux.just(second, first));
+        String body = "[{\"keyword\":\"apple\"},{\"keyword\":\"climate\"}]";
+        
+        // When & Then
+        webTestClient.post()
+                .uri("/api/v1/news/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].keyword").isEqualTo("apple")
+                .jsonPath("$[1].response.searchKeyword").isEqualTo("climate");
+        
+        String ndjson = webTestClient.post()
+                .uri("/api/v1/news/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(ndjson);
+        assertEquals(2, ndjson.trim().split("\n").length);
+        assertTrue(ndjson.startsWith("{\"index\":1"));
+    }
 }
\ No newline at end of file
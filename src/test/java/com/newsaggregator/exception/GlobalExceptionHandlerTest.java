@@ -64,4 +64,41 @@ class GlobalExceptionHandlerTest {
         assertEquals("An unexpected error occurred", body.get("message"));
         assertNotNull(body.get("timestamp"));
     }
+    
+    @Test
+    void handleInvalidRequest_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleInvalidRequest(
+                new InvalidRequestException("Batch size 101 exceeds the maximum of 100"));
+        
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Batch size 101 exceeds the maximum of 100", response.getBody().get("message"));
+    }
+    
+    @Test
+    void handleServiceOverloaded_ShouldReturnServiceUnavailableWithRetryAfter() {
+        // Given
+        ServiceOverloadedException exception = new ServiceOverloadedException("Search capacity exhausted", 2);
+        
+        // When
+        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleServiceOverloaded(exception);
+        
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Search capacity exhausted", response.getBody().get("message"));
+    }
+    
+    @Test
+    void handleDeadlineExceeded_ShouldReturnGatewayTimeout() {
+        // When
+        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleDeadlineExceeded(
+                new DeadlineExceededException("Deadline exceeded"));
+        
+        // Then
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertEquals(504, response.getBody().get("status"));
+        assertEquals("Deadline exceeded", response.getBody().get("message"));
+    }
 }
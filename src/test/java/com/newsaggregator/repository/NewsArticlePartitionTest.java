@@ -0,0 +1,118 @@
+package com.newsaggregator.repository;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import com.newsaggregator.service.ArticleRetentionService;
+import com.newsaggregator.service.HibernateSearchService;
+import com.newsaggregator.util.Deadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Publish-day partition drops")
+class NewsArticlePartitionTest {
+    
+    private static final LocalDate OLD_DAY = LocalDate.of(2024, 3, 1);
+    private static final LocalDate NEW_DAY = LocalDate.of(2024, 3, 2);
+    
+    @Autowired
+    private NewsArticleRepository newsArticleRepository;
+    
+    @Autowired
+    private HibernateSearchService hibernateSearchService;
+    
+    @Autowired
+    private ArticleRetentionService articleRetentionService;
+    
+    @BeforeEach
+    void setUp() {
+        // Entity by entity, so the search index drops them too
+        newsArticleRepository.deleteAll();
+        newsArticleRepository.saveAll(Arrays.asList(
+                article("old_1", OLD_DAY.atTime(8, 0)),
+                article("old_2", OLD_DAY.atTime(20, 0)),
+                article("new_1", NEW_DAY.atTime(9, 0)),
+                article("new_2", NEW_DAY.atTime(15, 0))));
+    }
+    
+    @Test
+    @DisplayName("Should drop the rows and the index documents of an expired day")
+    void shouldDropRowsAndSearchHitsOfExpiredDay() {
+        // When
+        int dropped = articleRetentionService.dropPartitionsBefore(NEW_DAY);
+        
+        // Then
+        assertEquals(1, dropped);
+        assertEquals(Arrays.asList("new_1", "new_2"), storedArticleIds());
+        assertTrue(newsArticleRepository.findPartitionsBefore(NEW_DAY).isEmpty());
+        assertEquals(2, indexedHits());
+    }
+    
+    @Test
+    @DisplayName("Should leave index documents behind until the partition is purged")
+    void shouldNeedPurgeAfterBulkPartitionDelete() {
+        // When
+        int deleted = newsArticleRepository.deletePartition(OLD_DAY);
+        
+        // Then
+        assertEquals(2, deleted);
+        assertEquals(2, newsArticleRepository.count());
+        assertEquals(4, indexedHits());
+        
+        // When
+        hibernateSearchService.purgePartition(OLD_DAY);
+        
+        // Then
+        assertEquals(2, indexedHits());
+    }
+    
+    @Test
+    @DisplayName("Should delete the rest of the cutoff day entity by entity")
+    void shouldDeletePartOfCutoffDay() {
+        // When
+        articleRetentionService.deletePublishedBefore(NEW_DAY.atTime(12, 0));
+        
+        // Then
+        assertEquals(Arrays.asList("new_2"), storedArticleIds());
+        assertEquals(1, indexedHits());
+        assertEquals(Arrays.asList("new_2"), hibernateSearchService.searchArticles("aurora", 10, Deadline.NONE)
+                .stream().map(NewsArticleEntity::getArticleId).collect(Collectors.toList()));
+    }
+    
+    // Hit count straight from the index, including documents whose rows are gone.
+    // With a one-element page PageImpl keeps that count instead of counting loaded hits.
+    private long indexedHits() {
+        return newsArticleRepository.searchByKeyword("aurora", PageRequest.of(0, 1)).getTotalElements();
+    }
+    
+    private List<String> storedArticleIds() {
+        return newsArticleRepository.findAll().stream()
+                .map(NewsArticleEntity::getArticleId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+    
+    private static NewsArticleEntity article(String articleId, LocalDateTime publishedAt) {
+        return NewsArticleEntity.builder()
+                .articleId(articleId)
+                .title("Aurora seen over " + articleId)
+                .description("Night sky report")
+                .url("https://example.com/" + articleId)
+                .source("Test Source")
+                .publishedAt(publishedAt)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.newsaggregator.repository;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import com.newsaggregator.service.HibernateSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: ./mvnw test -Dtest=NewsArticleSearchBenchmarkTest -Dbenchmark.rows=1000000
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+@DisplayName("Keyword search benchmark: LIKE scan vs Lucene index")
+@Slf4j
+class NewsArticleSearchBenchmarkTest {
+    
+    private static final String[] TOPICS = {"apple", "climate", "election", "football", "markets", "health", "space"};
+    private static final int QUERIES = 50;
+    
+    @Autowired
+    private NewsArticleRepository newsArticleRepository;
+    
+    @Autowired
+    private HibernateSearchService hibernateSearchService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @BeforeAll
+    void loadArticles() {
+        int rows = Integer.getInteger("benchmark.rows");
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>();
+        
+        for (int i = 1; i <= rows; i++) {
+            String topic = TOPICS[i % TOPICS.length];
+            LocalDateTime publishedAt = now.minusMinutes(i);
+            batch.add(new Object[]{
+                    (long) i, "bench_" + i, "Breaking " + topic + " story number " + i,
+                    "Detailed coverage of " + topic + " developments " + i,
+                    "https://example.com/" + i, "Benchmark", Timestamp.valueOf(publishedAt),
+                    java.sql.Date.valueOf(publishedAt.toLocalDate()), "Reporter " + (i % 100)});
+            if (batch.size() == 5000 || i == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO news_articles " +
+                        "(id, article_id, title, description, url, source, published_at, published_day, author) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        
+        // Rows were inserted behind Hibernate's back, so index them explicitly
+        hibernateSearchService.rebuildSearchIndex();
+    }
+    
+    @Test
+    void compareKeywordSearchPaths() {
+        long likeNanos = time(keyword -> transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT n FROM NewsArticleEntity n WHERE " +
+                        "LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                        "LOWER(n.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                        "LOWER(n.author) LIKE LOWER(CONCAT('%', :keyword, '%'))", NewsArticleEntity.class)
+                .setParameter("keyword", keyword)
+                .setMaxResults(20)
+                .getResultList()
+                .size()));
+        
+        long indexNanos = time(keyword -> {
+            Page<NewsArticleEntity> page = newsArticleRepository.searchByKeyword(keyword, PageRequest.of(0, 20));
+            return page.getNumberOfElements();
+        });
+        
+        log.info("rows={} queries={} like={}ms/query index={}ms/query speedup={}x",
+                 Integer.getInteger("benchmark.rows"), QUERIES,
+                 String.format("%.2f", likeNanos / 1e6 / QUERIES), String.format("%.2f", indexNanos / 1e6 / QUERIES),
+                 String.format("%.1f", (double) likeNanos / indexNanos));
+        assertTrue(indexNanos < likeNanos, "Indexed search should beat the LIKE scan");
+    }
+    
+    private long time(java.util.function.ToIntFunction<String> query) {
+        // Warm-up pass, then measured pass
+        for (String topic : TOPICS) {
+            query.applyAsInt(topic);
+        }
+        
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            found += query.applyAsInt(TOPICS[i % TOPICS.length]);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(found > 0);
+        return elapsed;
+    }
+}
\ No newline at end of file
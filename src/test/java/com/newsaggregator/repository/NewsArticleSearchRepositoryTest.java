@@ -0,0 +1,114 @@
+package com.newsaggregator.repository;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Indexed keyword search repository")
+class NewsArticleSearchRepositoryTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 12, 0);
+    
+    @Autowired
+    private NewsArticleRepository newsArticleRepository;
+    
+    @BeforeEach
+    void setUp() {
+        // Entity by entity, so the search index drops them too
+        newsArticleRepository.deleteAll();
+        newsArticleRepository.saveAll(Arrays.asList(
+                article("glacier_1", "Glacier retreat accelerates", "Ice loss in the Alps", NOW.minusDays(3)),
+                article("glacier_2", "Alpine towns prepare", "Glacier melt threatens water supply", NOW.minusDays(1)),
+                article("glacier_3", "Glacier tourism booms", "Visitors flock north", NOW.minusDays(2)),
+                article("markets_1", "Markets rally", "Stocks close higher", NOW.minusHours(5)),
+                article("glaciers_1", "Glaciers of Patagonia", "A photo essay", NOW.minusDays(4))));
+    }
+    
+    @Test
+    @DisplayName("Should page keyword hits newest first with totals over all hits")
+    void shouldPageKeywordHitsNewestFirst() {
+        // When
+        Page<NewsArticleEntity> first = newsArticleRepository.searchByKeyword(
+                "glacier", PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "publishedAt")));
+        Page<NewsArticleEntity> second = newsArticleRepository.searchByKeyword(
+                "glacier", PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "publishedAt")));
+        
+        // Then
+        assertEquals(3, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+        assertEquals(Arrays.asList("glacier_2", "glacier_3"), articleIds(first));
+        assertEquals(Arrays.asList("glacier_1"), articleIds(second));
+        assertFalse(second.hasNext());
+    }
+    
+    @Test
+    @DisplayName("Should sort oldest first when asked")
+    void shouldSortAscending() {
+        // When
+        Page<NewsArticleEntity> page = newsArticleRepository.searchByKeyword(
+                "glacier", PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "publishedAt")));
+        
+        // Then
+        assertEquals(Arrays.asList("glacier_1", "glacier_3", "glacier_2"), articleIds(page));
+    }
+    
+    @Test
+    @DisplayName("Should reject sorting by a field the index cannot sort on")
+    void shouldRejectUnsupportedSort() {
+        // When & Then - the repository proxy translates the IllegalArgumentException
+        InvalidDataAccessApiUsageException error = assertThrows(InvalidDataAccessApiUsageException.class, () ->
+                newsArticleRepository.searchByKeyword("glacier", PageRequest.of(0, 10, Sort.by("title"))));
+        assertTrue(error.getCause() instanceof IllegalArgumentException);
+        assertTrue(error.getCause().getMessage().contains("title"));
+    }
+    
+    @Test
+    @DisplayName("Should match whole tokens regardless of case, not substrings")
+    void shouldMatchTokensIgnoringCase() {
+        // When
+        Page<NewsArticleEntity> tokens = newsArticleRepository
+                .findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase("GLACIER", "GLACIER", Pageable.unpaged());
+        Page<NewsArticleEntity> substring = newsArticleRepository
+                .findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase("glac", "glac", Pageable.unpaged());
+        
+        // Then
+        assertEquals(3, tokens.getTotalElements());
+        assertTrue(articleIds(tokens).containsAll(Arrays.asList("glacier_1", "glacier_2", "glacier_3")));
+        assertFalse(articleIds(tokens).contains("glaciers_1"));
+        assertEquals(0, substring.getTotalElements());
+    }
+    
+    private static List<String> articleIds(Page<NewsArticleEntity> page) {
+        return page.getContent().stream().map(NewsArticleEntity::getArticleId).collect(Collectors.toList());
+    }
+    
+    private static NewsArticleEntity article(String articleId, String title, String description,
+                                             LocalDateTime publishedAt) {
+        return NewsArticleEntity.builder()
+                .articleId(articleId)
+                .title(title)
+                .description(description)
+                .url("https://example.com/" + articleId)
+                .source("Test Source")
+                .publishedAt(publishedAt)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.ServiceOverloadedException;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+    
+    private CacheService cacheService;
+    private AdmissionControlService admissionControlService;
+    
+    @BeforeEach
+    void setUp() {
+        cacheService = new CacheService();
+        admissionControlService = new AdmissionControlService(cacheService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admissionControlService, "enabled", true);
+        ReflectionTestUtils.setField(admissionControlService, "initialLimit", 4);
+        ReflectionTestUtils.setField(admissionControlService, "minLimit", 1);
+        ReflectionTestUtils.setField(admissionControlService, "maxLimit", 4);
+        ReflectionTestUtils.setField(admissionControlService, "prefetchShare", 0.75);
+        ReflectionTestUtils.setField(admissionControlService, "batchShare", 0.5);
+        ReflectionTestUtils.setField(admissionControlService, "retryAfterSeconds", 2L);
+        admissionControlService.init();
+    }
+    
+    @Test
+    void testBatchIsShedBeforeInteractive() {
+        // Given two batch searches holding their slots
+        Disposable first = hold(RequestPriority.BATCH, "a");
+        Disposable second = hold(RequestPriority.BATCH, "b");
+        
+        // When & Then
+        StepVerifier.create(admissionControlService.admit(request("c"), RequestPriority.BATCH, this::respond))
+                .expectErrorSatisfies(error -> {
+                    assertTrue(error instanceof ServiceOverloadedException);
+                    assertEquals(2, ((ServiceOverloadedException) error).getRetryAfterSeconds());
+                })
+                .verify();
+        StepVerifier.create(admissionControlService.admit(request("d"), RequestPriority.INTERACTIVE, this::respond))
+                .expectNextCount(1)
+                .verifyComplete();
+        
+        first.dispose();
+        second.dispose();
+        assertEquals(0, admissionControlService.inflight());
+    }
+    
+    @Test
+    void testCacheHitsAreAdmittedWhenFull() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            hold(RequestPriority.INTERACTIVE, "busy" + i);
+        }
+        cacheService.put(cacheService.generateKey("cached", 1, 10), new NewsSearchResponse());
+        
+        // When & Then
+        StepVerifier.create(admissionControlService.admit(request("cached"), RequestPriority.BATCH, this::respond))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(admissionControlService.admit(request("uncached"), RequestPriority.INTERACTIVE, this::respond))
+                .expectError(ServiceOverloadedException.class)
+                .verify();
+    }
+    
+    private Disposable hold(RequestPriority priority, String keyword) {
+        return admissionControlService.admit(request(keyword), priority, () -> Mono.<NewsSearchResponse>never())
+                .subscribe();
+    }
+    
+    private Mono<NewsSearchResponse> respond() {
+        return Mono.just(new NewsSearchResponse());
+    }
+    
+    private static NewsSearchRequest request(String keyword) {
+        return NewsSearchRequest.builder().keyword(keyword).page(1).pageSize(10).build();
+    }
+}
\ No newline at end of file
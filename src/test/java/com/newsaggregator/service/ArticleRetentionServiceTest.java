@@ -0,0 +1,82 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.repository.NewsArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleRetentionServiceTest {
+    
+    @Mock
+    private NewsArticleRepository newsArticleRepository;
+    
+    @Mock
+    private HibernateSearchService hibernateSearchService;
+    
+    @InjectMocks
+    private ArticleRetentionService retentionService;
+    
+    @Test
+    void dropPartitionsBefore_ShouldDropEachExpiredPartition() {
+        // Given
+        LocalDate cutoff = LocalDate.of(2024, 3, 1);
+        LocalDate day1 = LocalDate.of(2024, 2, 27);
+        LocalDate day2 = LocalDate.of(2024, 2, 28);
+        when(newsArticleRepository.findPartitionsBefore(cutoff)).thenReturn(Arrays.asList(day1, day2));
+        when(newsArticleRepository.deletePartition(any(LocalDate.class))).thenReturn(10);
+        
+        // When
+        int dropped = retentionService.dropPartitionsBefore(cutoff);
+        
+        // Then
+        assertEquals(2, dropped);
+        verify(newsArticleRepository).deletePartition(day1);
+        verify(newsArticleRepository).deletePartition(day2);
+        verify(hibernateSearchService).purgePartition(day1);
+        verify(hibernateSearchService).purgePartition(day2);
+    }
+    
+    @Test
+    void dropPartitionsBefore_ShouldDoNothingWhenNoPartitionExpired() {
+        // Given
+        LocalDate cutoff = LocalDate.of(2024, 3, 1);
+        when(newsArticleRepository.findPartitionsBefore(cutoff)).thenReturn(Collections.emptyList());
+        
+        // When
+        int dropped = retentionService.dropPartitionsBefore(cutoff);
+        
+        // Then
+        assertEquals(0, dropped);
+        verify(newsArticleRepository, never()).deletePartition(any(LocalDate.class));
+        verifyNoInteractions(hibernateSearchService);
+    }
+    
+    @Test
+    void deletePublishedBefore_ShouldPurgeWholeDaysAndDeleteRestOfCutoffDay() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.of(2024, 3, 1, 12, 0);
+        LocalDate expiredDay = LocalDate.of(2024, 2, 29);
+        when(newsArticleRepository.findPartitionsBefore(cutoff.toLocalDate()))
+                .thenReturn(Collections.singletonList(expiredDay));
+        when(newsArticleRepository.deletePartition(expiredDay)).thenReturn(3);
+        
+        // When
+        retentionService.deletePublishedBefore(cutoff);
+        
+        // Then
+        verify(hibernateSearchService).purgePartition(expiredDay);
+        verify(newsArticleRepository).deleteByPublishedDayAndPublishedAtBefore(cutoff.toLocalDate(), cutoff);
+    }
+}
\ No newline at end of file
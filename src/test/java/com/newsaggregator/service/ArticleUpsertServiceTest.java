@@ -0,0 +1,124 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.entity.NewsArticleEntity;
+import com.newsaggregator.model.ArticleUpsertResult;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.repository.NewsArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Article Bulk Upsert Tests")
+class ArticleUpsertServiceTest {
+    
+    @Autowired
+    private ArticleUpsertService articleUpsertService;
+    
+    @Autowired
+    private NewsArticleRepository newsArticleRepository;
+    
+    @BeforeEach
+    void setUp() {
+        newsArticleRepository.deleteAllInBatch();
+    }
+    
+    @Test
+    @DisplayName("Should insert new articles and update existing ones by article id")
+    void shouldInsertAndUpdateByArticleId() {
+        // Given
+        articleUpsertService.upsertAll(Arrays.asList(
+                createArticle("guardian_1", "Original title"),
+                createArticle("guardian_2", "Unchanged title")));
+        
+        // When
+        ArticleUpsertResult result = articleUpsertService.upsertAll(Arrays.asList(
+                createArticle("guardian_1", "Updated title"),
+                createArticle("guardian_2", "Unchanged title"),
+                createArticle("nyt_3", "Brand new article")));
+        
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(3, newsArticleRepository.count());
+        assertEquals("Updated title", newsArticleRepository.findByArticleId("guardian_1")
+                .map(NewsArticleEntity::getTitle).orElse(null));
+    }
+    
+    @Test
+    @DisplayName("Should keep the last occurrence of duplicated article ids")
+    void shouldCollapseDuplicateIdsWithinOneCall() {
+        // When
+        ArticleUpsertResult result = articleUpsertService.upsertAll(Arrays.asList(
+                createArticle("guardian_1", "First version"),
+                createArticle("guardian_1", "Second version")));
+        
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals("Second version", newsArticleRepository.findByArticleId("guardian_1")
+                .map(NewsArticleEntity::getTitle).orElse(null));
+    }
+    
+    // Run with -Dbenchmark.rows=N; add
+    // -Dspring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE
+    // to measure against H2's PostgreSQL compatibility mode
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    @DisplayName("Bulk upsert throughput vs one save per article")
+    void benchmarkBulkUpsertAgainstSingleSaves() {
+        int rows = Integer.getInteger("benchmark.rows");
+        
+        long singleStart = System.nanoTime();
+        for (NewsArticle article : createArticles("single_", rows)) {
+            newsArticleRepository.save(NewsArticleEntity.builder()
+                    .articleId(article.getId())
+                    .title(article.getTitle())
+                    .description(article.getDescription())
+                    .url(article.getUrl())
+                    .source(article.getSource())
+                    .publishedAt(article.getPublishedAt())
+                    .build());
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+        
+        long bulkStart = System.nanoTime();
+        ArticleUpsertResult result = articleUpsertService.upsertAll(createArticles("bulk_", rows));
+        long bulkNanos = System.nanoTime() - bulkStart;
+        
+        System.out.printf("rows=%d single=%.0f rows/s bulk=%.0f rows/s speedup=%.1fx%n", rows,
+                rows / (singleNanos / 1e9), rows / (bulkNanos / 1e9), (double) singleNanos / bulkNanos);
+        assertEquals(rows, result.getInserted());
+    }
+    
+    private List<NewsArticle> createArticles(String prefix, int count) {
+        List<NewsArticle> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(createArticle(prefix + i, "Benchmark article " + i));
+        }
+        return articles;
+    }
+    
+    private NewsArticle createArticle(String id, String title) {
+        return NewsArticle.builder()
+                .id(id)
+                .title(title)
+                .description("Test description")
+                .url("https://example.com/" + id)
+                .source("Test Source")
+                .publishedAt(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.InvalidRequestException;
+import com.newsaggregator.model.BatchSearchResult;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class BatchSearchServiceTest {
+    
+    private ClusterRoutingService clusterRoutingService;
+    private AdmissionControlService admissionControlService;
+    private CacheService cacheService;
+    private BatchSearchService batchSearchService;
+    
+    @BeforeEach
+    void setUp() {
+        clusterRoutingService = mock(ClusterRoutingService.class);
+        cacheService = new CacheService();
+        admissionControlService = new AdmissionControlService(cacheService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admissionControlService, "enabled", true);
+        ReflectionTestUtils.setField(admissionControlService, "initialLimit", 8);
+        ReflectionTestUtils.setField(admissionControlService, "minLimit", 1);
+        ReflectionTestUtils.setField(admissionControlService, "maxLimit", 8);
+        ReflectionTestUtils.setField(admissionControlService, "batchShare", 0.5);
+        admissionControlService.init();
+        batchSearchService = new BatchSearchService(clusterRoutingService, admissionControlService, cacheService);
+        ReflectionTestUtils.setField(batchSearchService, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(batchSearchService, "maxConcurrency", 2);
+        batchSearchService.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        batchSearchService.stop();
+    }
+    
+    @Test
+    void testCoalescesDuplicatesAndServesCacheHits() {
+        // Given
+        cacheService.put("cached_1_10", NewsSearchResponse.builder().searchKeyword("cached").build());
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenAnswer(inv -> Mono.just(NewsSearchResponse.builder()
+                        .searchKeyword(((NewsSearchRequest) inv.getArgument(0)).getKeyword()).build()));
+        List<NewsSearchRequest> requests = Arrays.asList(request("apple"), request("cached"), request("apple"),
+                                                         request("climate"));
+        
+        // When & Then
+        StepVerifier.create(batchSearchService.searchAll(requests))
+                .assertNext(results -> {
+                    assertEquals(4, results.size());
+                    for (int i = 0; i < results.size(); i++) {
+                        assertEquals(i, results.get(i).getIndex());
+                        assertEquals(requests.get(i).getKeyword(), results.get(i).getResponse().getSearchKeyword());
+                    }
+                    assertTrue(results.get(1).getResponse().isFromCache());
+                })
+                .verifyComplete();
+        verify(clusterRoutingService, times(2)).searchNews(any(NewsSearchRequest.class), isNull());
+    }
+    
+    @Test
+    void testUpstreamFetchesShareGlobalConcurrencyLimit() {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull())).thenAnswer(inv -> Mono.defer(() -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            return Mono.just(new NewsSearchResponse()).delayElement(Duration.ofMillis(20));
+        }).doOnTerminate(running::decrementAndGet));
+        List<NewsSearchRequest> first = new ArrayList<>();
+        List<NewsSearchRequest> second = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            first.add(request("a" + i));
+            second.add(request("b" + i));
+        }
+        
+        // When
+        StepVerifier.create(batchSearchService.searchStream(first).mergeWith(batchSearchService.searchStream(second)))
+                .expectNextCount(10)
+                .verifyComplete();
+        
+        // Then
+        assertTrue(peak.get() <= 2, "peak concurrency " + peak.get());
+    }
+    
+    @Test
+    void testFailedFetchIsReportedPerEntry() {
+        // Given
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenReturn(Mono.error(new RuntimeException("boom")))
+                .thenReturn(Mono.just(new NewsSearchResponse()));
+        
+        // When & Then
+        StepVerifier.create(batchSearchService.searchAll(Arrays.asList(request("apple"), request("climate"))))
+                .assertNext(results -> {
+                    BatchSearchResult failed = results.get(0);
+                    assertEquals("boom", failed.getError());
+                    assertNull(failed.getResponse());
+                    assertNotNull(results.get(1).getResponse());
+                })
+                .verifyComplete();
+    }
+    
+    @Test
+    void testFetchesAreShedAtBatchPriority() {
+        // Given interactive searches holding every slot the batch share allows
+        List<Disposable> interactive = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            interactive.add(admissionControlService.admit(request("held" + i), RequestPriority.INTERACTIVE,
+                                                          Mono::<NewsSearchResponse>never).subscribe());
+        }
+        
+        // When & Then
+        StepVerifier.create(batchSearchService.searchAll(Collections.singletonList(request("apple"))))
+                .assertNext(results -> {
+                    assertNull(results.get(0).getResponse());
+                    assertEquals("Search capacity exhausted, retry later", results.get(0).getError());
+                })
+                .verifyComplete();
+        verify(clusterRoutingService, never()).searchNews(any(NewsSearchRequest.class), any());
+        interactive.forEach(Disposable::dispose);
+    }
+    
+    @Test
+    void testCancellingBatchCancelsRunningFetches() {
+        // Given
+        AtomicInteger cancelled = new AtomicInteger();
+        when(clusterRoutingService.searchNews(any(NewsSearchRequest.class), isNull()))
+                .thenAnswer(inv -> Mono.<NewsSearchResponse>never().doOnCancel(cancelled::incrementAndGet));
+        
+        // When
+        Disposable batch = batchSearchService.searchAll(Arrays.asList(request("apple"), request("climate"),
+                                                                      request("space"))).subscribe();
+        verify(clusterRoutingService, timeout(1000).times(2)).searchNews(any(NewsSearchRequest.class), isNull());
+        batch.dispose();
+        
+        // Then the two running fetches are cancelled and the queued one never starts
+        verify(clusterRoutingService, after(200).times(2)).searchNews(any(NewsSearchRequest.class), isNull());
+        assertEquals(2, cancelled.get());
+        assertEquals(0, admissionControlService.inflight());
+    }
+    
+    @Test
+    void testRejectsOversizedAndInvalidBatches() {
+        // Given
+        List<NewsSearchRequest> oversized = new ArrayList<>(Collections.nCopies(11, request("apple")));
+        
+        // When & Then
+        StepVerifier.create(batchSearchService.searchAll(oversized))
+                .expectError(InvalidRequestException.class)
+                .verify();
+        StepVerifier.create(batchSearchService.searchAll(Arrays.asList(request("apple"), request(" "))))
+                .expectError(InvalidRequestException.class)
+                .verify();
+    }
+    
+    private static NewsSearchRequest request(String keyword) {
+        return NewsSearchRequest.builder().keyword(keyword).page(1).pageSize(10).build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.DeadlineExceededException;
+import com.newsaggregator.exception.ServiceOverloadedException;
+import com.newsaggregator.util.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BlockingWorkSchedulerTest {
+    
+    private BlockingWorkScheduler blockingWorkScheduler;
+    
+    @BeforeEach
+    void setUp() {
+        blockingWorkScheduler = newScheduler(BlockingWorkScheduler.MODE_BOUNDED_ELASTIC, 1, 1);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        blockingWorkScheduler.stop();
+    }
+    
+    @Test
+    void testRunsOffTheCallingThread() {
+        // When & Then
+        StepVerifier.create(blockingWorkScheduler.call(() -> Thread.currentThread().getName()))
+                .assertNext(name -> assertTrue(name.startsWith("blocking-io")))
+                .verifyComplete();
+    }
+    
+    @Test
+    void testRejectsWorkBeyondThreadAndQueueCaps() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mono<Boolean> running = blockingWorkScheduler.call(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        running.subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        blockingWorkScheduler.call(() -> "queued").subscribe();
+        
+        // When & Then
+        StepVerifier.create(blockingWorkScheduler.call(() -> "rejected"))
+                .expectError(ServiceOverloadedException.class)
+                .verify();
+        release.countDown();
+    }
+    
+    @Test
+    void testCapsConcurrentDbWorkWithPermits() throws Exception {
+        // Given
+        blockingWorkScheduler.stop();
+        blockingWorkScheduler = newScheduler(BlockingWorkScheduler.MODE_BOUNDED_ELASTIC, 4, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockingWorkScheduler.call(4, () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        
+        // When & Then
+        StepVerifier.create(blockingWorkScheduler.call(() -> "waits for a permit"))
+                .expectError(ServiceOverloadedException.class)
+                .verify();
+        release.countDown();
+        StepVerifier.create(blockingWorkScheduler.call(() -> "permit free"))
+                .expectNext("permit free")
+                .verifyComplete();
+    }
+    
+    @Test
+    void testPermitWaitStopsAtDeadline() throws Exception {
+        // Given
+        blockingWorkScheduler.stop();
+        blockingWorkScheduler = newScheduler(BlockingWorkScheduler.MODE_BOUNDED_ELASTIC, 2, 1);
+        ReflectionTestUtils.setField(blockingWorkScheduler, "permitTimeoutMillis", 5000L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockingWorkScheduler.call(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        
+        // When & Then
+        StepVerifier.create(blockingWorkScheduler.call(() -> "waits for a permit")
+                                    .contextWrite(deadline.asContext()))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        release.countDown();
+    }
+    
+    @Test
+    void testVirtualThreadModeFallsBackWithoutJdkSupport() {
+        // Given
+        blockingWorkScheduler.stop();
+        
+        // When
+        blockingWorkScheduler = newScheduler(BlockingWorkScheduler.MODE_VIRTUAL_THREADS, 1, 1);
+        
+        // Then
+        assertEquals(BlockingWorkScheduler.newVirtualThreadExecutor() != null, blockingWorkScheduler.isVirtual());
+        StepVerifier.create(blockingWorkScheduler.call(() -> "done"))
+                .expectNext("done")
+                .verifyComplete();
+    }
+    
+    @Test
+    void testVirtualThreadModeRunsTasksOnVirtualThreads() {
+        // Given
+        assumeTrue(BlockingWorkScheduler.newVirtualThreadExecutor() != null);
+        blockingWorkScheduler.stop();
+        blockingWorkScheduler = newScheduler(BlockingWorkScheduler.MODE_VIRTUAL_THREADS, 1, 1);
+        
+        // When & Then
+        StepVerifier.create(blockingWorkScheduler.call(() -> Thread.currentThread().toString()))
+                .assertNext(name -> assertTrue(name.startsWith("VirtualThread")))
+                .verifyComplete();
+    }
+    
+    private static BlockingWorkScheduler newScheduler(String mode, int threadCap, int maxDbConcurrency) {
+        BlockingWorkScheduler scheduler = new BlockingWorkScheduler();
+        ReflectionTestUtils.setField(scheduler, "mode", mode);
+        ReflectionTestUtils.setField(scheduler, "threadCap", threadCap);
+        ReflectionTestUtils.setField(scheduler, "queuedTaskCap", 1);
+        ReflectionTestUtils.setField(scheduler, "maxDbConcurrency", maxDbConcurrency);
+        ReflectionTestUtils.setField(scheduler, "permitTimeoutMillis", 100L);
+        ReflectionTestUtils.setField(scheduler, "retryAfterSeconds", 1L);
+        scheduler.start();
+        return scheduler;
+    }
+}
\ No newline at end of file
@@ -1,8 +1,24 @@
 package com.newsaggregator.service;
 
+import com.newsaggregator.client.InMemoryCacheClient;
+import com.newsaggregator.model.NewsArticle;
 import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.CacheSnapshot;
+import com.newsaggregator.util.ResponseValidators;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,4 +58,199 @@ class CacheServiceTest {
         // Then
         assertEquals("apple_1_10", key);
     }
+    
+    @Test
+    void testGenerateKeyIgnoresCaseAndSurroundingWhitespace() {
+        // When
+        String key = cacheService.generateKey("  Climate\tChange ", 1, 10);
+        
+        // Then
+        assertEquals("climate change_1_10", key);
+        assertEquals(key, cacheService.generateKey("climate change", 1, 10));
+    }
+    
+    @Test
+    void testRestoreFromSnapshot(@TempDir Path tempDir) throws Exception {
+        // Given
+        cacheService.put("apple_1_10", NewsSearchResponse.builder().searchKeyword("apple").build());
+        Path file = tempDir.resolve("cache.snapshot");
+        CacheSnapshot.write(file, cacheService.exportEntries());
+        
+        // When
+        CacheService restarted = new CacheService();
+        restarted.restore(CacheSnapshot.read(file, System.currentTimeMillis()));
+        
+        // Then
+        assertTrue(restarted.remainingTtlMillis("apple_1_10") > 0);
+        assertFalse(restarted.isCachedLocally("apple_1_10"));
+        NewsSearchResponse restored = restarted.get("apple_1_10");
+        assertNotNull(restored);
+        assertTrue(restarted.isCachedLocally("apple_1_10"));
+        assertEquals("apple", restored.getSearchKeyword());
+        assertNull(restarted.get("missing_1_10"));
+    }
+    
+    @Test
+    void testRestoredEntryDoesNotOutliveEvictOrOverwrite(@TempDir Path tempDir) throws Exception {
+        // Given
+        cacheService.put("apple_1_10", NewsSearchResponse.builder().searchKeyword("apple").build());
+        cacheService.put("pear_1_10", NewsSearchResponse.builder().searchKeyword("pear").build());
+        Path file = tempDir.resolve("cache.snapshot");
+        CacheSnapshot.write(file, cacheService.exportEntries());
+        CacheService restarted = new CacheService();
+        restarted.restore(CacheSnapshot.read(file, System.currentTimeMillis()));
+        
+        // When
+        restarted.evict("apple_1_10");
+        restarted.put("pear_1_10", NewsSearchResponse.builder().searchKeyword("pear-fresh").build());
+        List<CacheSnapshot.Entry> exported = restarted.exportEntries();
+        
+        // Then
+        assertNull(restarted.get("apple_1_10"));
+        assertEquals(0, restarted.remainingTtlMillis("apple_1_10"));
+        assertEquals(1, exported.size());
+        assertEquals("pear_1_10", exported.get(0).getKey());
+        assertEquals("pear-fresh", restarted.get("pear_1_10").getSearchKeyword());
+    }
+    
+    @Test
+    void testValidatorsSurviveSnapshotRestore(@TempDir Path tempDir) throws Exception {
+        // Given
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .searchKeyword("apple")
+                .articles(Arrays.asList(
+                        NewsArticle.builder().id("a").publishedAt(LocalDateTime.of(2024, 3, 1, 12, 0)).build(),
+                        NewsArticle.builder().id("b").publishedAt(LocalDateTime.of(2024, 3, 2, 8, 30)).build()))
+                .build();
+        cacheService.put("apple_1_10", response);
+        ResponseValidators original = cacheService.getValidators("apple_1_10");
+        Path file = tempDir.resolve("cache.snapshot");
+        CacheSnapshot.write(file, cacheService.exportEntries());
+        
+        // When
+        CacheService restarted = new CacheService();
+        restarted.restore(CacheSnapshot.read(file, System.currentTimeMillis()));
+        ResponseValidators restored = restarted.getValidators("apple_1_10");
+        
+        // Then
+        assertNotNull(original);
+        assertNotNull(restored);
+        assertEquals(original.getEtag(), restored.getEtag());
+        assertEquals(original.getLastModified(), restored.getLastModified());
+        assertNull(restarted.getValidators("missing_1_10"));
+        
+        cacheService.evict("apple_1_10");
+        assertNull(cacheService.getValidators("apple_1_10"));
+    }
+    
+    @Test
+    void testReplicasShareSecondLevelCache() throws Exception {
+        // Given
+        InMemoryCacheClient shared = new InMemoryCacheClient();
+        CacheService replicaA = new CacheService(Optional.of(shared));
+        CacheService replicaB = new CacheService(Optional.of(shared));
+        replicaA.subscribeToInvalidations();
+        replicaB.subscribeToInvalidations();
+        
+        // When
+        replicaA.put("apple_1_10", NewsSearchResponse.builder().searchKeyword("apple").build());
+        awaitTrue(() -> shared.get("apple_1_10") != null);
+        
+        // Then
+        NewsSearchResponse fromL2 = replicaB.get("apple_1_10");
+        assertNotNull(fromL2);
+        assertEquals("apple", fromL2.getSearchKeyword());
+        assertTrue(replicaB.remainingTtlMillis("apple_1_10") > 0);
+    }
+    
+    @Test
+    void testLookupReadsSecondLevelCacheOffTheCallerThread() throws Exception {
+        // Given
+        List<String> readerThreads = new CopyOnWriteArrayList<>();
+        InMemoryCacheClient shared = new InMemoryCacheClient() {
+            @Override
+            public byte[] get(String key) {
+                readerThreads.add(Thread.currentThread().getName());
+                return super.get(key);
+            }
+        };
+        CacheService replicaA = new CacheService(Optional.of(shared));
+        CacheService replicaB = new CacheService(Optional.of(shared));
+        replicaA.put("apple_1_10", NewsSearchResponse.builder().searchKeyword("apple").build());
+        awaitTrue(() -> shared.get("apple_1_10") != null);
+        readerThreads.clear();
+        
+        // When
+        Mono<NewsSearchResponse> lookup = replicaB.lookup("apple_1_10");
+        
+        // Then
+        assertTrue(readerThreads.isEmpty());
+        assertEquals("apple", lookup.block(Duration.ofSeconds(2)).getSearchKeyword());
+        assertEquals(1, readerThreads.size());
+        assertTrue(readerThreads.get(0).startsWith("boundedElastic"), readerThreads.get(0));
+        assertNotNull(replicaB.lookupValidators("apple_1_10").block(Duration.ofSeconds(2)));
+        assertNull(replicaB.lookup("missing_1_10").block(Duration.ofSeconds(2)));
+        assertEquals(2, readerThreads.size());
+    }
+    
+    @Test
+    void testPutInvalidatesOtherReplicas() throws Exception {
+        // Given
+        InMemoryCacheClient shared = new InMemoryCacheClient();
+        CacheService replicaA = new CacheService(Optional.of(shared));
+        CacheService replicaB = new CacheService(Optional.of(shared));
+        replicaA.subscribeToInvalidations();
+        replicaB.subscribeToInvalidations();
+        replicaB.put("apple_1_10", NewsSearchResponse.builder().searchKeyword("stale").build());
+        awaitTrue(() -> shared.get("apple_1_10") != null);
+        
+        // When
+        replicaA.put("apple_1_10", NewsSearchResponse.builder().searchKeyword("fresh").build());
+        
+        // Then
+        awaitTrue(() -> "fresh".equals(replicaB.get("apple_1_10").getSearchKeyword()));
+        
+        // When
+        replicaA.evict("apple_1_10");
+        
+        // Then
+        awaitTrue(() -> replicaB.get("apple_1_10") == null);
+    }
+    
+    @Test
+    void testStalledSharedCacheDropsWritesInsteadOfQueueing() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryCacheClient stalled = new InMemoryCacheClient() {
+            @Override
+            public void set(String key, byte[] value, long ttlMillis) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.set(key, value, ttlMillis);
+            }
+        };
+        CacheService service = new CacheService(Optional.of(stalled), 2);
+        
+        // When
+        for (int i = 0; i < 10; i++) {
+            service.put("key_" + i, NewsSearchResponse.builder().searchKeyword("k" + i).build());
+        }
+        
+        // Then
+        assertTrue(service.getDroppedSharedWrites() >= 7);
+        assertNotNull(service.get("key_9"));
+        release.countDown();
+        service.shutdown();
+    }
+    
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 2s");
+            Thread.sleep(10);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupServiceTest {
+    
+    @Mock
+    private NewsAggregatorService newsAggregatorService;
+    
+    @Mock
+    private CacheService cacheService;
+    
+    @Mock
+    private TrendingKeywordService trendingKeywordService;
+    
+    @Mock
+    private ClusterMembershipService clusterMembershipService;
+    
+    private CacheWarmupService cacheWarmupService;
+    
+    @BeforeEach
+    void setUp() {
+        cacheWarmupService = new CacheWarmupService(newsAggregatorService, cacheService, trendingKeywordService,
+                                                   clusterMembershipService);
+        lenient().when(clusterMembershipService.isLocalOwner(anyString())).thenReturn(true);
+        ReflectionTestUtils.setField(cacheWarmupService, "enabled", true);
+        ReflectionTestUtils.setField(cacheWarmupService, "topK", 3);
+        ReflectionTestUtils.setField(cacheWarmupService, "pageSize", 10);
+        ReflectionTestUtils.setField(cacheWarmupService, "refreshAheadMillis", 60_000L);
+        ReflectionTestUtils.setField(cacheWarmupService, "upstreamCallsPerSecond", 1000.0);
+    }
+    
+    @Test
+    void warmUp_ShouldRefreshOnlyMissingOrExpiringKeywords() {
+        // Given
+        when(trendingKeywordService.topKeywords(3)).thenReturn(Arrays.asList("apple", "climate", "football"));
+        when(cacheService.generateKey(anyString(), eq(1), eq(10))).thenAnswer(inv -> inv.getArgument(0) + "_1_10");
+        when(cacheService.remainingTtlMillis("apple_1_10")).thenReturn(0L);
+        when(cacheService.remainingTtlMillis("climate_1_10")).thenReturn(240_000L);
+        when(cacheService.remainingTtlMillis("football_1_10")).thenReturn(30_000L);
+        when(newsAggregatorService.refreshNews(any(NewsSearchRequest.class)))
+                .thenReturn(Mono.just(new NewsSearchResponse()));
+        
+        // When & Then
+        StepVerifier.create(cacheWarmupService.warmUp())
+                .expectNext(2L)
+                .verifyComplete();
+        
+        verify(newsAggregatorService).refreshNews(argThat(r -> r.getKeyword().equals("apple")));
+        verify(newsAggregatorService).refreshNews(argThat(r -> r.getKeyword().equals("football")));
+        verify(newsAggregatorService, never()).refreshNews(argThat(r -> r.getKeyword().equals("climate")));
+    }
+    
+    @Test
+    void warmUp_ShouldContinueWhenOneKeywordFails() {
+        // Given
+        when(trendingKeywordService.topKeywords(3)).thenReturn(Arrays.asList("apple", "climate"));
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("key");
+        when(cacheService.remainingTtlMillis("key")).thenReturn(0L);
+        when(newsAggregatorService.refreshNews(any(NewsSearchRequest.class)))
+                .thenReturn(Mono.error(new RuntimeException("Upstream down")))
+                .thenReturn(Mono.just(new NewsSearchResponse()));
+        
+        // When & Then
+        StepVerifier.create(cacheWarmupService.warmUp())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+    
+    @Test
+    void warmUp_ShouldSkipKeywordsOwnedByOtherNodes() {
+        // Given
+        when(trendingKeywordService.topKeywords(3)).thenReturn(Arrays.asList("apple"));
+        when(cacheService.generateKey("apple", 1, 10)).thenReturn("apple_1_10");
+        when(clusterMembershipService.isLocalOwner("apple_1_10")).thenReturn(false);
+        
+        // When & Then
+        StepVerifier.create(cacheWarmupService.warmUp())
+                .expectNext(0L)
+                .verifyComplete();
+        verify(newsAggregatorService, never()).refreshNews(any());
+    }
+}
\ No newline at end of file
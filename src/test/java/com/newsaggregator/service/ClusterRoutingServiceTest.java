@@ -0,0 +1,143 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.Deadline;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClusterRoutingServiceTest {
+    
+    private static final String SELF = "http://node-a";
+    
+    private NewsAggregatorService newsAggregatorService;
+    private CacheService cacheService;
+    private ClusterMembershipService membership;
+    private ClusterRoutingService routingService;
+    private HttpServer owner;
+    
+    @BeforeEach
+    void setUp() {
+        newsAggregatorService = mock(NewsAggregatorService.class);
+        cacheService = new CacheService();
+        membership = new ClusterMembershipService();
+        ReflectionTestUtils.setField(membership, "enabled", true);
+        ReflectionTestUtils.setField(membership, "selfUrl", SELF);
+        ReflectionTestUtils.setField(membership, "discovery", "static");
+        ReflectionTestUtils.setField(membership, "virtualNodes", 160);
+        routingService = new ClusterRoutingService(newsAggregatorService, cacheService, membership, WebClient.create());
+        ReflectionTestUtils.setField(routingService, "forwardTimeoutMillis", 2000L);
+        when(newsAggregatorService.searchNews(any(NewsSearchRequest.class)))
+                .thenReturn(Mono.just(NewsSearchResponse.builder().searchKeyword("local").build()));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (owner != null) {
+            owner.stop(0);
+        }
+    }
+    
+    @Test
+    void testForwardsMissToOwningNode() throws Exception {
+        // Given
+        AtomicReference<String> forwardedBy = new AtomicReference<>();
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/api/v1/news/search", exchange -> {
+            forwardedBy.set(exchange.getRequestHeaders().getFirst(ClusterRoutingService.FORWARDED_HEADER));
+            byte[] body = "{\"searchKeyword\":\"remote\",\"articles\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        String ownerUrl = "http://localhost:" + owner.getAddress().getPort();
+        NewsSearchRequest request = requestOwnedBy(ownerUrl);
+        
+        // When & Then
+        StepVerifier.create(routingService.searchNews(request, null))
+                .assertNext(response -> assertEquals("remote", response.getSearchKeyword()))
+                .verifyComplete();
+        assertEquals(SELF, forwardedBy.get());
+        verify(newsAggregatorService, never()).searchNews(any());
+    }
+    
+    @Test
+    void testForwardsRemainingDeadlineToOwner() throws Exception {
+        // Given
+        AtomicReference<String> timeout = new AtomicReference<>();
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/api/v1/news/search", exchange -> {
+            timeout.set(exchange.getRequestHeaders().getFirst(Deadline.HEADER));
+            byte[] body = "{\"searchKeyword\":\"remote\",\"articles\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        NewsSearchRequest request = requestOwnedBy("http://localhost:" + owner.getAddress().getPort());
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500));
+        
+        // When
+        StepVerifier.create(routingService.searchNews(request, null).contextWrite(deadline.asContext()))
+                .assertNext(response -> assertEquals("remote", response.getSearchKeyword()))
+                .verifyComplete();
+        
+        // Then
+        assertNotNull(timeout.get());
+        long forwardedMillis = Long.parseLong(timeout.get());
+        assertTrue(forwardedMillis > 0 && forwardedMillis <= 1500, "forwarded " + forwardedMillis);
+    }
+    
+    @Test
+    void testFallsBackToLocalFetchWhenOwnerIsDown() {
+        // Given
+        NewsSearchRequest request = requestOwnedBy("http://localhost:1");
+        
+        // When & Then
+        StepVerifier.create(routingService.searchNews(request, null))
+                .assertNext(response -> assertEquals("local", response.getSearchKeyword()))
+                .verifyComplete();
+    }
+    
+    @Test
+    void testForwardedRequestsAreNeverForwardedAgain() {
+        // Given
+        NewsSearchRequest request = requestOwnedBy("http://localhost:1");
+        
+        // When & Then
+        StepVerifier.create(routingService.searchNews(request, "http://node-b"))
+                .assertNext(response -> assertEquals("local", response.getSearchKeyword()))
+                .verifyComplete();
+    }
+    
+    // Joins the other node to the ring and picks a keyword that hashes onto it
+    private NewsSearchRequest requestOwnedBy(String otherNode) {
+        ReflectionTestUtils.setField(membership, "staticMembers", Arrays.asList(otherNode));
+        membership.refreshMembership();
+        for (int i = 0; ; i++) {
+            String keyword = "keyword" + i;
+            if (otherNode.equals(membership.ownerOf(cacheService.generateKey(keyword, 1, 10)))) {
+                return NewsSearchRequest.builder().keyword(keyword).page(1).pageSize(10).build();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.newsaggregator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.FieldProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedResponseCacheTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private CompressedResponseCache compressedResponseCache;
+    
+    @BeforeEach
+    void setUp() {
+        compressedResponseCache = new CompressedResponseCache(new ProjectedResponseWriter(objectMapper),
+                                                              new CacheService(), 2);
+        ReflectionTestUtils.setField(compressedResponseCache, "minSizeBytes", 1024);
+    }
+    
+    @Test
+    void testCompressesLargeResponsesOncePerEtag() throws Exception {
+        // Given
+        NewsSearchResponse response = response(50);
+        NewsSearchRequest request = request("apple");
+        
+        // When
+        byte[] first = compressedResponseCache.gzipJson(request, FieldProjection.ALL, "W/\"a\"", response);
+        byte[] second = compressedResponseCache.gzipJson(request, FieldProjection.ALL, "W/\"a\"", response);
+        byte[] changed = compressedResponseCache.gzipJson(request, FieldProjection.ALL, "W/\"b\"", response);
+        
+        // Then
+        assertNotNull(first);
+        assertSame(first, second);
+        assertNotSame(first, changed);
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        assertTrue(first.length * 4 < json.length, "gzip should shrink repetitive article JSON");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            assertEquals("apple", objectMapper.readValue(in, NewsSearchResponse.class).getSearchKeyword());
+        }
+    }
+    
+    @Test
+    void testSkipsSmallResponsesAndEvictsLeastRecentlyUsed() {
+        // When
+        assertNull(compressedResponseCache.gzipJson(request("tiny"), FieldProjection.ALL, "W/\"t\"", response(0)));
+        compressedResponseCache.gzipJson(request("apple"), FieldProjection.ALL, "W/\"a\"", response(50));
+        compressedResponseCache.gzipJson(request("climate"), FieldProjection.ALL, "W/\"c\"", response(50));
+        
+        // Then
+        assertEquals(2, compressedResponseCache.size());
+    }
+    
+    @Test
+    void testKeysEncodedBodiesByProjection() throws Exception {
+        // Given
+        ProjectedResponseWriter writer = new ProjectedResponseWriter(objectMapper);
+        FieldProjection titles = writer.parse("id,title");
+        NewsSearchRequest request = request("apple");
+        NewsSearchResponse response = response(5);
+        
+        // When
+        byte[] full = compressedResponseCache.json(request, FieldProjection.ALL, "W/\"a\"", response);
+        byte[] projected = compressedResponseCache.json(request, titles, "W/\"a\"", response);
+        
+        // Then
+        assertSame(projected, compressedResponseCache.json(request, titles, "W/\"a\"", response));
+        assertTrue(projected.length < full.length);
+        assertFalse(objectMapper.readTree(projected).get("articles").get(0).has("description"));
+        assertEquals(2, compressedResponseCache.size());
+    }
+    
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(CompressedResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CompressedResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(CompressedResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(CompressedResponseCache.acceptsGzip("identity"));
+        assertFalse(CompressedResponseCache.acceptsGzip(null));
+    }
+    
+    private static NewsSearchRequest request(String keyword) {
+        return NewsSearchRequest.builder().keyword(keyword).page(1).pageSize(50).build();
+    }
+    
+    private static NewsSearchResponse response(int articles) {
+        List<NewsArticle> list = new ArrayList<>();
+        for (int i = 0; i < articles; i++) {
+            list.add(NewsArticle.builder()
+                    .id("article-" + i)
+                    .title("Headline number " + i + " about apple")
+                    .description("A fairly long description of the article that repeats across results " + i)
+                    .url("https://example.com/news/" + i)
+                    .imageUrl("https://example.com/images/" + i + ".jpg")
+                    .source("Guardian")
+                    .build());
+        }
+        return NewsSearchResponse.builder().searchKeyword("apple").articles(list).fromCache(true).build();
+    }
+}
\ No newline at end of file
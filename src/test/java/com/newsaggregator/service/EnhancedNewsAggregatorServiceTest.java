@@ -105,8 +105,8 @@ class EnhancedNewsAggregatorServiceTest {
                 })
                 .verifyComplete();
         
-        verify(guardianClient, never()).searchNews(anyString(), anyInt(), anyInt());
-        verify(nyTimesClient, never()).searchNews(anyString(), anyInt(), anyInt());
+        verify(guardianClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+        verify(nyTimesClient, never()).fetchNews(anyString(), anyInt(), anyInt());
     }
     
     @Test
@@ -115,8 +115,8 @@ class EnhancedNewsAggregatorServiceTest {
         // Given
         when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("cache_key");
         when(cacheService.get("cache_key")).thenReturn(null);
-        when(guardianClient.searchNews("technology", 1, 10)).thenReturn(Mono.just(guardianArticles));
-        when(nyTimesClient.searchNews("technology", 1, 10)).thenReturn(Mono.just(nyTimesArticles));
+        when(guardianClient.fetchNews("technology", 1, 10)).thenReturn(Mono.just(guardianArticles));
+        when(nyTimesClient.fetchNews("technology", 1, 10)).thenReturn(Mono.just(nyTimesArticles));
         
         // When
         Mono<NewsSearchResponse> result = newsAggregatorService.searchNews(searchRequest);
@@ -140,8 +140,8 @@ class EnhancedNewsAggregatorServiceTest {
         // Given
         when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("cache_key");
         when(cacheService.get("cache_key")).thenReturn(null);
-        when(guardianClient.searchNews("technology", 1, 10)).thenReturn(Mono.error(new RuntimeException("API Error")));
-        when(nyTimesClient.searchNews("technology", 1, 10)).thenReturn(Mono.error(new RuntimeException("API Error")));
+        when(guardianClient.fetchNews("technology", 1, 10)).thenReturn(Mono.error(new RuntimeException("API Error")));
+        when(nyTimesClient.fetchNews("technology", 1, 10)).thenReturn(Mono.error(new RuntimeException("API Error")));
         when(offlineDataService.getOfflineArticles("technology")).thenReturn(guardianArticles);
         
         // When
@@ -175,8 +175,8 @@ class EnhancedNewsAggregatorServiceTest {
                 })
                 .verifyComplete();
         
-        verify(guardianClient, never()).searchNews(anyString(), anyInt(), anyInt());
-        verify(nyTimesClient, never()).searchNews(anyString(), anyInt(), anyInt());
+        verify(guardianClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+        verify(nyTimesClient, never()).fetchNews(anyString(), anyInt(), anyInt());
     }
     
     @Test
@@ -185,8 +185,8 @@ class EnhancedNewsAggregatorServiceTest {
         // Given
         when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("cache_key");
         when(cacheService.get("cache_key")).thenReturn(null);
-        when(guardianClient.searchNews("technology", 1, 10)).thenReturn(Mono.just(guardianArticles));
-        when(nyTimesClient.searchNews("technology", 1, 10)).thenReturn(Mono.just(nyTimesArticles));
+        when(guardianClient.fetchNews("technology", 1, 10)).thenReturn(Mono.just(guardianArticles));
+        when(nyTimesClient.fetchNews("technology", 1, 10)).thenReturn(Mono.just(nyTimesArticles));
         
         // When
         CompletableFuture<NewsSearchResponse> result = newsAggregatorService.searchNewsWithResilience(searchRequest);
@@ -0,0 +1,71 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.GcPauseEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JvmProfilingServiceTest {
+    
+    private JvmProfilingService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new JvmProfilingService();
+        ReflectionTestUtils.setField(service, "gcHistory", 2);
+        service.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+    
+    @Test
+    void testRecentPausesAreCappedAndNewestFirst() throws InterruptedException {
+        // When
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        // GC notifications are delivered asynchronously
+        long deadline = System.currentTimeMillis() + 5000;
+        while (service.recentPauses().size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        
+        // Then
+        List<GcPauseEvent> pauses = service.recentPauses();
+        assertEquals(2, pauses.size());
+        assertNotNull(pauses.get(0).getCollector());
+        assertTrue(pauses.get(0).getStartMillis() >= pauses.get(1).getStartMillis());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHeapReportsHeapPoolsOnly() {
+        // When
+        Map<String, Object> heap = service.heap();
+        
+        // Then
+        assertTrue((Long) heap.get("usedBytes") > 0);
+        Map<String, Object> pools = (Map<String, Object>) heap.get("pools");
+        assertFalse(pools.isEmpty());
+        assertFalse(pools.containsKey("Metaspace"));
+    }
+    
+    @Test
+    void testRecordingStatusBeforeAnyRecording() {
+        // When
+        Map<String, Object> status = service.recordingStatus();
+        
+        // Then
+        assertEquals(300L, status.get("maxDurationSeconds"));
+        assertFalse(status.containsKey("state"));
+    }
+}
\ No newline at end of file
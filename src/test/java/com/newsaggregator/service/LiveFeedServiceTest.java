@@ -0,0 +1,172 @@
+package com.newsaggregator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchRequest;
+import com.newsaggregator.model.NewsSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LiveFeedServiceTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicReference<List<NewsArticle>> upstream = new AtomicReference<>(Collections.emptyList());
+    private NewsAggregatorService newsAggregatorService;
+    private LiveFeedService liveFeedService;
+    
+    @BeforeEach
+    void setUp() {
+        newsAggregatorService = mock(NewsAggregatorService.class);
+        when(newsAggregatorService.refreshNews(any(NewsSearchRequest.class)))
+                .thenAnswer(inv -> Mono.just(NewsSearchResponse.builder().articles(upstream.get()).build()));
+        liveFeedService = new LiveFeedService(newsAggregatorService, objectMapper);
+        ReflectionTestUtils.setField(liveFeedService, "enabled", true);
+        ReflectionTestUtils.setField(liveFeedService, "pageSize", 10);
+        ReflectionTestUtils.setField(liveFeedService, "pollConcurrency", 2);
+        ReflectionTestUtils.setField(liveFeedService, "historySize", 3);
+        ReflectionTestUtils.setField(liveFeedService, "maxKeywordsPerSession", 5);
+        ReflectionTestUtils.setField(liveFeedService, "maxFeeds", 10);
+    }
+    
+    @Test
+    void testPushesOnlyNewArticlesFromOneSharedPoll() throws Exception {
+        // Given
+        upstream.set(Arrays.asList(article("1"), article("2")));
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        liveFeedService.subscribe("Apple", first::add, null);
+        liveFeedService.subscribe("apple ", second::add, null);
+        
+        // When
+        upstream.set(Arrays.asList(article("3"), article("1"), article("2")));
+        liveFeedService.pollFeeds().block();
+        liveFeedService.pollFeeds().block();
+        
+        // Then
+        assertEquals(1, liveFeedService.feedCount());
+        assertEquals(2, liveFeedService.subscriberCount());
+        verify(newsAggregatorService, times(3)).refreshNews(any(NewsSearchRequest.class));
+        assertEquals(Arrays.asList("1", "2"), articleIds(first.get(0)));
+        assertEquals(Arrays.asList("3"), articleIds(first.get(1)));
+        assertEquals(2, first.size());
+        assertEquals(Arrays.asList("1", "2"), articleIds(second.get(0)));
+        assertEquals(Arrays.asList("3"), articleIds(second.get(1)));
+        assertEquals(2, second.size());
+    }
+    
+    @Test
+    void testResumesFromLastSeqOrResetsWhenTrimmed() throws Exception {
+        // Given
+        upstream.set(Arrays.asList(article("1"), article("2")));
+        List<String> original = new ArrayList<>();
+        liveFeedService.subscribe("climate", original::add, null);
+        long seenUpTo = objectMapper.readTree(original.get(0)).get("seq").asLong();
+        upstream.set(Arrays.asList(article("3"), article("4")));
+        liveFeedService.pollFeeds().block();
+        
+        // When
+        List<String> resumed = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        liveFeedService.subscribe("climate", resumed::add, seenUpTo);
+        liveFeedService.subscribe("climate", stale::add, seenUpTo - 2);
+        
+        // Then
+        JsonNode delta = objectMapper.readTree(resumed.get(0));
+        assertEquals(seenUpTo + 2, delta.get("seq").asLong());
+        assertFalse(delta.has("reset"));
+        assertEquals(Arrays.asList("3", "4"), articleIds(resumed.get(0)));
+        assertTrue(objectMapper.readTree(stale.get(0)).get("reset").asBoolean());
+        assertEquals(Arrays.asList("2", "3", "4"), articleIds(stale.get(0)));
+    }
+    
+    @Test
+    void testStopsPollingKeywordWithoutSubscribers() {
+        // Given
+        LiveFeedService.Subscriber subscriber = message -> { };
+        liveFeedService.subscribe("apple", subscriber, null);
+        
+        // When
+        liveFeedService.unsubscribe("apple", subscriber);
+        liveFeedService.pollFeeds().block();
+        
+        // Then
+        assertEquals(0, liveFeedService.feedCount());
+        verify(newsAggregatorService, times(1)).refreshNews(any(NewsSearchRequest.class));
+    }
+    
+    @Test
+    void testRefusesNewKeywordsBeyondMaxFeeds() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(liveFeedService, "maxFeeds", 1);
+        List<String> messages = new ArrayList<>();
+        Set<String> keywords = new HashSet<>();
+        liveFeedService.handleCommand("{\"action\":\"subscribe\",\"keyword\":\"apple\"}", messages::add, keywords);
+        
+        // When
+        liveFeedService.handleCommand("{\"action\":\"subscribe\",\"keyword\":\"climate\"}", messages::add, keywords);
+        boolean joined = liveFeedService.subscribe("Apple", message -> { }, null);
+        
+        // Then
+        assertTrue(joined);
+        assertEquals(1, liveFeedService.feedCount());
+        assertEquals(Collections.singleton("apple"), keywords);
+        JsonNode error = objectMapper.readTree(messages.get(messages.size() - 1));
+        assertEquals(LiveFeedService.TYPE_ERROR, error.get("type").asText());
+        assertEquals("climate", error.get("keyword").asText());
+    }
+    
+    @Test
+    void testDeliversOutsideTheFeedLock() throws Exception {
+        // Given
+        LiveFeedService.Subscriber other = message -> { };
+        liveFeedService.subscribe("apple", other, null);
+        List<Boolean> unblocked = new ArrayList<>();
+        LiveFeedService.Subscriber subscriber = message -> {
+            // unsubscribe takes the feed lock; it would wait if send held it
+            Thread thread = new Thread(() -> liveFeedService.unsubscribe("apple", other));
+            thread.start();
+            try {
+                thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            unblocked.add(!thread.isAlive());
+        };
+        liveFeedService.subscribe("apple", subscriber, null);
+        
+        // When
+        upstream.set(Collections.singletonList(article("1")));
+        liveFeedService.pollFeeds().block();
+        
+        // Then
+        assertEquals(Collections.singletonList(true), unblocked);
+        assertEquals(1, liveFeedService.subscriberCount());
+    }
+    
+    private List<String> articleIds(String message) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode article : objectMapper.readTree(message).get("articles")) {
+            ids.add(article.get("id").asText());
+        }
+        return ids;
+    }
+    
+    private static NewsArticle article(String id) {
+        return NewsArticle.builder().id(id).title("Article " + id).url("https://example.com/" + id).build();
+    }
+}
\ No newline at end of file
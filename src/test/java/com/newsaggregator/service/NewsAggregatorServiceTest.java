@@ -5,20 +5,32 @@ import com.newsaggregator.client.NYTimesApiClient;
 import com.newsaggregator.model.NewsArticle;
 import com.newsaggregator.model.NewsSearchRequest;
 import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.model.NewsStreamEvent;
+import com.newsaggregator.util.Deadline;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +48,22 @@ class NewsAggregatorServiceTest {
     @Mock
     private CacheService cacheService;
     
+    @Mock
+    private UpstreamRateLimiter rateLimiter;
+    
+    private ProviderResilience providerResilience;
     private NewsAggregatorService newsAggregatorService;
     
     @BeforeEach
     void setUp() {
-        newsAggregatorService = new NewsAggregatorService(guardianClient, nyTimesClient, offlineDataService, cacheService);
+        providerResilience = new ProviderResilience(CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(),
+                                                    BulkheadRegistry.ofDefaults(), new SimpleMeterRegistry());
+        newsAggregatorService = new NewsAggregatorService(guardianClient, nyTimesClient, offlineDataService, cacheService,
+                                                           rateLimiter, providerResilience,
+                                                           new SearchMetrics(new SimpleMeterRegistry()),
+                                                           new SearchTracer());
+        lenient().when(rateLimiter.acquire(anyString())).thenReturn(Mono.just(true));
+        lenient().when(cacheService.lookup(any())).thenReturn(Mono.empty());
     }
     
     @Test
@@ -62,11 +85,11 @@ class NewsAggregatorServiceTest {
         
         when(cacheService.generateKey(anyString(), anyInt(), anyInt()))
                 .thenReturn("test_key");
-        when(cacheService.get(anyString()))
-                .thenReturn(null); // Cache miss
-        when(guardianClient.searchNews(anyString(), anyInt(), anyInt()))
+        when(cacheService.lookup(anyString()))
+                .thenReturn(Mono.empty()); // Cache miss
+        when(guardianClient.fetchNews(anyString(), anyInt(), anyInt()))
                 .thenReturn(Mono.just(guardianArticles));
-        when(nyTimesClient.searchNews(anyString(), anyInt(), anyInt()))
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
                 .thenReturn(Mono.just(nyTimesArticles));
         
         // When & Then
@@ -107,6 +130,208 @@ class NewsAggregatorServiceTest {
                 .verifyComplete();
     }
     
+    @Test
+    void searchNews_ShouldReturnUncachedPartialResultWhenOneProviderIsRateLimited() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(rateLimiter.acquire(UpstreamRateLimiter.GUARDIAN)).thenReturn(Mono.just(false));
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("2", "Apple News from NYT", "nytimes"))));
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.searchNews(request))
+                .assertNext(response -> {
+                    assertEquals(1, response.getArticles().size());
+                    assertFalse(response.isOfflineMode());
+                })
+                .verifyComplete();
+        verify(guardianClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+        verify(cacheService, never()).put(anyString(), any());
+    }
+    
+    @Test
+    void searchNews_ShouldNotCacheResultWhenOneProviderFails() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(guardianClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new RuntimeException("Guardian unavailable")));
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("2", "Apple News from NYT", "nytimes"))));
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.searchNews(request))
+                .assertNext(response -> {
+                    assertEquals(1, response.getArticles().size());
+                    assertFalse(response.isOfflineMode());
+                })
+                .verifyComplete();
+        verify(cacheService, never()).put(anyString(), any());
+    }
+    
+    @Test
+    void searchNews_ShouldSkipProviderWithOpenCircuitWithoutSpendingItsQuota() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("2", "Apple News from NYT", "nytimes"))));
+        providerResilience.circuitBreaker(UpstreamRateLimiter.GUARDIAN).transitionToOpenState();
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.searchNews(request))
+                .assertNext(response -> {
+                    assertEquals(1, response.getArticles().size());
+                    assertFalse(response.isOfflineMode());
+                })
+                .verifyComplete();
+        verify(guardianClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+        verify(rateLimiter, never()).acquire(UpstreamRateLimiter.GUARDIAN);
+        verify(cacheService, never()).put(anyString(), any());
+    }
+    
+    @Test
+    void searchNews_ShouldServeOfflineDataWhenAllProvidersAreRateLimited() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(rateLimiter.acquire(anyString())).thenReturn(Mono.just(false));
+        when(offlineDataService.getOfflineArticles("apple"))
+                .thenReturn(Arrays.asList(createTestArticle("offline_1", "Offline Apple News", "offline")));
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.searchNews(request))
+                .assertNext(response -> assertTrue(response.isOfflineMode()))
+                .verifyComplete();
+        verify(nyTimesClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+    }
+    
+    @Test
+    void searchNews_ShouldServeOfflineWithoutSpendingQuotaOnceDeadlinePassed() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(offlineDataService.getOfflineArticles(anyString()))
+                .thenReturn(Arrays.asList(createTestArticle("offline_1", "Offline Apple News", "offline")));
+        Deadline expired = Deadline.at(System.nanoTime() - 1);
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.searchNews(request).contextWrite(expired.asContext()))
+                .assertNext(response -> assertTrue(response.isOfflineMode()))
+                .verifyComplete();
+        verify(rateLimiter, never()).acquire(anyString());
+        verify(guardianClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+    }
+    
+    @Test
+    void searchNews_ShouldNotCacheResponseFinishedAfterDeadline() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(guardianClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("1", "Apple News", "guardian")))
+                                    .delayElement(Duration.ofMillis(300)));
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Collections.<NewsArticle>emptyList()));
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.searchNews(request).contextWrite(deadline.asContext()))
+                .assertNext(response -> assertEquals(1, response.getArticles().size()))
+                .verifyComplete();
+        verify(cacheService, never()).put(anyString(), any(NewsSearchResponse.class));
+    }
+    
+    @Test
+    void streamNews_ShouldEmitProviderBatchesThenSummary() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        when(guardianClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("1", "Apple News", "guardian"))));
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("2", "Apple news", "nytimes"),
+                                                    createTestArticle("3", "More Apple News", "nytimes"))));
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.streamNews(request))
+                .assertNext(event -> {
+                    assertEquals(NewsStreamEvent.Type.PROVIDER, event.getType());
+                    assertEquals("guardian", event.getSource());
+                    assertEquals(1, event.getArticles().size());
+                })
+                .assertNext(event -> {
+                    assertEquals("nytimes", event.getSource());
+                    assertEquals(1, event.getArticles().size(), "duplicate title already streamed");
+                    assertEquals("3", event.getArticles().get(0).getId());
+                })
+                .assertNext(event -> {
+                    assertEquals(NewsStreamEvent.Type.SUMMARY, event.getType());
+                    assertEquals(2, event.getSummary().getTotalResults());
+                })
+                .verifyComplete();
+        verify(cacheService).put(eq("test_key"), any(NewsSearchResponse.class));
+    }
+    
+    @Test
+    void streamNews_ShouldServeCachedResultWithoutCallingProviders() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        NewsSearchResponse cached = NewsSearchResponse.builder()
+                .articles(Arrays.asList(createTestArticle("1", "Apple News", "guardian")))
+                .searchKeyword("apple")
+                .totalResults(1)
+                .build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup("test_key")).thenReturn(Mono.just(cached));
+        
+        // When & Then
+        StepVerifier.create(newsAggregatorService.streamNews(request))
+                .assertNext(event -> assertEquals(NewsStreamEvent.Type.CACHED, event.getType()))
+                .assertNext(event -> assertTrue(event.getSummary().isFromCache()))
+                .verifyComplete();
+        verify(guardianClient, never()).fetchNews(anyString(), anyInt(), anyInt());
+    }
+    
+    @Test
+    void searchNews_ShouldShareOneUpstreamFetchBetweenConcurrentMisses() {
+        // Given
+        NewsSearchRequest request = NewsSearchRequest.builder().keyword("apple").page(1).pageSize(10).build();
+        when(cacheService.generateKey(anyString(), anyInt(), anyInt())).thenReturn("test_key");
+        when(cacheService.lookup(anyString())).thenReturn(Mono.empty());
+        Sinks.One<List<NewsArticle>> guardianResponse = Sinks.one();
+        AtomicInteger guardianSubscriptions = new AtomicInteger();
+        when(guardianClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(guardianResponse.asMono().doOnSubscribe(s -> guardianSubscriptions.incrementAndGet()));
+        when(nyTimesClient.fetchNews(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(Arrays.asList(createTestArticle("2", "Apple News from NYT", "nytimes"))));
+        List<NewsSearchResponse> responses = new CopyOnWriteArrayList<>();
+        
+        // When
+        for (int i = 0; i < 8; i++) {
+            newsAggregatorService.searchNews(request).subscribe(responses::add);
+        }
+        guardianResponse.tryEmitValue(Arrays.asList(createTestArticle("1", "Apple News from Guardian", "guardian")));
+        
+        // Then
+        assertEquals(8, responses.size());
+        assertEquals(1, responses.stream().distinct().count());
+        assertEquals(2, responses.get(0).getArticles().size());
+        verify(guardianClient, times(1)).fetchNews(anyString(), anyInt(), anyInt());
+        verify(nyTimesClient, times(1)).fetchNews(anyString(), anyInt(), anyInt());
+        assertEquals(1, guardianSubscriptions.get());
+        verify(cacheService, times(1)).put(eq("test_key"), any());
+        assertEquals(0, newsAggregatorService.inFlightCount());
+    }
+    
     private NewsArticle createTestArticle(String id, String title, String source) {
         return NewsArticle.builder()
                 .id(id)
@@ -0,0 +1,87 @@
+package com.newsaggregator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsaggregator.exception.InvalidRequestException;
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchResponse;
+import com.newsaggregator.util.FieldProjection;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectedResponseWriterTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ProjectedResponseWriter writer = new ProjectedResponseWriter(objectMapper);
+    
+    @Test
+    void testParseNormalisesAndValidatesFields() {
+        // When
+        FieldProjection projection = writer.parse(" url,id , title,id");
+        
+        // Then
+        assertEquals("id,title,url", projection.key());
+        assertEquals(projection, writer.parse("title,url,id"));
+        assertSame(FieldProjection.ALL, writer.parse(null));
+        assertSame(FieldProjection.ALL, writer.parse(" "));
+        assertSame(FieldProjection.ALL,
+                   writer.parse("id,title,description,url,source,publishedAt,imageUrl,author,section"));
+        assertThrows(InvalidRequestException.class, () -> writer.parse("id,body"));
+    }
+    
+    @Test
+    void testWritesOnlySelectedArticleFields() throws Exception {
+        // Given
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .searchKeyword("apple")
+                .currentPage(1)
+                .articles(Collections.singletonList(NewsArticle.builder()
+                        .id("1")
+                        .title("Title")
+                        .url("https://example.com/1")
+                        .description("Long description")
+                        .imageUrl("https://example.com/1.jpg")
+                        .publishedAt(LocalDateTime.of(2024, 3, 1, 12, 0))
+                        .build()))
+                .build();
+        
+        // When
+        JsonNode projected = objectMapper.readTree(writer.write(response, writer.parse("id,title,url,publishedAt")));
+        JsonNode full = objectMapper.readTree(writer.write(response, FieldProjection.ALL));
+        
+        // Then
+        JsonNode article = projected.get("articles").get(0);
+        assertEquals("apple", projected.get("searchKeyword").asText());
+        assertEquals(1, projected.get("currentPage").asInt());
+        assertEquals(4, article.size());
+        assertEquals("Title", article.get("title").asText());
+        assertTrue(article.has("publishedAt"));
+        assertFalse(article.has("description"));
+        assertEquals("Long description", full.get("articles").get(0).get("description").asText());
+    }
+    
+    @Test
+    void testWriterCacheIsBounded() throws Exception {
+        // Given
+        ProjectedResponseWriter bounded = new ProjectedResponseWriter(objectMapper, 2);
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .articles(Collections.singletonList(NewsArticle.builder().id("1").title("Title").build()))
+                .build();
+        
+        // When
+        for (String fields : new String[] {"id", "title", "id,title", "url", "id"}) {
+            bounded.write(response, bounded.parse(fields));
+        }
+        JsonNode article = objectMapper.readTree(bounded.write(response, bounded.parse("title")))
+                .get("articles").get(0);
+        
+        // Then
+        assertEquals(2, bounded.cachedWriters());
+        assertEquals(1, article.size());
+        assertEquals("Title", article.get("title").asText());
+    }
+}
\ No newline at end of file
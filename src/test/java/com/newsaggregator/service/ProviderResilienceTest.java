@@ -0,0 +1,289 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.exception.DeadlineExceededException;
+import com.newsaggregator.util.Deadline;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderResilienceTest {
+    
+    private MeterRegistry meterRegistry;
+    private ProviderResilience providerResilience;
+    private HttpServer stub;
+    
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerConfig breaker = CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofMillis(50))
+                .slowCallRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build();
+        RetryConfig retry = RetryConfig.custom()
+                .maxAttempts(2)
+                .retryExceptions(IOException.class)
+                .build();
+        meterRegistry = new SimpleMeterRegistry();
+        providerResilience = new ProviderResilience(CircuitBreakerRegistry.of(breaker), RetryRegistry.of(retry),
+                                                    BulkheadRegistry.ofDefaults(), meterRegistry);
+        ReflectionTestUtils.setField(providerResilience, "backoffBaseMillis", 1L);
+        ReflectionTestUtils.setField(providerResilience, "backoffCapMillis", 5L);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.stop(0);
+        }
+    }
+    
+    @Test
+    void testFailuresOpenOnlyThatProvidersBreaker() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IOException("upstream down"));
+        });
+        
+        // When
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.GUARDIAN, failing))
+                    .expectError(IOException.class)
+                    .verify();
+        }
+        
+        // Then
+        assertEquals(4, attempts.get());
+        assertEquals(CircuitBreaker.State.OPEN,
+                     providerResilience.circuitBreaker(UpstreamRateLimiter.GUARDIAN).getState());
+        assertFalse(providerResilience.isCallPermitted(UpstreamRateLimiter.GUARDIAN));
+        assertTrue(providerResilience.isCallPermitted(UpstreamRateLimiter.NYTIMES));
+        StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.GUARDIAN, Mono.just("ok")))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.NYTIMES, Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+    
+    @Test
+    void testSlowCallsOpenTheBreaker() {
+        // Given
+        Mono<String> slow = Mono.just("late").delayElement(Duration.ofMillis(80));
+        
+        // When
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.NYTIMES, slow))
+                    .expectNext("late")
+                    .verifyComplete();
+        }
+        
+        // Then
+        assertFalse(providerResilience.isCallPermitted(UpstreamRateLimiter.NYTIMES));
+        assertTrue(providerResilience.isCallPermitted(UpstreamRateLimiter.GUARDIAN));
+    }
+    
+    @Test
+    void testRetryIsSkippedWhenDeadlineCannotFitTheBackoff() {
+        // Given
+        ReflectionTestUtils.setField(providerResilience, "backoffBaseMillis", 200L);
+        ReflectionTestUtils.setField(providerResilience, "backoffCapMillis", 200L);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IOException("upstream down"));
+        });
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        
+        // When & Then
+        StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.GUARDIAN, failing)
+                                    .contextWrite(deadline.asContext()))
+                .expectError(IOException.class)
+                .verify();
+        assertEquals(1, attempts.get());
+        assertEquals(1, retries(UpstreamRateLimiter.GUARDIAN, "deadline"));
+    }
+    
+    @Test
+    void testAttemptIsCancelledAtDeadlineWithoutCountingAsFailure() {
+        // Given
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<String> hanging = Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30));
+        
+        // When & Then
+        StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.GUARDIAN, hanging)
+                                    .contextWrite(deadline.asContext()))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        assertTrue(cancelled.get());
+        CircuitBreaker.Metrics metrics = providerResilience.circuitBreaker(UpstreamRateLimiter.GUARDIAN).getMetrics();
+        assertEquals(0, metrics.getNumberOfFailedCalls());
+        assertEquals(0, retries(UpstreamRateLimiter.GUARDIAN, "retried"));
+    }
+    
+    @Test
+    void testExpiredDeadlineNeverCallsUpstream() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            return "ok";
+        });
+        Deadline expired = Deadline.at(System.nanoTime() - 1);
+        
+        // When & Then
+        StepVerifier.create(providerResilience.protect(UpstreamRateLimiter.NYTIMES, call)
+                                    .contextWrite(expired.asContext()))
+                .expectError(DeadlineExceededException.class)
+                .verify();
+        assertEquals(0, attempts.get());
+    }
+    
+    // 100 healthy calls earn 10 retries. A full brownout then costs those 10 on
+    // top of the original calls, where 3 attempts each would triple the load.
+    @Test
+    void testBrownoutAgainstFlakyStubHasBoundedAmplification() throws IOException {
+        // Given
+        AtomicBoolean brownout = new AtomicBoolean();
+        AtomicInteger requests = new AtomicInteger();
+        Mono<String> call = flakyStub(brownout, requests);
+        ProviderResilience resilience = brownoutResilience();
+        
+        // When
+        for (int i = 0; i < 100; i++) {
+            resilience.protect(UpstreamRateLimiter.GUARDIAN, call).block(Duration.ofSeconds(5));
+        }
+        int healthyRequests = requests.getAndSet(0);
+        brownout.set(true);
+        for (int i = 0; i < 100; i++) {
+            resilience.protect(UpstreamRateLimiter.GUARDIAN, call)
+                    .onErrorResume(WebClientResponseException.ServiceUnavailable.class, error -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+        
+        // Then
+        assertEquals(100, healthyRequests);
+        assertEquals(110, requests.get());
+        assertEquals(10, retries(UpstreamRateLimiter.GUARDIAN, "retried"));
+        assertEquals(95, retries(UpstreamRateLimiter.GUARDIAN, "budget_exhausted"));
+    }
+    
+    // The same brownout with 10 requests left of the Guardian daily quota. First
+    // attempts take a token as the fan-out does and are skipped without one;
+    // each retry takes one too, so upstream sees exactly the 10: three calls of
+    // three attempts, then one whose retry is refused by the limiter.
+    @Test
+    void testBrownoutRetriesAreChargedToTheUpstreamRateLimit() throws IOException {
+        // Given
+        AtomicBoolean brownout = new AtomicBoolean();
+        AtomicInteger requests = new AtomicInteger();
+        Mono<String> call = flakyStub(brownout, requests);
+        ProviderResilience resilience = brownoutResilience();
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(new SimpleMeterRegistry(), Optional.empty());
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "mode", "local");
+        ReflectionTestUtils.setField(limiter, "guardianPerSecond", 1_000_000.0);
+        ReflectionTestUtils.setField(limiter, "guardianBurst", 1_000);
+        ReflectionTestUtils.setField(limiter, "guardianPerDay", 110L);
+        ReflectionTestUtils.setField(limiter, "nyTimesPerSecond", 1.0);
+        ReflectionTestUtils.setField(limiter, "nyTimesBurst", 1);
+        ReflectionTestUtils.setField(limiter, "nyTimesPerDay", 1L);
+        limiter.init();
+        Mono<Boolean> retryPermit = limiter.acquire(UpstreamRateLimiter.GUARDIAN);
+        
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(UpstreamRateLimiter.GUARDIAN));
+            resilience.protect(UpstreamRateLimiter.GUARDIAN, call, retryPermit).block(Duration.ofSeconds(5));
+        }
+        requests.set(0);
+        brownout.set(true);
+        for (int i = 0; i < 100; i++) {
+            if (!limiter.tryAcquire(UpstreamRateLimiter.GUARDIAN)) {
+                continue;
+            }
+            resilience.protect(UpstreamRateLimiter.GUARDIAN, call, retryPermit)
+                    .onErrorResume(WebClientResponseException.ServiceUnavailable.class, error -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+        
+        // Then
+        assertEquals(10, requests.get());
+        assertEquals(6, retries(UpstreamRateLimiter.GUARDIAN, "retried"));
+        assertEquals(1, retries(UpstreamRateLimiter.GUARDIAN, "rate_limited"));
+        assertEquals(0, limiter.remainingDailyQuota(UpstreamRateLimiter.GUARDIAN));
+    }
+    
+    // 200 OK normally, 503 while brownout is set; requests counts every hit
+    private Mono<String> flakyStub(AtomicBoolean brownout, AtomicInteger requests) throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/search", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(brownout.get() ? 503 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        return WebClient.create("http://localhost:" + stub.getAddress().getPort())
+                .get().uri("/search").retrieve().bodyToMono(String.class);
+    }
+    
+    // Guardian's production retry settings, 3 attempts on 503, with a breaker
+    // that never opens so only the retry budget and rate limit hold retries back
+    private ProviderResilience brownoutResilience() {
+        CircuitBreakerConfig neverOpens = CircuitBreakerConfig.custom()
+                .slidingWindowSize(10_000)
+                .minimumNumberOfCalls(10_000)
+                .build();
+        RetryConfig threeAttempts = RetryConfig.custom()
+                .maxAttempts(3)
+                .retryExceptions(WebClientResponseException.ServiceUnavailable.class)
+                .build();
+        ProviderResilience resilience = new ProviderResilience(CircuitBreakerRegistry.of(neverOpens),
+                RetryRegistry.of(threeAttempts), BulkheadRegistry.ofDefaults(), meterRegistry);
+        ReflectionTestUtils.setField(resilience, "budgetMinPerSecond", 0.0);
+        ReflectionTestUtils.setField(resilience, "backoffBaseMillis", 1L);
+        ReflectionTestUtils.setField(resilience, "backoffCapMillis", 5L);
+        return resilience;
+    }
+    
+    private double retries(String provider, String outcome) {
+        return meterRegistry.get(ProviderResilience.RETRY_COUNTER)
+                .tags("provider", provider, "outcome", outcome)
+                .counter().count();
+    }
+}
\ No newline at end of file
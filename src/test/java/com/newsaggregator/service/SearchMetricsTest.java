@@ -0,0 +1,118 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.util.StageTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchMetricsTest {
+    
+    private MeterRegistry registry;
+    private SearchMetrics searchMetrics;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        searchMetrics = new SearchMetrics(registry);
+    }
+    
+    @Test
+    void testStagesAreTaggedByProviderAndOutcome() {
+        // When
+        searchMetrics.cacheLookup(TimeUnit.MICROSECONDS.toNanos(40), true, StageTimings.NONE);
+        searchMetrics.cacheLookup(TimeUnit.MICROSECONDS.toNanos(60), false, StageTimings.NONE);
+        searchMetrics.providerCall(UpstreamRateLimiter.GUARDIAN, TimeUnit.MILLISECONDS.toNanos(120), false,
+                                   StageTimings.NONE);
+        
+        // Then
+        assertEquals(1, timer("cache", "none", "hit").count());
+        assertEquals(1, timer("cache", "none", "miss").count());
+        assertEquals(120, timer("provider", "guardian", "error").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(0, timer("provider", "guardian", "success").count());
+    }
+    
+    @Test
+    void testProviderCallIsReportedToContextTimings() {
+        // Given
+        StageTimings timings = new StageTimings();
+        
+        // When
+        StepVerifier.create(searchMetrics.timeProviderCall(UpstreamRateLimiter.NYTIMES, Mono.just("result"))
+                                    .contextWrite(timings.asContext()))
+                .expectNext("result")
+                .verifyComplete();
+        searchMetrics.parse(UpstreamRateLimiter.NYTIMES, 2_500_000, timings);
+        searchMetrics.parse(UpstreamRateLimiter.NYTIMES, 500_000, timings);
+        
+        // Then
+        assertEquals(1, timer("provider", "nytimes", "success").count());
+        assertEquals(3_000_000, timings.nanos("nytimes-parse"));
+        String header = timings.toServerTiming();
+        assertTrue(header.startsWith("nytimes;dur="));
+        assertTrue(header.contains("nytimes-parse;dur=3.0"));
+        assertTrue(header.contains("total;dur="));
+    }
+    
+    @Test
+    void testNoneDiscardsStageTimings() {
+        // When
+        searchMetrics.dedup(1_000, StageTimings.NONE);
+        
+        // Then
+        assertEquals(1, timer("dedup", "none", "none").count());
+        assertEquals(0, StageTimings.NONE.nanos("dedup"));
+        assertFalse(StageTimings.NONE.isRecording());
+    }
+    
+    @Test
+    void testAllocationIsSampledEveryNthRun() {
+        // Given
+        ReflectionTestUtils.setField(searchMetrics, "allocationSampleEvery", 2);
+        Assumptions.assumeTrue(searchMetrics.isAllocationSampling());
+        
+        // When
+        for (int i = 0; i < 4; i++) {
+            long mark = searchMetrics.allocationMark(SearchMetrics.DEDUP);
+            byte[] buffer = new byte[1 << 20];
+            searchMetrics.allocated(SearchMetrics.DEDUP, mark);
+            assertEquals(1 << 20, buffer.length);
+        }
+        
+        // Then
+        DistributionSummary dedup = registry.get(SearchMetrics.ALLOCATION_SUMMARY)
+                .tags("stage", "dedup", "provider", "none")
+                .summary();
+        assertEquals(2, dedup.count());
+        assertTrue(dedup.max() >= 1 << 20);
+    }
+    
+    @Test
+    void testAllocationSamplingOffByDefaultOutsideSpring() {
+        // When
+        long mark = searchMetrics.allocationMark(SearchMetrics.GUARDIAN_PARSE);
+        searchMetrics.allocated(SearchMetrics.GUARDIAN_PARSE, mark);
+        
+        // Then
+        assertEquals(-1, mark);
+        assertEquals(0, registry.get(SearchMetrics.ALLOCATION_SUMMARY)
+                .tags("stage", "parse", "provider", "guardian")
+                .summary().count());
+    }
+    
+    private Timer timer(String stage, String provider, String outcome) {
+        return registry.get(SearchMetrics.STAGE_TIMER)
+                .tags("stage", stage, "provider", provider, "outcome", outcome)
+                .timer();
+    }
+}
\ No newline at end of file
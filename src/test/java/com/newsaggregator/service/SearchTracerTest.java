@@ -0,0 +1,111 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.model.SearchTraceEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.util.context.Context;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTracerTest {
+    
+    @Test
+    void testDisabledTracerSamplesNothing() {
+        // Given
+        SearchTracer tracer = new SearchTracer();
+        
+        // When
+        long traceId = tracer.start("apple");
+        tracer.record(traceId, SearchTracer.Checkpoint.REQUEST_RECEIVED, 1);
+        
+        // Then
+        assertEquals(0, traceId);
+        assertTrue(tracer.recent().isEmpty());
+        assertEquals(0, SearchTracer.traceId(SearchTracer.context(traceId)));
+    }
+    
+    @Test
+    void testSampledEventsAreJoinedAcrossThreadsInOrder() throws InterruptedException {
+        // Given
+        SearchTracer tracer = tracer(2, 1024);
+        assertEquals(0, tracer.start("skipped"));
+        long traceId = tracer.start("apple");
+        
+        // When
+        tracer.record(traceId, SearchTracer.Checkpoint.REQUEST_RECEIVED, 1);
+        Thread provider = new Thread(() -> tracer.record(traceId, SearchTracer.Checkpoint.GUARDIAN_RESPONSE, 10),
+                                     "provider-thread");
+        provider.start();
+        provider.join();
+        tracer.record(traceId, SearchTracer.Checkpoint.RESPONSE_READY, 10);
+        tracer.record(traceId + 1, SearchTracer.Checkpoint.CACHE_HIT, 5);
+        
+        // Then
+        List<SearchTraceEvent> events = tracer.events(traceId);
+        assertEquals(3, events.size());
+        assertEquals("REQUEST_RECEIVED", events.get(0).getCheckpoint());
+        assertEquals("GUARDIAN_RESPONSE", events.get(1).getCheckpoint());
+        assertEquals("provider-thread", events.get(1).getThread());
+        assertEquals(10, events.get(1).getValue());
+        assertEquals("RESPONSE_READY", events.get(2).getCheckpoint());
+        assertEquals(0, events.get(0).getOffsetMicros());
+        assertEquals("apple", tracer.keyword(traceId));
+        assertEquals(traceId, SearchTracer.traceId(Context.of(SearchTracer.class, traceId)));
+    }
+    
+    @Test
+    void testRingKeepsOnlyTheNewestEvents() {
+        // Given
+        SearchTracer tracer = tracer(1, 4);
+        long traceId = tracer.start("apple");
+        
+        // When
+        for (int i = 0; i < 10; i++) {
+            tracer.record(traceId, SearchTracer.Checkpoint.AGGREGATED, i);
+        }
+        
+        // Then
+        List<SearchTraceEvent> events = tracer.events(traceId);
+        assertEquals(4, events.size());
+        assertEquals(6, events.get(0).getValue());
+        assertEquals(9, events.get(3).getValue());
+    }
+    
+    @Test
+    void testEventsOfFinishedThreadsSurviveUntilAgedOut() throws InterruptedException {
+        // Given
+        SearchTracer tracer = tracer(1, 16);
+        long traceId = tracer.start("apple");
+        Thread finished = new Thread(() -> tracer.record(traceId, SearchTracer.Checkpoint.NYTIMES_RESPONSE, 7),
+                                     "finished-thread");
+        finished.start();
+        finished.join();
+        
+        // When a new thread starts tracing
+        Thread next = new Thread(() -> tracer.record(traceId, SearchTracer.Checkpoint.AGGREGATED, 7));
+        next.start();
+        next.join();
+        
+        // Then
+        assertEquals(2, tracer.events(traceId).size());
+        
+        // When the retention has passed
+        ReflectionTestUtils.setField(tracer, "deadRingRetentionSeconds", -1L);
+        tracer.record(traceId, SearchTracer.Checkpoint.RESPONSE_READY, 7);
+        
+        // Then only the live thread's ring is left
+        List<SearchTraceEvent> events = tracer.events(traceId);
+        assertEquals(1, events.size());
+        assertEquals("RESPONSE_READY", events.get(0).getCheckpoint());
+    }
+    
+    private static SearchTracer tracer(int sampleEvery, int ringSize) {
+        SearchTracer tracer = new SearchTracer();
+        ReflectionTestUtils.setField(tracer, "enabled", true);
+        ReflectionTestUtils.setField(tracer, "sampleEvery", sampleEvery);
+        ReflectionTestUtils.setField(tracer, "ringSize", ringSize);
+        return tracer;
+    }
+}
\ No newline at end of file
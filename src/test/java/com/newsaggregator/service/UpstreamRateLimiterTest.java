@@ -0,0 +1,112 @@
+package com.newsaggregator.service;
+
+import com.newsaggregator.client.InMemoryCacheClient;
+import com.newsaggregator.client.SharedCacheClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRateLimiterTest {
+    
+    @Test
+    void testBurstIsLimitedPerProvider() {
+        // Given
+        UpstreamRateLimiter limiter = limiter("local", new SimpleMeterRegistry(), null, 1000);
+        
+        // When
+        int granted = acquire(limiter, UpstreamRateLimiter.GUARDIAN, 10);
+        
+        // Then
+        assertEquals(3, granted);
+        assertTrue(limiter.tryAcquire(UpstreamRateLimiter.NYTIMES));
+    }
+    
+    @Test
+    void testDailyQuotaIsEnforcedAndExposedAsGauge() {
+        // Given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamRateLimiter limiter = limiter("local", registry, null, 2);
+        
+        // When
+        int granted = acquire(limiter, UpstreamRateLimiter.GUARDIAN, 3);
+        
+        // Then
+        assertEquals(2, granted);
+        assertEquals(0, limiter.remainingDailyQuota(UpstreamRateLimiter.GUARDIAN));
+        assertEquals(0.0, registry.get("news.upstream.quota.remaining")
+                .tags("provider", "guardian", "window", "day").gauge().value());
+        assertEquals(1.0, registry.get("news.upstream.ratelimited")
+                .tag("provider", "guardian").counter().count());
+    }
+    
+    @Test
+    void testDistributedModeSharesQuotaAcrossNodes() {
+        // Given
+        SharedCacheClient shared = new InMemoryCacheClient();
+        UpstreamRateLimiter nodeA = limiter("distributed", new SimpleMeterRegistry(), shared, 1000);
+        UpstreamRateLimiter nodeB = limiter("distributed", new SimpleMeterRegistry(), shared, 1000);
+        
+        // When
+        int granted = acquire(nodeA, UpstreamRateLimiter.GUARDIAN, 2) + acquire(nodeB, UpstreamRateLimiter.GUARDIAN, 2);
+        
+        // Then
+        assertEquals(3, granted);
+    }
+    
+    @Test
+    void testDistributedAcquireCountsOffTheCallerThread() {
+        // Given
+        List<String> counterThreads = new CopyOnWriteArrayList<>();
+        SharedCacheClient shared = new InMemoryCacheClient() {
+            @Override
+            public long incrementBy(String key, long delta, long ttlMillis) {
+                counterThreads.add(Thread.currentThread().getName());
+                return super.incrementBy(key, delta, ttlMillis);
+            }
+        };
+        UpstreamRateLimiter limiter = limiter("distributed", new SimpleMeterRegistry(), shared, 1000);
+        
+        // When
+        Mono<Boolean> acquired = limiter.acquire(UpstreamRateLimiter.GUARDIAN);
+        
+        // Then
+        assertTrue(counterThreads.isEmpty());
+        assertTrue(acquired.block(Duration.ofSeconds(2)));
+        assertFalse(counterThreads.isEmpty());
+        counterThreads.forEach(thread -> assertTrue(thread.startsWith("boundedElastic"), thread));
+    }
+    
+    private static int acquire(UpstreamRateLimiter limiter, String provider, int attempts) {
+        int granted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(provider)) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+    
+    // Burst of 3 with a refill slow enough that none arrives during the test
+    private static UpstreamRateLimiter limiter(String mode, MeterRegistry registry, SharedCacheClient shared, long perDay) {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(registry, Optional.ofNullable(shared));
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "mode", mode);
+        ReflectionTestUtils.setField(limiter, "guardianPerSecond", 0.001);
+        ReflectionTestUtils.setField(limiter, "guardianBurst", 3);
+        ReflectionTestUtils.setField(limiter, "guardianPerDay", perDay);
+        ReflectionTestUtils.setField(limiter, "nyTimesPerSecond", 0.001);
+        ReflectionTestUtils.setField(limiter, "nyTimesBurst", 3);
+        ReflectionTestUtils.setField(limiter, "nyTimesPerDay", perDay);
+        limiter.init();
+        return limiter;
+    }
+}
\ No newline at end of file
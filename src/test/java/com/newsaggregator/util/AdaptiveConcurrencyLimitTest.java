@@ -0,0 +1,86 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+    
+    private static final long BASE_RTT = 10_000_000L;
+    
+    @Test
+    void testLimitGrowsWhileLatencyIsFlat() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+        
+        // When
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASE_RTT, limit.getLimit(), false);
+        }
+        
+        // Then
+        assertEquals(200, limit.getLimit());
+    }
+    
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 200);
+        limit.onSample(BASE_RTT, 50, false);
+        int before = limit.getLimit();
+        
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(BASE_RTT * 4, limit.getLimit(), false);
+        }
+        
+        // Then
+        assertTrue(limit.getLimit() < before / 4, "limit " + limit.getLimit());
+    }
+    
+    @Test
+    void testDropsBackOffAndIdleTrafficDoesNotInflateLimit() {
+        // Given
+        AdaptiveConcurrencyLimit dropped = new AdaptiveConcurrencyLimit(50, 4, 200);
+        AdaptiveConcurrencyLimit idle = new AdaptiveConcurrencyLimit(20, 4, 200);
+        
+        // When
+        dropped.onSample(BASE_RTT, 50, true);
+        for (int i = 0; i < 100; i++) {
+            idle.onSample(BASE_RTT, 2, false);
+        }
+        
+        // Then
+        assertEquals(45, dropped.getLimit());
+        assertEquals(20, idle.getLimit());
+    }
+    
+    @Test
+    void testLatencyStaysBoundedWhenOfferedLoadExceedsCapacity() {
+        // Given a backend serving 40 concurrent requests at base latency and
+        // queueing beyond that, with every admitted slot always in use
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+        int capacity = 40;
+        List<Long> latencies = new ArrayList<>();
+        
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            int inflight = limit.getLimit();
+            long rtt = (long) (BASE_RTT * Math.max(1.0, (double) inflight / capacity));
+            limit.onSample(rtt, inflight, false);
+            if (i >= 5_000) {
+                latencies.add(rtt);
+            }
+        }
+        
+        // Then
+        Collections.sort(latencies);
+        long p99 = latencies.get((int) (latencies.size() * 0.99));
+        assertTrue(p99 <= 2 * BASE_RTT, "p99 " + p99);
+        assertTrue(limit.getLimit() >= capacity / 2, "limit collapsed to " + limit.getLimit());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void writeRead_ShouldKeepOnlyUnexpiredEntries() throws Exception {
+        // Given
+        Path file = tempDir.resolve("cache.snapshot");
+        long now = 1_000_000L;
+        CacheSnapshot.write(file, Arrays.asList(
+                new CacheSnapshot.Entry("apple_1_10", now + 60_000, bytes("apple")),
+                new CacheSnapshot.Entry("stale_1_10", now - 1, bytes("stale"))));
+        
+        // When
+        CacheSnapshot snapshot = CacheSnapshot.read(file, now);
+        
+        // Then
+        assertNotNull(snapshot);
+        assertEquals(1, snapshot.size());
+        assertEquals(60_000L, snapshot.remainingTtlMillis("apple_1_10", now));
+        
+        CacheSnapshot.Entry entry = snapshot.take("apple_1_10", now);
+        assertArrayEquals(bytes("apple"), entry.getValue());
+        assertEquals(now + 60_000, entry.getExpiryTime());
+        assertNull(snapshot.take("apple_1_10", now), "Entries are handed out once");
+        assertTrue(snapshot.isEmpty());
+    }
+    
+    @Test
+    void read_ShouldIgnoreMissingOrCorruptFiles() throws Exception {
+        // Given
+        Path missing = tempDir.resolve("missing.snapshot");
+        Path corrupt = tempDir.resolve("corrupt.snapshot");
+        Files.write(corrupt, bytes("not a snapshot"));
+        Path truncated = tempDir.resolve("truncated.snapshot");
+        CacheSnapshot.write(truncated, Arrays.asList(new CacheSnapshot.Entry("key", Long.MAX_VALUE, bytes("value"))));
+        byte[] full = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(full, full.length - 3));
+        
+        // When & Then
+        assertNull(CacheSnapshot.read(missing, 0));
+        assertNull(CacheSnapshot.read(corrupt, 0));
+        assertNull(CacheSnapshot.read(truncated, 0));
+    }
+    
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+    
+    private static final int KEYS = 20_000;
+    
+    @Test
+    void testKeysSpreadEvenlyAcrossNodes() {
+        // Given
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(Arrays.asList("a", "b", "c", "d"), 160);
+        Map<String, Integer> counts = new HashMap<>();
+        
+        // When
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("keyword" + i + "_1_10"), 1, Integer::sum);
+        }
+        
+        // Then
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2, "unbalanced: " + counts);
+        }
+    }
+    
+    @Test
+    void testAddingNodeMovesOnlyItsShare() {
+        // Given
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(Arrays.asList("a", "b", "c", "d"), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(Arrays.asList("a", "b", "c", "d", "e"), 160);
+        
+        // When
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "keyword" + i + "_1_10";
+            String newOwner = after.ownerOf(key);
+            if (!newOwner.equals(before.ownerOf(key))) {
+                moved++;
+                assertEquals("e", newOwner, "keys may only move to the new node");
+            }
+        }
+        
+        // Then
+        assertTrue(moved > KEYS / 5 * 0.8 && moved < KEYS / 5 * 1.2, "moved " + moved);
+    }
+    
+    @Test
+    void testOwnerIsStableAndEmptyRingHasNone() {
+        // Given
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(Arrays.asList("a", "b"), 16);
+        ConsistentHashRing<String> empty = new ConsistentHashRing<>(Collections.<String>emptyList(), 16);
+        
+        // Then
+        assertEquals(ring.ownerOf("apple_1_10"), ring.ownerOf("apple_1_10"));
+        assertNull(empty.ownerOf("apple_1_10"));
+    }
+}
\ No newline at end of file
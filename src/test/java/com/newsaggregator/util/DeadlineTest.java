@@ -0,0 +1,74 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+    
+    private static final long NOW = 1_000_000_000L;
+    
+    @Test
+    void testHeaderIsParsedAndCapped() {
+        // When
+        Deadline requested = Deadline.fromHeader("250", 8000, 30000, NOW);
+        Deadline capped = Deadline.fromHeader("600000", 8000, 30000, NOW);
+        
+        // Then
+        assertEquals(250, requested.remainingMillis(NOW));
+        assertEquals(30000, capped.remainingMillis(NOW));
+    }
+    
+    @Test
+    void testMissingOrInvalidHeaderUsesDefault() {
+        // When & Then
+        assertEquals(8000, Deadline.fromHeader(null, 8000, 30000, NOW).remainingMillis(NOW));
+        assertEquals(8000, Deadline.fromHeader("soon", 8000, 30000, NOW).remainingMillis(NOW));
+        assertEquals(8000, Deadline.fromHeader("-5", 8000, 30000, NOW).remainingMillis(NOW));
+        assertFalse(Deadline.fromHeader(null, 0, 0, NOW).isSet());
+    }
+    
+    @Test
+    void testHeadroomMovesDeadlineEarlier() {
+        // Given
+        Deadline deadline = Deadline.at(NOW + TimeUnit.MILLISECONDS.toNanos(1000));
+        
+        // When & Then
+        assertEquals(900, deadline.minusMillis(100).remainingMillis(NOW));
+        assertSame(Deadline.NONE, Deadline.NONE.minusMillis(100));
+        assertTrue(deadline.minusMillis(2000).isExpired(NOW));
+    }
+    
+    @Test
+    void testEnforceCancelsWorkStillRunningAtDeadline() {
+        // Given
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        
+        // When & Then
+        StepVerifier.create(deadline.enforce(Mono.never()))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(Deadline.NONE.enforce(Mono.just("done")))
+                .expectNext("done")
+                .verifyComplete();
+    }
+    
+    @Test
+    void testBoundPassesEarlierDeadlineToPipeline() {
+        // Given
+        Deadline deadline = Deadline.at(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+        Mono<Long> pipelineRemaining = Mono.deferContextual(
+                context -> Mono.just(Deadline.from(context).remainingMillis(System.nanoTime())));
+        
+        // When & Then
+        StepVerifier.create(deadline.bound(pipelineRemaining, 1000))
+                .assertNext(remaining -> assertTrue(remaining <= 4000 && remaining > 3000, "remaining " + remaining))
+                .verifyComplete();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.model.NewsArticle;
+import com.newsaggregator.model.NewsSearchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewsSearchResponseCodecTest {
+    
+    @Test
+    void encodeDecode_ShouldRoundTripAllFields() {
+        // Given
+        NewsArticle article = NewsArticle.builder()
+                .id("guardian_1")
+                .title("Émission de CO₂ — climate")
+                .description("Test description")
+                .url("https://example.com/1")
+                .source("The Guardian")
+                .publishedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 15, 123_000_000))
+                .imageUrl("https://example.com/1.jpg")
+                .author("Reporter")
+                .section("Environment")
+                .build();
+        NewsSearchResponse response = NewsSearchResponse.builder()
+                .articles(Arrays.asList(article, NewsArticle.builder()
+                        .id("nyt_2")
+                        .title("Second")
+                        .url("https://example.com/2")
+                        .build()))
+                .searchKeyword("climate")
+                .currentPage(2)
+                .totalPages(5)
+                .totalResults(42)
+                .pageSize(10)
+                .previousPage(1)
+                .nextPage(3)
+                .executionTimeMs(120)
+                .offlineMode(false)
+                .build();
+        
+        // When
+        NewsSearchResponse decoded = NewsSearchResponseCodec.decode(NewsSearchResponseCodec.encode(response));
+        
+        // Then
+        assertEquals(response, decoded);
+        NewsArticle decodedArticle = decoded.getArticles().get(0);
+        assertEquals(article.getDescription(), decodedArticle.getDescription());
+        assertEquals(article.getPublishedAt(), decodedArticle.getPublishedAt());
+        assertEquals(article.getSection(), decodedArticle.getSection());
+        assertNull(decoded.getArticles().get(1).getDescription());
+        assertNull(decoded.getArticles().get(1).getPublishedAt());
+        assertNull(decoded.getCity());
+    }
+    
+    @Test
+    void decode_ShouldRejectUnknownFormatVersion() {
+        byte[] encoded = NewsSearchResponseCodec.encode(new NewsSearchResponse());
+        encoded[0] = 99;
+        
+        assertThrows(IllegalArgumentException.class, () -> NewsSearchResponseCodec.decode(encoded));
+    }
+}
\ No newline at end of file
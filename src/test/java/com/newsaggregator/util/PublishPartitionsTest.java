@@ -0,0 +1,44 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishPartitionsTest {
+    
+    @Test
+    void routingKey_ShouldUsePublishDay() {
+        // When
+        String key = PublishPartitions.routingKey(LocalDateTime.of(2024, 1, 15, 23, 59));
+        
+        // Then
+        assertEquals("2024-01-15", key);
+    }
+    
+    @Test
+    void routingKey_ShouldHandleMissingPublishDate() {
+        assertEquals(PublishPartitions.UNDATED, PublishPartitions.routingKey((LocalDateTime) null));
+        assertNull(PublishPartitions.partitionOf(null));
+    }
+    
+    @Test
+    void routingKeysBetween_ShouldCoverInclusiveRange() {
+        // When
+        List<String> keys = PublishPartitions.routingKeysBetween(
+                LocalDate.of(2024, 2, 28), LocalDate.of(2024, 3, 1));
+        
+        // Then
+        assertEquals(Arrays.asList("2024-02-28", "2024-02-29", "2024-03-01"), keys);
+    }
+    
+    @Test
+    void routingKeysBetween_ShouldReturnEmptyForInvertedRange() {
+        assertTrue(PublishPartitions.routingKeysBetween(
+                LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1)).isEmpty());
+    }
+}
\ No newline at end of file
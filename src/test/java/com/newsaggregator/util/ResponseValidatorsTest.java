@@ -0,0 +1,64 @@
+package com.newsaggregator.util;
+
+import com.newsaggregator.model.NewsArticle;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseValidatorsTest {
+    
+    @Test
+    void testEtagDependsOnlyOnOrderedArticleIds() {
+        // Given
+        NewsArticle first = NewsArticle.builder().id("1").title("First").build();
+        NewsArticle second = NewsArticle.builder().id("2").title("Second").build();
+        NewsArticle retitled = NewsArticle.builder().id("1").title("First, updated").build();
+        
+        // When
+        String etag = ResponseValidators.of(Arrays.asList(first, second)).getEtag();
+        
+        // Then
+        assertTrue(etag.startsWith("W/\""));
+        assertEquals(etag, ResponseValidators.of(Arrays.asList(retitled, second)).getEtag());
+        assertNotEquals(etag, ResponseValidators.of(Arrays.asList(second, first)).getEtag());
+        assertNotEquals(etag, ResponseValidators.of(Collections.singletonList(first)).getEtag());
+    }
+    
+    @Test
+    void testLastModifiedIsNewestPublishedAt() {
+        // Given
+        LocalDateTime older = LocalDateTime.of(2024, 3, 1, 12, 0);
+        LocalDateTime newer = LocalDateTime.of(2024, 3, 2, 8, 30);
+        
+        // When
+        ResponseValidators validators = ResponseValidators.of(Arrays.asList(
+                NewsArticle.builder().id("1").publishedAt(older).build(),
+                NewsArticle.builder().id("2").publishedAt(newer).build(),
+                NewsArticle.builder().id("3").build()));
+        
+        // Then
+        assertEquals(newer.toInstant(ZoneOffset.UTC).toEpochMilli(), validators.getLastModified());
+        assertEquals(0, ResponseValidators.of(Collections.<NewsArticle>emptyList()).getLastModified());
+    }
+    
+    @Test
+    void testIfNoneMatchUsesWeakComparison() {
+        // Given
+        ResponseValidators validators = ResponseValidators.of(
+                Collections.singletonList(NewsArticle.builder().id("1").build()));
+        String strong = validators.getEtag().substring(2);
+        
+        // Then
+        assertTrue(validators.matches(validators.getEtag()));
+        assertTrue(validators.matches(strong));
+        assertTrue(validators.matches("\"other\", " + validators.getEtag()));
+        assertTrue(validators.matches("*"));
+        assertFalse(validators.matches("\"other\""));
+        assertFalse(validators.matches(null));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+    
+    private static final long SECOND = 1_000_000_000L;
+    
+    @Test
+    void testRetriesAreCappedAtRatioOfSuccesses() {
+        // Given
+        RetryBudget budget = new RetryBudget(0.2, 0, 10);
+        for (int i = 0; i < 50; i++) {
+            budget.recordSuccess(0);
+        }
+        
+        // When
+        int granted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (budget.tryRetry(SECOND)) {
+                granted++;
+            }
+        }
+        
+        // Then
+        assertEquals(10, granted);
+        assertEquals(0.0, budget.available(SECOND), 0.0001);
+    }
+    
+    @Test
+    void testOldSuccessesAndRetriesLeaveTheWindow() {
+        // Given
+        RetryBudget budget = new RetryBudget(0.5, 0, 2);
+        budget.recordSuccess(0);
+        budget.recordSuccess(0);
+        assertTrue(budget.tryRetry(0));
+        
+        // When & Then
+        assertEquals(0.0, budget.available(SECOND), 0.0001);
+        assertEquals(0.0, budget.available(2 * SECOND), 0.0001);
+        budget.recordSuccess(3 * SECOND);
+        budget.recordSuccess(3 * SECOND);
+        assertTrue(budget.tryRetry(3 * SECOND));
+        assertFalse(budget.tryRetry(3 * SECOND));
+    }
+    
+    @Test
+    void testFloorAllowsRetriesWithoutTraffic() {
+        // Given
+        RetryBudget budget = new RetryBudget(0.1, 0.5, 4);
+        
+        // When & Then
+        assertTrue(budget.tryRetry(0));
+        assertTrue(budget.tryRetry(SECOND));
+        assertFalse(budget.tryRetry(SECOND));
+    }
+    
+    @Test
+    void testDecorrelatedJitterStaysWithinBaseAndCap() {
+        // Given
+        Random random = new Random(7);
+        long delay = 0;
+        
+        // When & Then
+        for (int i = 0; i < 1000; i++) {
+            long next = Backoff.decorrelatedJitter(delay, 100, 2000, random);
+            assertTrue(next >= 100 && next <= 2000);
+            assertTrue(next <= Math.max(100, delay * 3));
+            delay = next;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+    
+    @Test
+    void top_ShouldReturnHeavyHittersInDescendingOrder() {
+        // Given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        offer(sketch, "apple", 50);
+        offer(sketch, "climate", 30);
+        offer(sketch, "football", 10);
+        
+        // When
+        LinkedHashMap<String, Long> top = sketch.top(2);
+        
+        // Then
+        assertEquals(Arrays.asList("apple", "climate"), new ArrayList<>(top.keySet()));
+        assertEquals(50L, top.get("apple"));
+    }
+    
+    @Test
+    void offer_ShouldKeepHeavyHittersWhenCapacityIsExceeded() {
+        // Given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        offer(sketch, "apple", 100);
+        offer(sketch, "climate", 80);
+        
+        // When - long tail of one-off keywords
+        for (int i = 0; i < 50; i++) {
+            sketch.offer("rare-" + i);
+        }
+        
+        // Then
+        assertEquals(3, sketch.size());
+        assertEquals(Arrays.asList("apple", "climate"), new ArrayList<>(sketch.top(2).keySet()));
+    }
+    
+    @Test
+    void decay_ShouldHalveCountsAndDropExpiredKeywords() {
+        // Given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        offer(sketch, "apple", 8);
+        sketch.offer("once");
+        
+        // When
+        sketch.decay();
+        
+        // Then
+        assertEquals(1, sketch.size());
+        assertEquals(4L, sketch.top(1).get("apple"));
+    }
+    
+    @Test
+    void offer_ShouldChargeEvictedCountToNewcomer() {
+        // Given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        offer(sketch, "apple", 5);
+        offer(sketch, "climate", 3);
+        
+        // When
+        sketch.offer("football");
+        sketch.offer("football", 2);
+        
+        // Then
+        LinkedHashMap<String, Long> top = sketch.top(2);
+        assertEquals(Arrays.asList("football", "apple"), new ArrayList<>(top.keySet()));
+        assertEquals(6L, top.get("football"));
+        assertFalse(top.containsKey("climate"));
+    }
+    
+    @Test
+    void decay_ShouldMergeCountersThatHalveToTheSameCount() {
+        // Given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        offer(sketch, "apple", 3);
+        offer(sketch, "climate", 2);
+        offer(sketch, "football", 9);
+        
+        // When
+        sketch.decay();
+        sketch.offer("climate");
+        
+        // Then
+        LinkedHashMap<String, Long> top = sketch.top(3);
+        assertEquals(Arrays.asList("football", "climate", "apple"), new ArrayList<>(top.keySet()));
+        assertEquals(4L, top.get("football"));
+        assertEquals(2L, top.get("climate"));
+        assertEquals(1L, top.get("apple"));
+    }
+    
+    @Test
+    void constructor_ShouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch(0));
+    }
+    
+    private void offer(SpaceSavingSketch sketch, String item, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.offer(item);
+        }
+    }
+}
\ No newline at end of file
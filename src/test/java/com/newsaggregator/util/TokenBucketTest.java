@@ -0,0 +1,54 @@
+package com.newsaggregator.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    
+    private static final long SECOND = 1_000_000_000L;
+    
+    @Test
+    void testBurstUpToCapacityThenRefill() {
+        // Given
+        TokenBucket bucket = new TokenBucket(5, 5, 0);
+        
+        // When
+        int granted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (bucket.tryConsume(0)) {
+                granted++;
+            }
+        }
+        
+        // Then
+        assertEquals(5, granted);
+        assertFalse(bucket.tryConsume(SECOND / 10));
+        assertTrue(bucket.tryConsume(SECOND / 5));
+    }
+    
+    @Test
+    void testRefillIsCappedAtCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+        
+        // When
+        bucket.tryConsume(0);
+        
+        // Then
+        assertEquals(3.0, bucket.available(60 * SECOND), 0.0001);
+    }
+    
+    @Test
+    void testRefundReturnsToken() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+        assertTrue(bucket.tryConsume(0));
+        
+        // When
+        bucket.refund();
+        
+        // Then
+        assertTrue(bucket.tryConsume(0));
+    }
+}
\ No newline at end of file